@@ -0,0 +1,102 @@
+package restaurante.example.burgur.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.benchmarks.Datos;
+
+// Búsqueda del menú (MenuSearchIndex) y conteo por categoría de la foto del catálogo.
+// El conteo se calcula al construir la foto y se ajusta al cambiar un producto; leerlo es un get.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx6g"})
+public class CatalogoBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    public int filas;
+
+    private List<Producto> productos;
+    private MenuSearchIndex indice;
+    private CatalogoSnapshot foto;
+    private Producto cambiaDeCategoria;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        productos = Datos.productos(filas);
+        indice = MenuSearchIndex.de(productos);
+        foto = CatalogoSnapshot.de(1, productos, AdicionalesPermitidos.vacio());
+
+        Producto primero = productos.get(0);
+        cambiaDeCategoria = new Producto();
+        cambiaDeCategoria.setId(primero.getId());
+        cambiaDeCategoria.setNombre(primero.getNombre());
+        cambiaDeCategoria.setCategoria("postre".equals(primero.getCategoria()) ? "bebida" : "postre");
+        cambiaDeCategoria.setPrecio(primero.getPrecio());
+        cambiaDeCategoria.setActivo(true);
+        cambiaDeCategoria.setIngredientes(primero.getIngredientes());
+    }
+
+    // ==========================================
+    // BÚSQUEDA
+    // ==========================================
+
+    @Benchmark
+    public List<Producto> buscarTermino() {
+        return indice.buscar("queso", 20);
+    }
+
+    @Benchmark
+    public List<Producto> buscarVariosTerminos() {
+        return indice.buscar("crispy jalapeños", 20);
+    }
+
+    // Prefijos de 1-2 letras van por el diccionario de palabras, no por trigramas
+    @Benchmark
+    public List<Producto> buscarPrefijoCorto() {
+        return indice.buscar("ch", 20);
+    }
+
+    @Benchmark
+    public List<Producto> autocompletar() {
+        return indice.autocompletar("ham", 6);
+    }
+
+    @Benchmark
+    public MenuSearchIndex construirIndice() {
+        return MenuSearchIndex.de(productos);
+    }
+
+    // ==========================================
+    // CONTEO POR CATEGORÍA
+    // ==========================================
+
+    // Foto completa: listas por categoría, conteos e índice de búsqueda
+    @Benchmark
+    public CatalogoSnapshot construirFoto() {
+        return CatalogoSnapshot.de(1, productos, AdicionalesPermitidos.vacio());
+    }
+
+    // Un producto cambia de categoría: ajuste incremental de los conteos
+    @Benchmark
+    public Map<String, Long> conteoTrasCambiarUnProducto() {
+        return foto.conProducto(cambiaDeCategoria, List.of(), List.of()).getConteoPorCategoria();
+    }
+}
@@ -0,0 +1,65 @@
+package restaurante.example.burgur.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.Cliente;
+import restaurante.example.burgur.benchmarks.Datos;
+
+// Validación de entrada de AdicionalServiceImpl y ClienteServiceImpl (sin las consultas de unicidad).
+// Cada operación valida un lote de "filas" registros válidos.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx6g"})
+public class ValidacionBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    public int filas;
+
+    private final AdicionalServiceImpl adicionalService = new AdicionalServiceImpl();
+    private final ClienteServiceImpl clienteService = new ClienteServiceImpl();
+
+    private List<Adicional> adicionales;
+    private List<Cliente> clientes;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        adicionales = Datos.adicionales(filas);
+        clientes = Datos.clientes(filas);
+    }
+
+    @Benchmark
+    public void validarAdicionales(Blackhole bh) {
+        for (Adicional a : adicionales) {
+            adicionalService.validateAdicional(a);
+            bh.consume(a);
+        }
+    }
+
+    // Incluye la normalización (trim/minúsculas); tras la primera pasada los datos ya están normalizados
+    @Benchmark
+    public void validarClientes(Blackhole bh) {
+        for (Cliente c : clientes) {
+            clienteService.validarCliente(c);
+            bh.consume(c);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package restaurante.example.burgur.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.AdicionalesPermiXProducto;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.benchmarks.Datos;
+
+// Cálculo de vínculos producto -> adicional de ProductoServiceImpl (update y rebuild), sin BD.
+// Mismo paquete que el servicio para llamar a los métodos visibles en el paquete.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx6g"})
+public class VinculosAdicionalesBenchmark {
+
+    // Para los vínculos el número de adicionales es el de un menú real; lo que crece es el catálogo
+    private static final int ADICIONALES_DEL_MENU = 40;
+
+    @Param({"100", "10000", "100000", "1000000"})
+    public int filas;
+
+    private final ProductoServiceImpl servicio = new ProductoServiceImpl();
+
+    private List<Adicional> adicionales;
+    private List<Producto> productos;
+    private Map<String, List<Adicional>> adsPorCategoria;
+    private Map<Long, Set<Long>> todosVinculados;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        adicionales = Datos.adicionales(filas);
+        productos = Datos.productos(filas);
+        adsPorCategoria = servicio.buildAdicionalesPorCategoria(Datos.adicionales(ADICIONALES_DEL_MENU));
+
+        // Estado "ya sincronizado": cada producto tiene todos sus adicionales compatibles
+        todosVinculados = new HashMap<>();
+        for (AdicionalesPermiXProducto link : servicio.createNewProductAdicionalesLinks(productos, adsPorCategoria, null)) {
+            todosVinculados.computeIfAbsent(link.getProducto().getId(), k -> new HashSet<>()).add(link.getAdicional().getId());
+        }
+    }
+
+    // filas = cantidad de adicionales
+    @Benchmark
+    public Map<String, List<Adicional>> agruparAdicionalesPorCategoria() {
+        return servicio.buildAdicionalesPorCategoria(adicionales);
+    }
+
+    // filas = cantidad de productos; se crean todos los vínculos
+    @Benchmark
+    public List<AdicionalesPermiXProducto> vinculosRebuild() {
+        return servicio.createNewProductAdicionalesLinks(productos, adsPorCategoria, null);
+    }
+
+    // filas = cantidad de productos; todo ya vinculado, solo se comparan contra los existentes
+    @Benchmark
+    public List<AdicionalesPermiXProducto> vinculosUpdateSinCambios() {
+        return servicio.createNewProductAdicionalesLinks(productos, adsPorCategoria, todosVinculados);
+    }
+}
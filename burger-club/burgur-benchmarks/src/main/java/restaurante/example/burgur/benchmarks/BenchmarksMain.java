@@ -0,0 +1,39 @@
+package restaurante.example.burgur.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Punto de entrada de target/benchmarks.jar.
+// Acepta las mismas opciones que org.openjdk.jmh.Main (filtro, -p filas=..., -f, -wi, -i...);
+// si no se indica -rf/-rff, los resultados se escriben en JSON en target/jmh-result.json.
+public final class BenchmarksMain {
+
+    static final String RESULTADO_POR_DEFECTO = "target/jmh-result.json";
+
+    private BenchmarksMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linea = new CommandLineOptions(args);
+        if (linea.shouldHelp()) {
+            linea.showHelp();
+            return;
+        }
+        ChainedOptionsBuilder opciones = new OptionsBuilder().parent(linea);
+        if (!linea.getResultFormat().hasValue()) {
+            opciones.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linea.getResult().hasValue()) {
+            opciones.result(RESULTADO_POR_DEFECTO);
+        }
+        Runner runner = new Runner(opciones.build());
+        if (linea.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
@@ -0,0 +1,89 @@
+package restaurante.example.burgur.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.Cliente;
+import restaurante.example.burgur.Model.Producto;
+
+// Datos sintéticos y reproducibles (semilla fija) con la forma de los del restaurante.
+// Las entidades llevan ID asignado a mano: los benchmarks no tocan la BD.
+public final class Datos {
+
+    public static final String[] CATEGORIAS = {"hamburguesa", "acompañamiento", "bebida", "postre", "perro caliente"};
+
+    private static final String[] INGREDIENTES = {
+        "pan brioche", "carne de res", "queso cheddar", "tocineta", "lechuga", "tomate", "cebolla caramelizada",
+        "pepinillos", "salsa de la casa", "pollo apanado", "jalapeños", "aguacate", "champiñones", "papa criolla"
+    };
+
+    private static final String[] NOMBRES = {"Clásica", "Doble", "Crispy", "BBQ", "Ranchera", "Hawaiana", "Picante", "Veggie"};
+
+    private static final long SEMILLA = 20_24L;
+
+    private Datos() {
+    }
+
+    public static List<Producto> productos(int cantidad) {
+        SplittableRandom azar = new SplittableRandom(SEMILLA);
+        List<Producto> lista = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Producto p = new Producto();
+            p.setId((long) i + 1);
+            p.setNombre(NOMBRES[i % NOMBRES.length] + " " + i);
+            p.setDescripcion("Preparada con " + INGREDIENTES[azar.nextInt(INGREDIENTES.length)] + " y "
+                + INGREDIENTES[azar.nextInt(INGREDIENTES.length)]);
+            p.setCategoria(CATEGORIAS[i % CATEGORIAS.length]);
+            p.setPrecio(8_000 + azar.nextInt(40) * 500);
+            p.setStock(azar.nextInt(100));
+            p.setNuevo(azar.nextInt(10) == 0);
+            p.setPopular(azar.nextInt(5) == 0);
+            p.setActivo(azar.nextInt(20) != 0);
+            List<String> ingredientes = new ArrayList<>(5);
+            for (int k = 0, n = 2 + azar.nextInt(4); k < n; k++) {
+                ingredientes.add(INGREDIENTES[azar.nextInt(INGREDIENTES.length)]);
+            }
+            p.setIngredientes(ingredientes);
+            lista.add(p);
+        }
+        return lista;
+    }
+
+    // Cada adicional aplica a una o dos categorías
+    public static List<Adicional> adicionales(int cantidad) {
+        SplittableRandom azar = new SplittableRandom(SEMILLA + 1);
+        List<Adicional> lista = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            List<String> categorias = new ArrayList<>(2);
+            categorias.add(CATEGORIAS[i % CATEGORIAS.length]);
+            if (azar.nextBoolean()) {
+                categorias.add(CATEGORIAS[(i + 1) % CATEGORIAS.length]);
+            }
+            Adicional a = new Adicional("Extra " + INGREDIENTES[i % INGREDIENTES.length] + " " + i,
+                1_000 + azar.nextInt(10) * 500, categorias);
+            a.setId((long) i + 1);
+            lista.add(a);
+        }
+        return lista;
+    }
+
+    // Clientes válidos (la validación recorre todas las reglas sin lanzar excepción)
+    public static List<Cliente> clientes(int cantidad) {
+        List<Cliente> lista = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Cliente c = new Cliente();
+            c.setId((long) i + 1);
+            c.setNombre("  Cliente " + i);
+            c.setApellido("Apellido " + i + " ");
+            c.setCorreo("Cliente." + i + "@Correo.com");
+            c.setContrasena("clave" + i + "segura");
+            c.setTelefono("+57300" + String.format("%07d", i % 10_000_000));
+            c.setDireccion("Calle " + (i % 200) + " # " + (i % 90) + "-" + (i % 50));
+            c.setActivo(true);
+            lista.add(c);
+        }
+        return lista;
+    }
+}
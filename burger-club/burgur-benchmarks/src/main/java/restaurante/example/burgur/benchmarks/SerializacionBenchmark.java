@@ -0,0 +1,71 @@
+package restaurante.example.burgur.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.AdicionalResumen;
+import restaurante.example.burgur.Model.Producto;
+
+// Serialización JSON con Jackson de las listas que devuelven las APIs (Producto, Adicional y su resumen).
+// Se escribe a un stream nulo (uno por operación: writeValue lo cierra) para medir solo la serialización.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx6g"})
+public class SerializacionBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    public int filas;
+
+    // Misma configuración relevante que la aplicación (spring.jackson.serialization.fail-on-empty-beans=false)
+    private final ObjectMapper mapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+    private List<Producto> productos;
+    private List<Adicional> adicionales;
+    private List<AdicionalResumen> resumenes;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        productos = Datos.productos(filas);
+        adicionales = Datos.adicionales(filas);
+        resumenes = adicionales.stream().map(AdicionalResumen::de).toList();
+    }
+
+    @Benchmark
+    public void productos() throws IOException {
+        mapper.writeValue(OutputStream.nullOutputStream(), productos);
+    }
+
+    @Benchmark
+    public void adicionales() throws IOException {
+        mapper.writeValue(OutputStream.nullOutputStream(), adicionales);
+    }
+
+    @Benchmark
+    public void adicionalesResumen() throws IOException {
+        mapper.writeValue(OutputStream.nullOutputStream(), resumenes);
+    }
+}
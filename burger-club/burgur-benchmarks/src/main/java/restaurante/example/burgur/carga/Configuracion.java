@@ -0,0 +1,79 @@
+package restaurante.example.burgur.carga;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Opciones del generador, en forma clave=valor (también se acepta --clave=valor)
+record Configuracion(
+    URI url,
+    // Llegadas de sesiones por segundo, una etapa por valor
+    double[] tasas,
+    int duracionSegundos,
+    int calentamientoSegundos,
+    // Tope de sesiones simultáneas; las llegadas por encima se descartan y se cuentan
+    int maxSesiones,
+    long pensarMs,
+    List<String> usuarios,
+    String clave,
+    String salida) {
+
+    // Usuarios del data.sql
+    private static final String USUARIOS_POR_DEFECTO = String.join(",",
+        "juan.perez@email.com", "maria.gonzalez@email.com", "carlos.rodriguez@email.com",
+        "ana.martinez@email.com", "luis.garcia@email.com", "carmen.lopez@email.com",
+        "diego.herrera@email.com", "sofia.torres@email.com", "miguel.vasquez@email.com");
+
+    static final String AYUDA = """
+        Uso: java -cp target/benchmarks.jar restaurante.example.burgur.carga.GeneradorCarga [clave=valor ...]
+          url=http://localhost:8080     instancia a probar (levantada aparte)
+          tasas=5,10,20,40              sesiones nuevas por segundo; una etapa por valor
+          duracion=60                   segundos por etapa
+          calentamiento=15              segundos a la primera tasa sin registrar (JIT, pools, cachés)
+          maxSesiones=2000              sesiones simultáneas como máximo
+          pensarMs=500                  pausa media entre pasos de una sesión (0 = sin pausa)
+          usuarios=a@x.com,b@x.com      cuentas para login (por defecto, las del data.sql)
+          clave=password123             contraseña de esas cuentas
+          salida=target/carga-resultados.csv
+        """;
+
+    static Configuracion de(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            String limpio = arg.startsWith("--") ? arg.substring(2) : arg;
+            int igual = limpio.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera clave=valor): " + arg);
+            }
+            valores.put(limpio.substring(0, igual), limpio.substring(igual + 1));
+        }
+        Configuracion configuracion = new Configuracion(
+            URI.create(valores.getOrDefault("url", "http://localhost:8080")),
+            Arrays.stream(valores.getOrDefault("tasas", "5,10,20,40").split(","))
+                .map(String::trim).mapToDouble(Double::parseDouble).toArray(),
+            Integer.parseInt(valores.getOrDefault("duracion", "60")),
+            Integer.parseInt(valores.getOrDefault("calentamiento", "15")),
+            Integer.parseInt(valores.getOrDefault("maxSesiones", "2000")),
+            Long.parseLong(valores.getOrDefault("pensarMs", "500")),
+            Arrays.stream(valores.getOrDefault("usuarios", USUARIOS_POR_DEFECTO).split(","))
+                .map(String::trim).filter(u -> !u.isEmpty()).toList(),
+            valores.getOrDefault("clave", "password123"),
+            valores.getOrDefault("salida", "target/carga-resultados.csv"));
+        configuracion.validar();
+        return configuracion;
+    }
+
+    private void validar() {
+        if (tasas.length == 0 || Arrays.stream(tasas).anyMatch(t -> t <= 0)) {
+            throw new IllegalArgumentException("Las tasas deben ser mayores que 0");
+        }
+        if (duracionSegundos <= 0 || calentamientoSegundos < 0 || maxSesiones <= 0) {
+            throw new IllegalArgumentException("duracion y maxSesiones deben ser positivos");
+        }
+        if (usuarios.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos un usuario");
+        }
+    }
+}
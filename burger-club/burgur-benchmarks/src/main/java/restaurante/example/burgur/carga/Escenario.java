@@ -0,0 +1,78 @@
+package restaurante.example.burgur.carga;
+
+import java.util.List;
+
+// Recorridos típicos de un cliente. El peso decide con qué frecuencia llega cada uno
+// (mezcla parecida a la de un viernes: mucha navegación, una parte compra).
+enum Escenario {
+
+    // Mira el menú, a veces filtra por categoría y abre 1 a 3 productos
+    NAVEGAR(60) {
+        @Override
+        void recorrer(Visita v) {
+            v.menu();
+            v.pensar();
+            if (v.azar().nextBoolean()) {
+                v.categoria();
+                v.pensar();
+            }
+            for (int i = 0, n = 1 + v.azar().nextInt(3); i < n; i++) {
+                v.detalle(v.producto());
+                v.pensar();
+            }
+        }
+    },
+
+    // Entra, revisa un producto y hace el pedido
+    COMPRAR(25) {
+        @Override
+        void recorrer(Visita v) {
+            v.menu();
+            v.pensar();
+            if (!v.login()) {
+                return;
+            }
+            v.actual();
+            v.detalle(v.producto());
+            v.pensar();
+            v.checkout();
+        }
+    },
+
+    // Cliente que solo inicia sesión y vuelve al menú
+    CUENTA(15) {
+        @Override
+        void recorrer(Visita v) {
+            if (!v.login()) {
+                return;
+            }
+            v.actual();
+            v.pensar();
+            v.menu();
+        }
+    };
+
+    private static final List<Escenario> TODOS = List.of(values());
+    private static final int PESO_TOTAL = TODOS.stream().mapToInt(e -> e.peso).sum();
+
+    private final int peso;
+
+    Escenario(int peso) {
+        this.peso = peso;
+    }
+
+    abstract void recorrer(Visita v);
+
+    // Escenario al azar según los pesos
+    static Escenario elegir(int tirada) {
+        int acumulado = 0;
+        int valor = Math.floorMod(tirada, PESO_TOTAL);
+        for (Escenario e : TODOS) {
+            acumulado += e.peso;
+            if (valor < acumulado) {
+                return e;
+            }
+        }
+        return NAVEGAR;
+    }
+}
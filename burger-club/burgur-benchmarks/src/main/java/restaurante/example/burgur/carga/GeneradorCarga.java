@@ -0,0 +1,162 @@
+package restaurante.example.burgur.carga;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Generador de carga HTTP contra una instancia ya levantada.
+// Modelo abierto: las sesiones llegan según un proceso de Poisson a la tasa de cada etapa,
+// sin esperar a que terminen las anteriores. Si el servidor se satura, las latencias lo muestran
+// (no se frena el ritmo de llegadas como haría un bucle de N usuarios fijos).
+public final class GeneradorCarga {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private GeneradorCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && (args[0].equals("-h") || args[0].equals("--help") || args[0].equals("ayuda"))) {
+            System.out.print(Configuracion.AYUDA);
+            return;
+        }
+        Configuracion configuracion;
+        try {
+            configuracion = Configuracion.de(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.print(Configuracion.AYUDA);
+            System.exit(2);
+            return;
+        }
+
+        try (ExecutorService hilosCliente = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient cliente = HttpClient.newBuilder()
+                .executor(hilosCliente)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+            long[] productos = cargarProductos(cliente, configuracion);
+            if (productos.length == 0) {
+                System.err.println("❌ No hay productos activos en " + configuracion.url());
+                System.exit(1);
+                return;
+            }
+            System.out.println("🍔 " + productos.length + " productos activos en " + configuracion.url());
+
+            if (configuracion.calentamientoSegundos() > 0) {
+                System.out.println("🔥 Calentamiento: " + configuracion.calentamientoSegundos() + " s");
+                ejecutarEtapa(cliente, configuracion, productos, configuracion.tasas()[0],
+                    configuracion.calentamientoSegundos(), new Metricas());
+            }
+
+            List<String> csv = new ArrayList<>();
+            csv.add(Metricas.cabeceraCsv());
+            for (double tasa : configuracion.tasas()) {
+                String etapa = String.format(Locale.ROOT, "%.1f/s", tasa);
+                Metricas metricas = new Metricas();
+                double segundos = ejecutarEtapa(cliente, configuracion, productos, tasa,
+                    configuracion.duracionSegundos(), metricas);
+                metricas.imprimir(System.out, etapa, segundos);
+                csv.addAll(metricas.filasCsv(etapa, segundos));
+            }
+            escribirCsv(configuracion.salida(), csv);
+        }
+    }
+
+    // ==========================================
+    // ETAPAS
+    // ==========================================
+
+    // Devuelve los segundos transcurridos, incluida la espera de las sesiones que seguían en curso
+    private static double ejecutarEtapa(HttpClient cliente, Configuracion configuracion, long[] productos,
+                                        double tasa, int duracionSegundos, Metricas metricas) {
+        Semaphore cupos = new Semaphore(configuracion.maxSesiones());
+        double mediaEntreLlegadas = TimeUnit.SECONDS.toNanos(1) / tasa;
+        long inicio = System.nanoTime();
+        long fin = inicio + TimeUnit.SECONDS.toNanos(duracionSegundos);
+
+        try (ExecutorService sesiones = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Las llegadas siguen un calendario absoluto: un retraso del planificador no baja la tasa
+            long proxima = inicio;
+            while (true) {
+                proxima += (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * mediaEntreLlegadas);
+                if (proxima >= fin) {
+                    break;
+                }
+                long espera = proxima - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                if (!cupos.tryAcquire()) {
+                    metricas.descartadas.increment();
+                    continue;
+                }
+                Escenario escenario = Escenario.elegir(ThreadLocalRandom.current().nextInt());
+                sesiones.submit(() -> {
+                    try {
+                        escenario.recorrer(new Visita(new SesionHttp(cliente, configuracion.url(), metricas),
+                            configuracion, productos));
+                    } catch (Exception e) {
+                        System.err.println("⚠️ Sesión " + escenario + " interrumpida: " + e.getMessage());
+                    } finally {
+                        cupos.release();
+                    }
+                });
+            }
+        }
+        return (System.nanoTime() - inicio) / 1e9;
+    }
+
+    // ==========================================
+    // PREPARACIÓN Y RESULTADOS
+    // ==========================================
+
+    // IDs de productos activos con stock, recorriendo el listado paginado por cursor
+    private static long[] cargarProductos(HttpClient cliente, Configuracion configuracion) throws IOException {
+        SesionHttp sesion = new SesionHttp(cliente, configuracion.url(), new Metricas());
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String ruta = "/menu/productos?tamano=100&activo=true" + (cursor != null ? "&cursor=" + cursor : "");
+            SesionHttp.Respuesta respuesta = sesion.get("catalogo", ruta);
+            if (respuesta == null || !respuesta.ok()) {
+                throw new IOException("No se pudo leer el catálogo en " + configuracion.url().resolve(ruta)
+                    + (respuesta != null ? " (HTTP " + respuesta.estado() + ")" : ""));
+            }
+            JsonNode pagina = JSON.readTree(respuesta.cuerpo());
+            for (JsonNode producto : pagina.path("items")) {
+                if (producto.path("stock").asInt(0) > 0) {
+                    ids.add(producto.path("id").asLong());
+                }
+            }
+            cursor = pagina.path("hayMas").asBoolean(false) ? pagina.path("siguienteCursor").asText(null) : null;
+        } while (cursor != null);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void escribirCsv(String salida, List<String> filas) throws IOException {
+        Path archivo = Path.of(salida);
+        if (archivo.getParent() != null) {
+            Files.createDirectories(archivo.getParent());
+        }
+        Files.write(archivo, filas);
+        System.out.println("\n✅ Resultados en " + archivo.toAbsolutePath());
+    }
+}
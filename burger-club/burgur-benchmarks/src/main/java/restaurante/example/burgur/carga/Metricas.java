@@ -0,0 +1,97 @@
+package restaurante.example.burgur.carga;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Latencias (HdrHistogram) y resultados por endpoint de una etapa de carga.
+// Las sesiones registran desde muchos hilos virtuales a la vez; todo es concurrente y sin locks.
+final class Metricas {
+
+    // Lo que pase de 2 minutos se registra como 2 minutos
+    private static final long MAX_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<String, Endpoint> porEndpoint = new ConcurrentHashMap<>();
+
+    // Llegadas que no se lanzaron porque ya había demasiadas sesiones en curso (señal de saturación)
+    final LongAdder descartadas = new LongAdder();
+
+    private static final class Endpoint {
+        final ConcurrentHistogram latencias = new ConcurrentHistogram(MAX_NANOS, 3);
+        final LongAdder peticiones = new LongAdder();
+        // 4xx esperables en el negocio (ej: 409 sin stock, 401 sin sesión)
+        final LongAdder rechazos = new LongAdder();
+        // 5xx, timeouts y fallos de conexión
+        final LongAdder errores = new LongAdder();
+    }
+
+    // estado < 0: la petición no obtuvo respuesta (no hay latencia que registrar)
+    void registrar(String endpoint, long nanos, int estado) {
+        Endpoint e = porEndpoint.computeIfAbsent(endpoint, k -> new Endpoint());
+        e.peticiones.increment();
+        if (estado < 0 || estado >= 500) {
+            e.errores.increment();
+        } else if (estado >= 400) {
+            e.rechazos.increment();
+        }
+        if (estado >= 0) {
+            e.latencias.recordValue(Math.min(nanos, MAX_NANOS));
+        }
+    }
+
+    // ==========================================
+    // REPORTE
+    // ==========================================
+
+    void imprimir(PrintStream salida, String etapa, double segundos) {
+        salida.printf("%n📊 Etapa %s (%.1f s, %d llegadas descartadas)%n", etapa, segundos, descartadas.sum());
+        salida.printf("%-30s %8s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+            "endpoint", "total", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "4xx", "error");
+        for (Map.Entry<String, Endpoint> fila : new TreeMap<>(porEndpoint).entrySet()) {
+            Endpoint e = fila.getValue();
+            Histogram h = e.latencias.copy();
+            long total = e.peticiones.sum();
+            salida.printf("%-30s %8d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %7d %7d%n",
+                fila.getKey(), total, total / segundos,
+                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()), e.rechazos.sum(), e.errores.sum());
+        }
+    }
+
+    static String cabeceraCsv() {
+        return "etapa,endpoint,total,req_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,rechazos,errores,descartadas";
+    }
+
+    // Una fila por endpoint, con las columnas de cabeceraCsv()
+    List<String> filasCsv(String etapa, double segundos) {
+        List<String> filas = new ArrayList<>();
+        for (Map.Entry<String, Endpoint> fila : new TreeMap<>(porEndpoint).entrySet()) {
+            Endpoint e = fila.getValue();
+            Histogram h = e.latencias.copy();
+            long total = e.peticiones.sum();
+            filas.add(String.join(",", etapa, fila.getKey(), Long.toString(total), decimal(total / segundos),
+                decimal(ms(h.getValueAtPercentile(50))), decimal(ms(h.getValueAtPercentile(90))),
+                decimal(ms(h.getValueAtPercentile(99))), decimal(ms(h.getValueAtPercentile(99.9))),
+                decimal(ms(h.getMaxValue())), Long.toString(e.rechazos.sum()), Long.toString(e.errores.sum()),
+                Long.toString(descartadas.sum())));
+        }
+        return filas;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String decimal(double valor) {
+        return String.format(Locale.ROOT, "%.2f", valor);
+    }
+}
@@ -0,0 +1,123 @@
+package restaurante.example.burgur.carga;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+// Un visitante: sus cookies (sesión de la app) y las respuestas con ETag que ya recibió, como haría el navegador.
+// Ante un 304 devuelve el cuerpo guardado, así los escenarios pueden seguir leyendo el JSON.
+// Cada petición se mide (hasta recibir el cuerpo completo) y se registra con la etiqueta del endpoint.
+// Pide gzip como un navegador; el cuerpo se descomprime después de medir.
+final class SesionHttp {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient cliente;
+    private final URI base;
+    private final Metricas metricas;
+
+    private final Map<String, String> cookies = new HashMap<>();
+    private final Map<String, Guardada> guardadas = new HashMap<>();
+
+    private record Guardada(String etag, String cuerpo) {
+    }
+
+    SesionHttp(HttpClient cliente, URI base, Metricas metricas) {
+        this.cliente = cliente;
+        this.base = base;
+        this.metricas = metricas;
+    }
+
+    record Respuesta(int estado, String cuerpo) {
+        boolean ok() {
+            return (estado >= 200 && estado < 300) || estado == 304;
+        }
+    }
+
+    // Respuesta o null si no la hubo (timeout, conexión rechazada...)
+    Respuesta get(String endpoint, String ruta) {
+        HttpRequest.Builder peticion = peticion(ruta).GET();
+        Guardada guardada = guardadas.get(ruta);
+        if (guardada != null) {
+            peticion.header("If-None-Match", guardada.etag());
+        }
+        Respuesta respuesta = enviar(endpoint, peticion.build(), ruta);
+        if (respuesta != null && respuesta.estado() == 304 && guardada != null) {
+            return new Respuesta(304, guardada.cuerpo());
+        }
+        return respuesta;
+    }
+
+    Respuesta postJson(String endpoint, String ruta, String json) {
+        return enviar(endpoint, peticion(ruta)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build(), null);
+    }
+
+    private HttpRequest.Builder peticion(String ruta) {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(base.resolve(ruta))
+            .timeout(TIMEOUT)
+            .header("Accept-Encoding", "gzip");
+        if (!cookies.isEmpty()) {
+            peticion.header("Cookie", cookies.entrySet().stream()
+                .map(c -> c.getKey() + "=" + c.getValue())
+                .collect(Collectors.joining("; ")));
+        }
+        return peticion;
+    }
+
+    // rutaEtag: ruta bajo la que se guarda el ETag de la respuesta (solo GET)
+    private Respuesta enviar(String endpoint, HttpRequest peticion, String rutaEtag) {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<byte[]> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+            metricas.registrar(endpoint, System.nanoTime() - inicio, respuesta.statusCode());
+            guardarCookies(respuesta.headers().allValues("Set-Cookie"));
+            boolean gzip = respuesta.headers().firstValue("Content-Encoding").map("gzip"::equalsIgnoreCase).orElse(false);
+            String cuerpo = texto(respuesta.body(), gzip);
+            if (rutaEtag != null && respuesta.statusCode() == 200) {
+                respuesta.headers().firstValue("ETag").ifPresent(e -> guardadas.put(rutaEtag, new Guardada(e, cuerpo)));
+            }
+            return new Respuesta(respuesta.statusCode(), cuerpo);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            metricas.registrar(endpoint, System.nanoTime() - inicio, -1);
+            return null;
+        } catch (Exception e) {
+            metricas.registrar(endpoint, System.nanoTime() - inicio, -1);
+            return null;
+        }
+    }
+
+    private static String texto(byte[] cuerpo, boolean gzip) throws IOException {
+        if (!gzip || cuerpo.length == 0) {
+            return new String(cuerpo, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(cuerpo))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Solo nombre=valor; atributos como Path o HttpOnly no cambian nada para el generador
+    private void guardarCookies(List<String> setCookies) {
+        for (String setCookie : setCookies) {
+            String par = setCookie.split(";", 2)[0];
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                cookies.put(par.substring(0, igual).trim(), par.substring(igual + 1).trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package restaurante.example.burgur.carga;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Los pasos que un escenario puede dar, ya con la etiqueta con la que se agrupan en las métricas.
+// Las rutas con ID se agrupan bajo la plantilla ({id}) para que los percentiles sean por endpoint.
+final class Visita {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String[] CATEGORIAS = {"hamburguesa", "acompañamiento", "bebida", "postre", "perro caliente"};
+
+    private final SesionHttp sesion;
+    private final Configuracion configuracion;
+    private final long[] productos;
+
+    Visita(SesionHttp sesion, Configuracion configuracion, long[] productos) {
+        this.sesion = sesion;
+        this.configuracion = configuracion;
+        this.productos = productos;
+    }
+
+    // ==========================================
+    // PASOS
+    // ==========================================
+
+    void menu() {
+        sesion.get("GET /menu", "/menu");
+    }
+
+    void categoria() {
+        String categoria = CATEGORIAS[azar().nextInt(CATEGORIAS.length)];
+        sesion.get("GET /menu/category", "/menu/category?categoria=" + URLEncoder.encode(categoria, StandardCharsets.UTF_8));
+    }
+
+    // IDs de los adicionales permitidos del producto (vacío si la petición falló)
+    List<Long> detalle(long productoId) {
+        SesionHttp.Respuesta respuesta = sesion.get("GET /menu/productos/{id}", "/menu/productos/" + productoId);
+        List<Long> adicionales = new ArrayList<>();
+        if (respuesta == null || !respuesta.ok()) {
+            return adicionales;
+        }
+        try {
+            for (JsonNode adicional : JSON.readTree(respuesta.cuerpo()).path("adicionalesPermitidos")) {
+                adicionales.add(adicional.path("id").asLong());
+            }
+        } catch (Exception e) {
+            // Cuerpo inesperado: se sigue sin adicionales
+        }
+        return adicionales;
+    }
+
+    boolean login() {
+        List<String> usuarios = configuracion.usuarios();
+        String correo = usuarios.get(azar().nextInt(usuarios.size()));
+        String cuerpo = JSON.createObjectNode()
+            .put("email", correo)
+            .put("password", configuracion.clave())
+            .toString();
+        SesionHttp.Respuesta respuesta = sesion.postJson("POST /auth/login", "/auth/login", cuerpo);
+        return respuesta != null && respuesta.ok();
+    }
+
+    void actual() {
+        sesion.get("GET /auth/current", "/auth/current");
+    }
+
+    // Un pedido de 1 a 3 productos; a veces con uno de sus adicionales permitidos
+    void checkout() {
+        var pedido = JSON.createObjectNode().put("direccion", "Calle 45 # 12-30");
+        var items = pedido.putArray("items");
+        for (int i = 0, n = 1 + azar().nextInt(3); i < n; i++) {
+            long productoId = producto();
+            var item = items.addObject().put("productoId", productoId).put("cantidad", 1 + azar().nextInt(2));
+            var adicionalesItem = item.putArray("adicionales");
+            if (azar().nextInt(3) == 0) {
+                List<Long> permitidos = detalle(productoId);
+                if (!permitidos.isEmpty()) {
+                    adicionalesItem.add(permitidos.get(azar().nextInt(permitidos.size())));
+                }
+            }
+        }
+        sesion.postJson("POST /api/pedidos/checkout", "/api/pedidos/checkout", pedido.toString());
+    }
+
+    // ==========================================
+    // AUXILIARES
+    // ==========================================
+
+    long producto() {
+        return productos[azar().nextInt(productos.length)];
+    }
+
+    // Tiempo de lectura entre pasos: exponencial con media pensarMs (0 = sin pausa)
+    void pensar() {
+        long media = configuracion.pensarMs();
+        if (media <= 0) {
+            return;
+        }
+        double u = 1.0 - azar().nextDouble();
+        long ms = Math.min((long) (-Math.log(u) * media), media * 10);
+        try {
+            TimeUnit.MILLISECONDS.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    ThreadLocalRandom azar() {
+        return ThreadLocalRandom.current();
+    }
+}
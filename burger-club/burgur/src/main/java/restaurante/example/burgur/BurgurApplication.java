@@ -3,8 +3,10 @@ package restaurante.example.burgur;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BurgurApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,223 @@
+package restaurante.example.burgur.Config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// Consultas SQL por petición: cada respuesta lleva X-Query-Count y Server-Timing (db;dur=...),
+// y las peticiones que pasan el umbral se escriben en el log.
+@Configuration
+public class ConsultasPorPeticionConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorConsultasHibernate() {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorConsultas());
+            propiedades.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, ContadorConsultas.TiempoJdbc.class.getName());
+        };
+    }
+
+    @Bean
+    public ConsultasPorPeticionFilter consultasPorPeticionFilter(
+            @Value("${burgur.consultas.umbral:15}") int umbralConsultas,
+            @Value("${burgur.consultas.umbral-ms:200}") long umbralMs) {
+        return new ConsultasPorPeticionFilter(umbralConsultas, umbralMs);
+    }
+
+    static class ConsultasPorPeticionFilter extends OncePerRequestFilter {
+
+        private final int umbralConsultas;
+        private final long umbralMs;
+
+        ConsultasPorPeticionFilter(int umbralConsultas, long umbralMs) {
+            this.umbralConsultas = umbralConsultas;
+            this.umbralMs = umbralMs;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            ContadorConsultas.Medicion medicion = ContadorConsultas.iniciar();
+            RespuestaMedida respuesta = new RespuestaMedida(response, medicion);
+            try {
+                chain.doFilter(request, respuesta);
+            } finally {
+                ContadorConsultas.terminar(medicion);
+                // Si el cuerpo sigue en el buffer, las cabeceras quedan con el total de la petición
+                respuesta.escribirCabeceras();
+                if (medicion.getConsultas() > umbralConsultas || medicion.getMilisBd() > umbralMs) {
+                    System.out.printf(Locale.ROOT, "🐢 %s %s: %d consultas, %.1f ms en BD%n",
+                        request.getMethod(), request.getRequestURI(), medicion.getConsultas(), medicion.getMilisBd());
+                }
+            }
+        }
+    }
+
+    // Las cabeceras solo se pueden poner antes de que la respuesta se confirme. Se escriben
+    // justo antes de un flush o de que el cuerpo llene el buffer del contenedor, así cuentan
+    // también lo que se consultó al serializar o renderizar (open-in-view). En respuestas
+    // más grandes que el buffer quedan con lo consultado hasta ese momento; el log no.
+    static class RespuestaMedida extends HttpServletResponseWrapper {
+
+        private final ContadorConsultas.Medicion medicion;
+        private ServletOutputStream salida;
+        private PrintWriter escritor;
+        // Cota superior de los bytes escritos (un char ocupa hasta 3 bytes en UTF-8)
+        private long bytes;
+
+        RespuestaMedida(HttpServletResponse response, ContadorConsultas.Medicion medicion) {
+            super(response);
+            this.medicion = medicion;
+        }
+
+        void escribirCabeceras() {
+            if (!isCommitted()) {
+                setHeader("X-Query-Count", Integer.toString(medicion.getConsultas()));
+                setHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d consultas\"",
+                    medicion.getMilisBd(), medicion.getConsultas()));
+            }
+        }
+
+        private void antesDeEscribir(long cantidad) {
+            bytes += cantidad;
+            if (bytes >= getBufferSize()) {
+                escribirCabeceras();
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (salida == null) {
+                salida = new SalidaMedida(super.getOutputStream());
+            }
+            return salida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (escritor == null) {
+                escritor = new EscritorMedido(super.getWriter());
+            }
+            return escritor;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escribirCabeceras();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            escribirCabeceras();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            escribirCabeceras();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            escribirCabeceras();
+            super.sendRedirect(location);
+        }
+
+        private final class SalidaMedida extends ServletOutputStream {
+
+            private final ServletOutputStream destino;
+
+            SalidaMedida(ServletOutputStream destino) {
+                this.destino = destino;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                antesDeEscribir(1);
+                destino.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                antesDeEscribir(len);
+                destino.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                escribirCabeceras();
+                destino.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                escribirCabeceras();
+                destino.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return destino.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                destino.setWriteListener(listener);
+            }
+        }
+
+        private final class EscritorMedido extends PrintWriter {
+
+            EscritorMedido(PrintWriter destino) {
+                super(destino);
+            }
+
+            @Override
+            public void write(int c) {
+                antesDeEscribir(3);
+                super.write(c);
+            }
+
+            @Override
+            public void write(char[] buf, int off, int len) {
+                antesDeEscribir(3L * len);
+                super.write(buf, off, len);
+            }
+
+            @Override
+            public void write(String s, int off, int len) {
+                antesDeEscribir(3L * len);
+                super.write(s, off, len);
+            }
+
+            @Override
+            public void flush() {
+                escribirCabeceras();
+                super.flush();
+            }
+
+            @Override
+            public void close() {
+                escribirCabeceras();
+                super.close();
+            }
+        }
+    }
+}
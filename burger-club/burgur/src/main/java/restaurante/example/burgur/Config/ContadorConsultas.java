@@ -0,0 +1,117 @@
+package restaurante.example.burgur.Config;
+
+import java.util.concurrent.Callable;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Consultas SQL y tiempo en BD de lo que corre en el hilo actual (una petición HTTP, un test...).
+// Hibernate avisa de cada sentencia preparada (StatementInspector) y de cuánto tarda cada ejecución
+// (TiempoJdbc); ambos suman a la medición abierta en el hilo. Sin medición abierta no se cuenta nada.
+// Las mediciones se anidan: lo que cuenta una interior también lo cuenta la que la contiene.
+public final class ContadorConsultas implements StatementInspector {
+
+    private static final ThreadLocal<Medicion> ACTUAL = new ThreadLocal<>();
+
+    public static final class Medicion {
+        private final Medicion contenedora;
+        private int consultas;
+        private long nanosBd;
+
+        private Medicion(Medicion contenedora) {
+            this.contenedora = contenedora;
+        }
+
+        public int getConsultas() {
+            return consultas;
+        }
+
+        public double getMilisBd() {
+            return nanosBd / 1_000_000.0;
+        }
+    }
+
+    public static Medicion iniciar() {
+        Medicion medicion = new Medicion(ACTUAL.get());
+        ACTUAL.set(medicion);
+        return medicion;
+    }
+
+    // Cierra la medición y suma sus valores a la contenedora, si la hay
+    public static void terminar(Medicion medicion) {
+        Medicion contenedora = medicion.contenedora;
+        if (contenedora != null) {
+            contenedora.consultas += medicion.consultas;
+            contenedora.nanosBd += medicion.nanosBd;
+            ACTUAL.set(contenedora);
+        } else {
+            ACTUAL.remove();
+        }
+    }
+
+    // Suma a la medición del hilo actual lo medido en otro hilo que ya terminó (ramas en paralelo)
+    public static void sumar(Medicion otra) {
+        Medicion medicion = ACTUAL.get();
+        if (medicion != null && otra != null) {
+            medicion.consultas += otra.consultas;
+            medicion.nanosBd += otra.nanosBd;
+        }
+    }
+
+    // Ejecuta la acción y devuelve lo que consultó (la usan los tests para los presupuestos por endpoint)
+    public static Medicion medir(Callable<?> accion) throws Exception {
+        Medicion medicion = iniciar();
+        try {
+            accion.call();
+        } finally {
+            terminar(medicion);
+        }
+        return medicion;
+    }
+
+    // ==========================================
+    // GANCHOS DE HIBERNATE
+    // ==========================================
+
+    @Override
+    public String inspect(String sql) {
+        Medicion medicion = ACTUAL.get();
+        if (medicion != null) {
+            medicion.consultas++;
+        }
+        return sql;
+    }
+
+    // Hibernate crea uno por sesión (hibernate.session.events.auto); la sesión se usa desde un solo hilo
+    public static class TiempoJdbc implements SessionEventListener {
+
+        private long inicio;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            inicio = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            sumarTiempo();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            inicio = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            sumarTiempo();
+        }
+
+        private void sumarTiempo() {
+            Medicion medicion = ACTUAL.get();
+            if (medicion != null) {
+                medicion.nanosBd += System.nanoTime() - inicio;
+            }
+        }
+    }
+}
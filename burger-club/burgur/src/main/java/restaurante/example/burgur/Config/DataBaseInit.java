@@ -3,6 +3,8 @@ package restaurante.example.burgur.Config;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
@@ -66,8 +68,8 @@ public class DataBaseInit implements CommandLineRunner {
             // Crear operadores
             createOperadores();
             
-            // Vincular adicionales con productos
-            int relacionesCreadas = productoService.rebuildAdicionalesDeTodosLosProductos();
+            // Los vínculos adicional-producto ya se crean en la carga masiva de productos
+            long relacionesCreadas = productoService.contarVinculosAdicionales();
             
             System.out.println("✅ Base de datos inicializada correctamente");
             System.out.println("📊 Estadísticas:");
@@ -110,21 +112,8 @@ public class DataBaseInit implements CommandLineRunner {
             new Adicional("Limón", 600.0, Arrays.asList("bebida"))
         );
 
-        int created = 0;
-        int errors = 0;
-        
-        for (Adicional adicional : adicionales) {
-            try {
-                adicionalService.save(adicional);
-                created++;
-                System.out.println("   ✓ Adicional creado: " + adicional.getNombre());
-            } catch (Exception e) {
-                errors++;
-                System.err.println("   ✗ Error creando adicional " + adicional.getNombre() + ": " + e.getMessage());
-            }
-        }
-        
-        System.out.println("   📈 Adicionales creados: " + created + ", Errores: " + errors);
+        guardarEnLote("Adicionales", adicionales, adicionalService::saveAll, adicionalService::save,
+            a -> a.setId(null), Adicional::getNombre);
     }
 
     private void createProductos() {
@@ -134,195 +123,186 @@ public class DataBaseInit implements CommandLineRunner {
             new Producto(null, "Hamburguesa Classic", 
                         "Nuestra hamburguesa tradicional con carne 100% res, perfecta para los amantes de los sabores clásicos", 
                         18000.0, "hamburguesa", "/images/menu/BURGER.png", 25, true, false, true,
-                        Arrays.asList("Carne de res", "Lechuga", "Tomate", "Cebolla", "Pan brioche", "Salsa especial"), null,null),
+                        Arrays.asList("Carne de res", "Lechuga", "Tomate", "Cebolla", "Pan brioche", "Salsa especial"), null,null, null),
             
             new Producto(null, "Hamburguesa BBQ Deluxe", 
                         "Hamburguesa premium con salsa BBQ artesanal y bacon crujiente", 
                         25000.0, "hamburguesa", "/images/menu/BBQ-especial.png", 20, false, true, true,
-                        Arrays.asList("Carne de res", "Bacon", "Queso cheddar", "Salsa BBQ", "Pan artesanal", "Cebolla caramelizada"), null ,null),
+                        Arrays.asList("Carne de res", "Bacon", "Queso cheddar", "Salsa BBQ", "Pan artesanal", "Cebolla caramelizada"), null ,null, null),
             
             new Producto(null, "Hamburguesa Vegetariana", 
                         "Deliciosa hamburguesa vegetal con ingredientes frescos", 
                         16000.0, "hamburguesa", "/images/menu/veggieburger.png", 15, true, false, true,
-                        Arrays.asList("Hamburguesa de lentejas", "Aguacate", "Lechuga", "Tomate", "Pan integral"), null,null),
+                        Arrays.asList("Hamburguesa de lentejas", "Aguacate", "Lechuga", "Tomate", "Pan integral"), null,null, null),
             
             new Producto(null, "Perro Caliente Especial", 
                         "Perro caliente gourmet con ingredientes frescos y salsas especiales", 
                         12000.0, "perro caliente", "/images/menu/hot-dog.png", 30, false, false, true,
-                        Arrays.asList("Salchicha premium", "Pan de perro", "Salsas especiales", "Cebolla", "Pepinillos"), null,null),
+                        Arrays.asList("Salchicha premium", "Pan de perro", "Salsas especiales", "Cebolla", "Pepinillos"), null,null, null),
             
             new Producto(null, "Perro Caliente Supremo", 
                         "La versión premium de nuestro perro caliente con todos los adicionales", 
                         15000.0, "perro caliente", "/images/menu/Hot-Dog-Supreme.png", 20, false, true, true,
-                        Arrays.asList("Salchicha premium", "Bacon", "Queso", "Aguacate", "Salsas gourmet"), null,null),
+                        Arrays.asList("Salchicha premium", "Bacon", "Queso", "Aguacate", "Salsas gourmet"), null,null, null),
             
             new Producto(null, "Papas Fritas Grandes", 
                         "Papas fritas crujientes por fuera, suaves por dentro - porción grande", 
                         8000.0, "acompañamiento", "/images/menu/Fries.png", 50, false, true, true,
-                        Arrays.asList("Papas frescas", "Sal marina"), null,null),
+                        Arrays.asList("Papas frescas", "Sal marina"), null,null, null),
             
             new Producto(null, "Papas Fritas Medianas", 
                         "Papas fritas crujientes - porción mediana", 
                         6000.0, "acompañamiento", "/images/menu/Fries.png", 60, false, false, true,
-                        Arrays.asList("Papas frescas", "Sal marina"), null,null),
+                        Arrays.asList("Papas frescas", "Sal marina"), null,null, null),
             
             new Producto(null, "Anillos de Cebolla", 
                         "Crujientes anillos de cebolla empanizados", 
                         7000.0, "acompañamiento", "/images/menu/aros-cebolla.png", 40, false, false, true,
-                        Arrays.asList("Cebolla", "Empanizado especial", "Aceite de girasol"), null,null),
+                        Arrays.asList("Cebolla", "Empanizado especial", "Aceite de girasol"), null,null, null),
             
             new Producto(null, "Coca Cola 350ml", 
                         "Bebida gaseosa refrescante", 
                         4000.0, "bebida", "/images/menu/Coke.png", 100, false, false, true,
-                        Arrays.asList("Bebida carbonatada"), null,null),
+                        Arrays.asList("Bebida carbonatada"), null,null, null),
 
             new Producto(null, "Agua Natural 500ml", 
                         "Agua pura y refrescante", 
                         2500.0, "bebida", "/images/menu/water.png", 80, false, false, true,
-                        Arrays.asList("Agua natural"), null,null),
+                        Arrays.asList("Agua natural"), null,null, null),
 
             new Producto(null, "Jugo de Naranja Natural", 
                         "Jugo 100% natural de naranja recién exprimida", 
                         6000.0, "bebida", "/images/menu/orange-juice.png", 30, false, false, true,
-                        Arrays.asList("Naranjas naturales"), null,null),
+                        Arrays.asList("Naranjas naturales"), null,null, null),
 
             new Producto(null, "Malteada de Chocolate", 
                         "Cremosa malteada de chocolate con crema batida", 
                         12000.0, "postre", "/images/menu/Chocolate-milkshake.png", 15, true, false, true,
-                        Arrays.asList("Helado de vainilla", "Chocolate", "Leche", "Crema batida"), null,null),
+                        Arrays.asList("Helado de vainilla", "Chocolate", "Leche", "Crema batida"), null,null, null),
 
             new Producto(null, "Malteada de Fresa", 
                         "Deliciosa malteada de fresa con trozos de fruta", 
                         12000.0, "postre", "/images/menu/Strawberry-milkshake.png", 15, false, false, true,
-                        Arrays.asList("Helado de vainilla", "Fresas", "Leche", "Crema batida"), null,null),
+                        Arrays.asList("Helado de vainilla", "Fresas", "Leche", "Crema batida"), null,null, null),
 
             new Producto(null, "Brownie con Helado", 
                         "Brownie casero tibio acompañado de helado de vainilla", 
                         10000.0, "postre", "/images/menu/Brownie.png", 20, false, true, true,
-                        Arrays.asList("Brownie casero", "Helado de vainilla", "Salsa de chocolate"), null,null),
+                        Arrays.asList("Brownie casero", "Helado de vainilla", "Salsa de chocolate"), null,null, null),
 
             // Nuevas
             new Producto(null, "Hamburguesa Doble Cheese",
                 "Doble carne, doble queso cheddar, para los que comen con ganas",
                 28000.0, "hamburguesa", "/images/menu/double-cheese.png", 18, false, true, true,
-                Arrays.asList("Doble carne de res", "Queso cheddar", "Pan brioche", "Salsa especial"), null,null),
+                Arrays.asList("Doble carne de res", "Queso cheddar", "Pan brioche", "Salsa especial"), null,null, null),
             new Producto(null, "Hamburguesa Chipotle",
                 "Sabor ahumado y picante suave con mayonesa chipotle",
                 22000.0, "hamburguesa", "/images/menu/chipotle-burger.png", 15, false, true, true,
-                Arrays.asList("Carne de res", "Queso pepper jack", "Lechuga", "Mayonesa chipotle"), null,null),
+                Arrays.asList("Carne de res", "Queso pepper jack", "Lechuga", "Mayonesa chipotle"), null,null, null),
             new Producto(null, "Hamburguesa Angus Premium",
                 "Carne Angus, queso suizo y cebolla caramelizada",
                 30000.0, "hamburguesa", "/images/menu/angus.png", 10, false, true, true,
-                Arrays.asList("Carne Angus", "Queso suizo", "Cebolla caramelizada", "Pan artesanal"), null,null),
+                Arrays.asList("Carne Angus", "Queso suizo", "Cebolla caramelizada", "Pan artesanal"), null,null, null),
             new Producto(null, "Hamburguesa Pollo Crispy",
                 "Pechuga de pollo empanizada, crujiente, con lechuga y salsa tártara",
                 19000.0, "hamburguesa", "/images/menu/chicken-crispy.png", 20, false, false, true,
-                Arrays.asList("Pechuga empanizada", "Lechuga", "Salsa tártara", "Pan brioche"), null,null),
+                Arrays.asList("Pechuga empanizada", "Lechuga", "Salsa tártara", "Pan brioche"), null,null, null),
             new Producto(null, "Hamburguesa Blue Cheese",
                 "Con salsa de queso azul y rúcula para un toque gourmet",
                 26000.0, "hamburguesa", "/images/menu/blue-cheese.png", 12, false, false, true,
-                Arrays.asList("Carne de res", "Queso azul", "Rúcula", "Cebolla"), null,null),
+                Arrays.asList("Carne de res", "Queso azul", "Rúcula", "Cebolla"), null,null, null),
             new Producto(null, "Hamburguesa Mexicana",
                 "Con guacamole, jalapeños y salsa picante casera",
                 23000.0, "hamburguesa", "/images/menu/mex-burger.png", 16, false, true, true,
-                Arrays.asList("Carne de res", "Guacamole", "Jalapeños", "Queso", "Cebolla"), null,null),
+                Arrays.asList("Carne de res", "Guacamole", "Jalapeños", "Queso", "Cebolla"), null,null, null),
             new Producto(null, "Hamburguesa Mini (Kids)",
                 "Porción pequeña ideal para niños, con queso y papas pequeñas",
                 12000.0, "hamburguesa", "/images/menu/kids-burger.png", 30, true, false, true,
-                Arrays.asList("Carne de res pequeña", "Queso", "Pan pequeño"), null,null),
+                Arrays.asList("Carne de res pequeña", "Queso", "Pan pequeño"), null,null, null),
             new Producto(null, "Perro Callejero",
                 "Estilo clásico callejero con salsa de la casa y cebolla picada",
                 10000.0, "perro caliente", "/images/menu/street-dog.png", 40, false, true, true,
-                Arrays.asList("Salchicha", "Pan de perro", "Salsa de la casa", "Cebolla"), null,null),
+                Arrays.asList("Salchicha", "Pan de perro", "Salsa de la casa", "Cebolla"), null,null, null),
             new Producto(null, "Perro Picante",
                 "Con salsa picante, jalapeños y toque de limón",
                 11000.0, "perro caliente", "/images/menu/spicy-dog.png", 35, false, true, true,
-                Arrays.asList("Salchicha", "Pan", "Salsa picante", "Jalapeños", "Limón"), null,null),
+                Arrays.asList("Salchicha", "Pan", "Salsa picante", "Jalapeños", "Limón"), null,null, null),
             new Producto(null, "Perro con Queso Fundido",
                 "Salchicha bañada en queso fundido estilo comfort food",
                 13000.0, "perro caliente", "/images/menu/cheese-dog.png", 25, false, false, true,
-                Arrays.asList("Salchicha premium", "Queso fundido", "Pan"), null,null),
+                Arrays.asList("Salchicha premium", "Queso fundido", "Pan"), null,null, null),
             new Producto(null, "Perro Veggie",
                 "Salchicha vegetal con toppings frescos y pan integral",
                 12500.0, "perro caliente", "/images/menu/veggie-dog.png", 20, true, false, true,
-                Arrays.asList("Salchicha vegetal", "Lechuga", "Tomate", "Pan integral"), null,null),
+                Arrays.asList("Salchicha vegetal", "Lechuga", "Tomate", "Pan integral"), null,null, null),
             new Producto(null, "Yuca Frita",
                 "Yuca crocante, servida con salsa de ajo",
                 4800.0, "acompañamiento", "/images/menu/yuca-frita.png", 35, false, false, true,
-                Arrays.asList("Yuca", "Sal", "Salsa de ajo"), null,null),
+                Arrays.asList("Yuca", "Sal", "Salsa de ajo"), null,null, null),
             new Producto(null, "Mozzarella Sticks",
                 "Palitos de queso empanizados, acompañados de salsa marinara",
                 9000.0, "acompañamiento", "/images/menu/mozzarella.png", 30, false, false, true,
-                Arrays.asList("Queso mozzarella", "Empanizado", "Salsa marinara"), null,null),
+                Arrays.asList("Queso mozzarella", "Empanizado", "Salsa marinara"), null,null, null),
             new Producto(null, "Ensalada César",
                 "Ensalada fresca con aderezo César y crutones",
                 9000.0, "acompañamiento", "/images/menu/caesar-salad.png", 25, true, false, true,
-                Arrays.asList("Lechuga romana", "Aderezo César", "Crutones", "Queso parmesano"), null,null),
+                Arrays.asList("Lechuga romana", "Aderezo César", "Crutones", "Queso parmesano"), null,null, null),
             new Producto(null, "Aros de Yuca",
                 "Aros crujientes de yuca con toque especiado",
                 7500.0, "acompañamiento", "/images/menu/yuca-rings.png", 28, false, false, true,
-                Arrays.asList("Yuca", "Empanizado", "Especias"), null,null),
+                Arrays.asList("Yuca", "Empanizado", "Especias"), null,null, null),
             new Producto(null, "Ensalada de Papas",
                 "Porción de ensalada de papas estilo casero",
                 6500.0, "acompañamiento", "/images/menu/potato-salad.png", 30, false, false, true,
-                Arrays.asList("Papas", "Mayonesa", "Cebolla", "Perejil"), null,null),
+                Arrays.asList("Papas", "Mayonesa", "Cebolla", "Perejil"), null,null, null),
             new Producto(null, "Combo Acompañamiento (Papas + Aros)",
                 "Mitad papas fritas + mitad aros de cebolla, para compartir",
                 12000.0, "acompañamiento", "/images/menu/combo-fries-aros.png", 20, false, true, true,
-                Arrays.asList("Papas fritas", "Aros de cebolla"), null,null),
+                Arrays.asList("Papas fritas", "Aros de cebolla"), null,null, null),
             new Producto(null, "Pan con Ajo",
                 "Rebanadas de pan tostado con mantequilla de ajo",
                 4000.0, "acompañamiento", "/images/menu/garlic-bread.png", 50, false, false, true,
-                Arrays.asList("Pan", "Mantequilla de ajo"), null,null),
+                Arrays.asList("Pan", "Mantequilla de ajo"), null,null, null),
             new Producto(null, "Limonada Natural",
                 "Limonada casera con limón natural y hielo",
                 4500.0, "bebida", "/images/menu/lemonade.png", 60, false, false, true,
-                Arrays.asList("Limón", "Agua", "Azúcar"), null,null),
+                Arrays.asList("Limón", "Agua", "Azúcar"), null,null, null),
             new Producto(null, "Té Helado",
                 "Té negro helado, ideal para acompañar comidas",
                 4200.0, "bebida", "/images/menu/iced-tea.png", 50, false, false, true,
-                Arrays.asList("Té negro", "Hielo", "Azúcar opcional"), null,null),
+                Arrays.asList("Té negro", "Hielo", "Azúcar opcional"), null,null, null),
             new Producto(null, "Malteada Vainilla",
                 "Malteada clásica de vainilla con crema",
                 12000.0, "bebida", "/images/menu/vanilla-milkshake.png", 20, true, false, true,
-                Arrays.asList("Helado de vainilla", "Leche", "Crema"), null,null),
+                Arrays.asList("Helado de vainilla", "Leche", "Crema"), null,null, null),
             new Producto(null, "Cerveza Artesanal 330ml",
                 "Selección rotativa de cerveza artesanal (si aplica legalmente)",
                 9000.0, "bebida", "/images/menu/beer.png", 40, false, false, true,
-                Arrays.asList("Cerveza artesanal"), null,null),
+                Arrays.asList("Cerveza artesanal"), null,null, null),
             new Producto(null, "Cheesecake",
                 "Porción de cheesecake casero con base de galleta",
                 11000.0, "postre", "/images/menu/cheesecake.png", 12, false, true, true,
-                Arrays.asList("Queso crema", "Galleta", "Mermelada"), null,null),
+                Arrays.asList("Queso crema", "Galleta", "Mermelada"), null,null, null),
             new Producto(null, "Tiramisú",
                 "Tiramisú clásico en porción individual",
                 12000.0, "postre", "/images/menu/tiramisu.png", 10, false, true, true,
-                Arrays.asList("Queso mascarpone", "Café", "Bizcocho"), null,null),
+                Arrays.asList("Queso mascarpone", "Café", "Bizcocho"), null,null, null),
             new Producto(null, "Helado Copa",
                 "Copa con dos bolas de helado y toppings a elección",
                 8000.0, "postre", "/images/menu/ice-cream-cup.png", 25, true, false, true,
-                Arrays.asList("Helado", "Toppings"), null,null),
+                Arrays.asList("Helado", "Toppings"), null,null, null),
             new Producto(null, "Galletas Calientes",
                 "Galletas recién horneadas, suaves por dentro",
                 6000.0, "postre", "/images/menu/cookies.png", 30, false, false, true,
-                Arrays.asList("Harina", "Azúcar", "Mantequilla", "Chispas de chocolate"), null,null)
+                Arrays.asList("Harina", "Azúcar", "Mantequilla", "Chispas de chocolate"), null,null, null)
 );
 
-        int created = 0;
-        int errors = 0;
-        
-        for (Producto producto : productos) {
-            try {
-                productoService.save(producto);
-                created++;
-                System.out.println("   ✓ Producto creado: " + producto.getNombre());
-            } catch (Exception e) {
-                errors++;
-                System.err.println("   ✗ Error creando producto " + producto.getNombre() + ": " + e.getMessage());
-            }
-        }
-        
-        System.out.println("   📈 Productos creados: " + created + ", Errores: " + errors);
+        guardarEnLote("Productos", productos, productoService::saveAll, productoService::save,
+            p -> {
+                p.setId(null);
+                p.setVersion(null);
+            },
+            Producto::getNombre);
     }
 
     private void createDomiciliarios() {
@@ -341,21 +321,8 @@ public class DataBaseInit implements CommandLineRunner {
             new Domiciliario("Ana María Castillo", "1034567890", false)
         );
 
-        int created = 0;
-        int errors = 0;
-        
-        for (Domiciliario domiciliario : domiciliarios) {
-            try {
-                domiciliarioService.save(domiciliario);
-                created++;
-                System.out.println("   ✓ Domiciliario creado: " + domiciliario.getNombre());
-            } catch (Exception e) {
-                errors++;
-                System.err.println("   ✗ Error creando domiciliario " + domiciliario.getNombre() + ": " + e.getMessage());
-            }
-        }
-        
-        System.out.println("   📈 Domiciliarios creados: " + created + ", Errores: " + errors);
+        guardarEnLote("Domiciliarios", domiciliarios, domiciliarioService::saveAll, domiciliarioService::save,
+            d -> d.setId(null), Domiciliario::getNombre);
     }
     
     private void createClientes() {
@@ -391,21 +358,8 @@ public class DataBaseInit implements CommandLineRunner {
                        "+573999999999", "Oficina Central Burger Club", true, null)
         );
 
-        int created = 0;
-        int errors = 0;
-        
-        for (Cliente cliente : clientes) {
-            try {
-                clienteService.save(cliente);
-                created++;
-                System.out.println("   ✓ Cliente creado: " + cliente.getNombre() + " " + cliente.getApellido());
-            } catch (Exception e) {
-                errors++;
-                System.err.println("   ✗ Error creando cliente " + cliente.getNombre() + ": " + e.getMessage());
-            }
-        }
-        
-        System.out.println("   📈 Clientes creados: " + created + ", Errores: " + errors);
+        guardarEnLote("Clientes", clientes, clienteService::saveAll, clienteService::save,
+            c -> c.setId(null), Cliente::getCorreo);
     }
     
     private void createOperadores() {
@@ -424,20 +378,41 @@ public class DataBaseInit implements CommandLineRunner {
             new Operador("Alejandro David Vargas", "1101234567", true)
         );
 
-        int created = 0;
-        int errors = 0;
-        
-        for (Operador operador : operadores) {
+        guardarEnLote("Operadores", operadores, operadorService::saveAll, operadorService::save,
+            o -> o.setId(null), Operador::getNombre);
+    }
+
+    // ==========================================
+    // CARGA EN LOTE
+    // ==========================================
+
+    // Un solo saveAll por tipo: los IDs salen de la secuencia y los INSERT van en lotes JDBC.
+    // El lote es una transacción, así que una fila inválida lo revierte entero; en ese caso se
+    // reintenta fila por fila y solo se pierden las filas con error.
+    private <T> void guardarEnLote(String tipo, List<T> filas, Consumer<List<T>> enLote, Consumer<T> porFila,
+                                   Consumer<T> quitarId, Function<T, String> nombre) {
+        try {
+            enLote.accept(filas);
+            System.out.println("   📈 " + tipo + " creados: " + filas.size());
+            return;
+        } catch (Exception e) {
+            System.err.println("   ⚠️ Falló la carga en lote de " + tipo.toLowerCase() + " (" + e.getMessage()
+                + "); se guardan uno por uno");
+        }
+
+        int creados = 0;
+        int errores = 0;
+        for (T fila : filas) {
+            // El lote revertido pudo dejar asignado un ID que no existe en BD
+            quitarId.accept(fila);
             try {
-                operadorService.save(operador);
-                created++;
-                System.out.println("   ✓ Operador creado: " + operador.getNombre());
+                porFila.accept(fila);
+                creados++;
             } catch (Exception e) {
-                errors++;
-                System.err.println("   ✗ Error creando operador " + operador.getNombre() + ": " + e.getMessage());
+                errores++;
+                System.err.println("   ✗ Error creando " + nombre.apply(fila) + ": " + e.getMessage());
             }
         }
-        
-        System.out.println("   📈 Operadores creados: " + created + ", Errores: " + errors);
+        System.out.println("   📈 " + tipo + " creados: " + creados + ", Errores: " + errores);
     }
 }
@@ -0,0 +1,58 @@
+package restaurante.example.burgur.Config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Timer "burgur.servicio" para cada método público de las clases @Service (los *ServiceImpl y OperadorService).
+// Etiquetas: clase, metodo y excepcion ("none" si terminó bien). Los endpoints ya los mide
+// http.server.requests y los repositorios spring.data.repository.invocations.
+// Solo se miden las llamadas que entran por el proxy: las llamadas internas de un servicio a sí mismo no.
+@Aspect
+@Component
+public class MetricasServicios {
+
+    static final String NOMBRE = "burgur.servicio";
+
+    private final MeterRegistry registry;
+
+    // El timer de las llamadas exitosas se reutiliza; con excepción se busca en el registro (caso raro)
+    private final Map<Method, Timer> exitosos = new ConcurrentHashMap<>();
+
+    public MetricasServicios(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint punto) throws Throwable {
+        Timer.Sample inicio = Timer.start(registry);
+        Method metodo = ((MethodSignature) punto.getSignature()).getMethod();
+        Class<?> clase = punto.getTarget() != null ? punto.getTarget().getClass() : metodo.getDeclaringClass();
+        try {
+            Object resultado = punto.proceed();
+            inicio.stop(exitosos.computeIfAbsent(metodo, m -> timer(clase, m, "none")));
+            return resultado;
+        } catch (Throwable e) {
+            inicio.stop(timer(clase, metodo, e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    private Timer timer(Class<?> clase, Method metodo, String excepcion) {
+        return Timer.builder(NOMBRE)
+            .description("Tiempo de los métodos de servicio")
+            .tag("clase", clase.getSimpleName())
+            .tag("metodo", metodo.getName())
+            .tag("excepcion", excepcion)
+            .register(registry);
+    }
+}
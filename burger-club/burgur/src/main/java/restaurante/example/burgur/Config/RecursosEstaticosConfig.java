@@ -0,0 +1,50 @@
+package restaurante.example.burgur.Config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Depende de EmpaquetadoRecursos para que su carpeta ya esté en las static-locations
+// cuando Spring MVC registre el manejador de recursos (que se arma con todos los WebMvcConfigurer)
+@Configuration
+@DependsOn("empaquetadoRecursos")
+public class RecursosEstaticosConfig implements WebMvcConfigurer {
+
+    // Forma de las URLs que genera la estrategia de versionado por contenido: main-<md5>.css
+    private static final Pattern URL_VERSIONADA = Pattern.compile("-[0-9a-f]{32}\\.[A-Za-z0-9]+$");
+
+    private static final String CACHE_VERSIONADA =
+        CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+    private static final String CACHE_SIN_VERSION = CacheControl.noCache().getHeaderValue();
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CacheRecursosInterceptor()).addPathPatterns("/css/**", "/js/**");
+    }
+
+    // Las URLs con hash (las que escribe @{} en las plantillas) se guardan un año sin revalidar.
+    // Las que no lo llevan, como los import entre módulos ES, se revalidan con Last-Modified
+    // para no quedarse con código viejo después de un despliegue.
+    static class CacheRecursosInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (handler instanceof ResourceHttpRequestHandler) {
+                boolean versionada = URL_VERSIONADA.matcher(request.getRequestURI()).find();
+                response.setHeader(HttpHeaders.CACHE_CONTROL, versionada ? CACHE_VERSIONADA : CACHE_SIN_VERSION);
+            }
+            return true;
+        }
+    }
+}
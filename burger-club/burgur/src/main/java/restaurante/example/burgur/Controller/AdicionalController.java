@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import restaurante.example.burgur.Model.Adicional;
 import restaurante.example.burgur.Service.AdicionalService;
+import restaurante.example.burgur.Service.Pagina;
 import lombok.Data;
 
 @Controller
@@ -28,10 +29,10 @@ public class AdicionalController {
     @GetMapping("")
     public String administrarAdicionales(Model model) {
         try {
-            List<Adicional> todosLosAdicionales = adicionalService.findAll();
+            // Activos con sus categorías en una consulta; el total es un COUNT
             List<Adicional> adicionalesActivos = adicionalService.findByActivoTrue();
             
-            long totalAdicionales = todosLosAdicionales.size();
+            long totalAdicionales = adicionalService.count();
             long cantidadActivos = adicionalesActivos.size();
             
             // Mostrar solo los adicionales activos en la vista
@@ -51,12 +52,20 @@ public class AdicionalController {
     // API REST
     // ==========================================
     
+    // Paginado por cursor: ?tamano=20&orden=precio&categoria=hamburguesa&cursor=<siguienteCursor>
     @GetMapping("/list")
     @ResponseBody
-    public ResponseEntity<List<Adicional>> obtenerTodosLosAdicionales() {
+    public ResponseEntity<Pagina<Adicional>> obtenerTodosLosAdicionales(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "true") Boolean activo,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
         try {
-            // Devolver solo adicionales activos para el menú público
-            return ResponseEntity.ok(adicionalService.findByActivoTrue());
+            // Por defecto solo adicionales activos (menú público)
+            return ResponseEntity.ok(adicionalService.paginar(categoria, activo, orden, cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
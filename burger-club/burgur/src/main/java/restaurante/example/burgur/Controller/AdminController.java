@@ -13,9 +13,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import restaurante.example.burgur.Model.Domiciliario;
 import restaurante.example.burgur.Service.ProductoService;
-import restaurante.example.burgur.Service.ClienteService;
-import restaurante.example.burgur.Service.AdicionalService;
+import restaurante.example.burgur.Service.DashboardStats;
+import restaurante.example.burgur.Service.DashboardStatsService;
 import restaurante.example.burgur.Service.DomiciliarioService;
 
 @Controller
@@ -25,14 +26,11 @@ public class AdminController {
     @Autowired
     private ProductoService productoService;
     
-    @Autowired
-    private ClienteService clienteService;
-    
-    @Autowired
-    private AdicionalService adicionalService;
-    
     @Autowired
     private DomiciliarioService domiciliarioService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
     
     @GetMapping("")
     public String redirectToProductos() {
@@ -42,20 +40,22 @@ public class AdminController {
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
         try {
-            var productos = productoService.findAll();
-            var clientes = clienteService.obtenerTodosLosClientes();
-            var adicionales = adicionalService.findAll();
+            DashboardStats stats = dashboardStatsService.obtenerEstadisticas();
             
-            model.addAttribute("totalProductos", productos.size());
-            model.addAttribute("productosNuevos", productos.stream().filter(p -> p != null && p.isNuevo()).count());
-            model.addAttribute("productosActivos", productos.stream().filter(p -> p != null && p.isActivo()).count());
-            model.addAttribute("stockBajo", productos.stream().filter(p -> p != null && p.isStockBajo()).count());
+            model.addAttribute("totalProductos", stats.totalProductos());
+            model.addAttribute("productosNuevos", stats.productosNuevos());
+            model.addAttribute("productosActivos", stats.productosActivos());
+            model.addAttribute("stockBajo", stats.stockBajo());
             
-            model.addAttribute("totalClientes", clientes.size());
-            model.addAttribute("clientesActivos", clientes.stream().filter(c -> c != null && c.isActivo()).count());
+            model.addAttribute("totalClientes", stats.totalClientes());
+            model.addAttribute("clientesActivos", stats.clientesActivos());
             
-            model.addAttribute("totalAdicionales", adicionales.size());
-            model.addAttribute("adicionalesActivos", adicionales.stream().filter(a -> a != null && a.isActivo()).count());
+            model.addAttribute("totalAdicionales", stats.totalAdicionales());
+            model.addAttribute("adicionalesActivos", stats.adicionalesActivos());
+
+            model.addAttribute("statsCalculadasEn", stats.calculadoEn());
+            model.addAttribute("statsDuracionMs", stats.duracionMs());
+            model.addAttribute("statsParciales", stats.parcial());
             
             return "admin/dashboard";
         } catch (Exception e) {
@@ -63,16 +63,28 @@ public class AdminController {
             return "admin/dashboard";
         }
     }
+
+    @GetMapping("/dashboard/stats")
+    @ResponseBody
+    public ResponseEntity<DashboardStats> dashboardStats() {
+        try {
+            return ResponseEntity.ok(dashboardStatsService.obtenerEstadisticas());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
     
     // Eliminado el método adminClientes para evitar conflicto con ClienteController
     
     @GetMapping("/domiciliarios")
     public String adminDomiciliarios(Model model) {
         try {
-            var domiciliarios = domiciliarioService.obtenerTodosLosDomiciliarios();
+            // Los contadores salen del mismo listado: una sola consulta y siempre coinciden con la tabla
+            List<Domiciliario> domiciliarios = domiciliarioService.obtenerTodosLosDomiciliarios();
             model.addAttribute("domiciliarios", domiciliarios);
             model.addAttribute("totalDomiciliarios", domiciliarios.size());
-            model.addAttribute("domiciliariosDisponibles", domiciliarios.stream().filter(d -> d != null && d.isDisponible()).count());
+            model.addAttribute("domiciliariosDisponibles",
+                domiciliarios.stream().filter(Domiciliario::isDisponible).count());
             return "admin/admin-domiciliarios";
         } catch (Exception e) {
             model.addAttribute("error", "Error al cargar los domiciliarios");
@@ -84,6 +96,7 @@ public class AdminController {
     // API PARA ACTUALIZAR ADICIONALES
     // ==========================================
     
+    // Reparación explícita: borra y recalcula todos los vínculos producto-adicional
     @PostMapping("/rebuild-adicionales")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> rebuildAdicionales() {
@@ -9,8 +9,11 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import restaurante.example.burgur.Model.Cliente;
+import restaurante.example.burgur.Model.SesionCliente;
+import restaurante.example.burgur.Service.CarritoService;
 import restaurante.example.burgur.Service.ClienteService;
 import lombok.Data;
 
@@ -20,6 +23,9 @@ public class AuthController {
     
     @Autowired
     private ClienteService clienteService;
+
+    @Autowired
+    private CarritoService carritoService;
     
     // ==========================================
     // VISTAS DE AUTENTICACIÓN
@@ -28,7 +34,7 @@ public class AuthController {
     @GetMapping("/login")
     public String showLogin(Model model, HttpSession session) {
         // Si ya está logueado, redirigir al menú
-        if (session.getAttribute("cliente") != null) {
+        if (SesionCliente.actual(session) != null) {
             return "redirect:/menu";
         }
         return "auth/login";
@@ -37,7 +43,7 @@ public class AuthController {
     @GetMapping("/register")
     public String showRegister(Model model, HttpSession session) {
         // Si ya está logueado, redirigir al menú
-        if (session.getAttribute("cliente") != null) {
+        if (SesionCliente.actual(session) != null) {
             return "redirect:/menu";
         }
         return "auth/register";
@@ -73,10 +79,9 @@ public class AuthController {
             
             Cliente cliente = clienteService.iniciarSesion(request.getEmail(), request.getPassword());
             
-            // Guardar cliente en sesión
-            session.setAttribute("cliente", cliente);
-            session.setAttribute("clienteId", cliente.getId());
-            session.setAttribute("clienteNombre", cliente.getNombre());
+            // Guardar en sesión solo el usuario (id, nombre, rol), no la entidad
+            SesionCliente.de(cliente).guardarEn(session);
+            fusionarCarrito(session, cliente.getId());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -149,9 +154,8 @@ public class AuthController {
             Cliente clienteGuardado = clienteService.save(nuevoCliente);
             
             // Iniciar sesión automáticamente
-            session.setAttribute("cliente", clienteGuardado);
-            session.setAttribute("clienteId", clienteGuardado.getId());
-            session.setAttribute("clienteNombre", clienteGuardado.getNombre());
+            SesionCliente.de(clienteGuardado).guardarEn(session);
+            fusionarCarrito(session, clienteGuardado.getId());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -171,6 +175,15 @@ public class AuthController {
         }
     }
     
+    // El carrito armado antes de iniciar sesión pasa al del cliente; si falla, el login sigue igual
+    private void fusionarCarrito(HttpSession session, Long clienteId) {
+        try {
+            carritoService.fusionarAlIniciarSesion(session.getId(), clienteId);
+        } catch (Exception e) {
+            System.err.println("⚠️ No se pudo fusionar el carrito del cliente " + clienteId + ": " + e.getMessage());
+        }
+    }
+    
     // ==========================================
     // MÉTODOS UTILITARIOS PARA MANEJO DE ERRORES
     // ==========================================
@@ -183,22 +196,23 @@ public class AuthController {
         return ResponseEntity.internalServerError().body(Map.of("success", false, "message", message));
     }
     
+    // Se responde solo con lo que hay en la sesión: sin consultas ni serializar la entidad.
+    // getSession(false): los visitantes anónimos no crean una sesión en cada carga de página
     @GetMapping("/current")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> getCurrentUser(HttpSession session) {
-        Cliente cliente = (Cliente) session.getAttribute("cliente");
+    public ResponseEntity<Map<String, Object>> getCurrentUser(HttpServletRequest request) {
+        SesionCliente usuario = SesionCliente.actual(request.getSession(false));
         
-        if (cliente == null) {
+        if (usuario == null) {
             return ResponseEntity.ok(Map.of("authenticated", false));
         }
         
         return ResponseEntity.ok(Map.of(
             "authenticated", true,
             "cliente", Map.of(
-                "id", cliente.getId(),
-                "nombre", cliente.getNombre(),
-                "apellido", cliente.getApellido(),
-                "correo", cliente.getCorreo()
+                "id", usuario.id(),
+                "nombre", usuario.nombre(),
+                "rol", usuario.rol()
             )
         ));
     }
@@ -0,0 +1,115 @@
+package restaurante.example.burgur.Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import lombok.Data;
+import restaurante.example.burgur.Model.SesionCliente;
+import restaurante.example.burgur.Service.CarritoService;
+import restaurante.example.burgur.Service.CarritoVista;
+import restaurante.example.burgur.Service.DuenoCarrito;
+import restaurante.example.burgur.Service.LineaCheckout;
+
+// Carrito en el servidor: el del cliente con sesión iniciada o, si no hay, el de la sesión anónima.
+// Los precios de la respuesta salen del catálogo; del navegador solo se aceptan IDs y cantidades.
+@RestController
+@RequestMapping("/api/carrito")
+public class CarritoController {
+
+    @Autowired
+    private CarritoService carritoService;
+
+    // ==========================================
+    // ENDPOINTS
+    // ==========================================
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> obtener(HttpServletRequest request) {
+        // Mirar el carrito no abre una sesión nueva
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return ok(new CarritoVista(List.of(), 0, 0));
+        }
+        return ok(carritoService.obtener(dueno(session)));
+    }
+
+    // Reemplaza el carrito completo; las líneas que ya no son válidas se descartan en silencio
+    @PutMapping
+    public ResponseEntity<Map<String, Object>> reemplazar(@RequestBody CarritoRequest body, HttpSession session) {
+        List<LineaCheckout> lineas = new ArrayList<>();
+        if (body.getItems() != null) {
+            body.getItems().stream().filter(Objects::nonNull).map(CarritoController::linea).forEach(lineas::add);
+        }
+        return ok(carritoService.reemplazar(dueno(session), lineas));
+    }
+
+    @PostMapping("/items")
+    public ResponseEntity<Map<String, Object>> agregar(@RequestBody ItemRequest item, HttpSession session) {
+        try {
+            return ok(carritoService.agregar(dueno(session), linea(item)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> vaciar(HttpSession session) {
+        carritoService.vaciar(dueno(session));
+        return ok(new CarritoVista(List.of(), 0, 0));
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private static DuenoCarrito dueno(HttpSession session) {
+        SesionCliente usuario = SesionCliente.actual(session);
+        return new DuenoCarrito(usuario != null ? usuario.id() : null, session.getId());
+    }
+
+    private static LineaCheckout linea(ItemRequest item) {
+        List<Long> adicionales = item.getAdicionales() == null ? List.of()
+            : item.getAdicionales().stream().filter(Objects::nonNull).toList();
+        return new LineaCheckout(item.getProductoId(), item.getCantidad() != null ? item.getCantidad() : 1, adicionales);
+    }
+
+    private static ResponseEntity<Map<String, Object>> ok(CarritoVista carrito) {
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "carrito", carrito
+        ));
+    }
+
+    // ==========================================
+    // CLASES DE REQUEST
+    // ==========================================
+
+    @Data
+    public static class CarritoRequest {
+        private List<ItemRequest> items;
+    }
+
+    @Data
+    public static class ItemRequest {
+        private Long productoId;
+        private Integer cantidad;
+        private List<Long> adicionales;
+    }
+}
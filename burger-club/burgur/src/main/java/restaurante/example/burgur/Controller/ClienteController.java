@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import restaurante.example.burgur.Model.Cliente;
 import restaurante.example.burgur.Service.ClienteService;
+import restaurante.example.burgur.Service.Pagina;
 import lombok.Data;
 
 @Controller
@@ -51,11 +52,19 @@ public class ClienteController {
     // API REST
     // ==========================================
     
+    // Paginado por cursor: ?tamano=20&orden=apellido&texto=gomez&activo=true&cursor=<siguienteCursor>
     @GetMapping("/list")
     @ResponseBody
-    public ResponseEntity<List<Cliente>> obtenerTodosLosClientes() {
+    public ResponseEntity<Pagina<Cliente>> obtenerTodosLosClientes(
+            @RequestParam(required = false) String texto,
+            @RequestParam(required = false) Boolean activo,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
         try {
-            return ResponseEntity.ok(clienteService.obtenerTodosLosClientes());
+            return ResponseEntity.ok(clienteService.paginar(texto, activo, orden, cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
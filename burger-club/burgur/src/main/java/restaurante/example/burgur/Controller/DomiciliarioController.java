@@ -14,11 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import lombok.Data;
 import restaurante.example.burgur.Model.Domiciliario;
 import restaurante.example.burgur.Service.DomiciliarioService;
+import restaurante.example.burgur.Service.Pagina;
 
 @RestController
 @RequestMapping("/domiciliarios")
@@ -31,9 +33,18 @@ public class DomiciliarioController {
     // ENDPOINTS BÁSICOS CRUD
     // ==========================================
     
+    // Paginado por cursor: ?tamano=20&orden=nombre&disponible=true&cursor=<siguienteCursor>
     @GetMapping
-    public ResponseEntity<List<Domiciliario>> obtenerTodos() {
-        return ResponseEntity.ok(domiciliarioService.obtenerTodosLosDomiciliarios());
+    public ResponseEntity<Pagina<Domiciliario>> obtenerTodos(
+            @RequestParam(required = false) Boolean disponible,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano) {
+        try {
+            return ResponseEntity.ok(domiciliarioService.paginar(disponible, orden, cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/disponibles")
@@ -85,6 +96,18 @@ public class DomiciliarioController {
         }
     }
     
+    // Fin de una entrega: el domiciliario vuelve a quedar libre para asignaciones
+    @PostMapping("/{id}/liberar")
+    public ResponseEntity<Void> liberar(@PathVariable Long id) {
+        try {
+            return domiciliarioService.liberarDomiciliario(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> eliminar(@PathVariable Long id) {
         try {
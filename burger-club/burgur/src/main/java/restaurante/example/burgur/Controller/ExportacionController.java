@@ -0,0 +1,74 @@
+package restaurante.example.burgur.Controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import restaurante.example.burgur.Service.ExportacionService;
+import restaurante.example.burgur.Service.FormatoExportacion;
+
+@RestController
+@RequestMapping("/admin/exportar")
+public class ExportacionController {
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    // ==========================================
+    // DESCARGAS (?formato=ndjson | csv)
+    // ==========================================
+
+    @GetMapping("/clientes")
+    public ResponseEntity<StreamingResponseBody> exportarClientes(@RequestParam(required = false) String formato) {
+        return exportar("clientes", formato, exportacionService::exportarClientes);
+    }
+
+    @GetMapping("/productos")
+    public ResponseEntity<StreamingResponseBody> exportarProductos(@RequestParam(required = false) String formato) {
+        return exportar("productos", formato, exportacionService::exportarProductos);
+    }
+
+    @GetMapping("/pedidos")
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(@RequestParam(required = false) String formato) {
+        return exportar("pedidos", formato, exportacionService::exportarPedidos);
+    }
+
+    // El cuerpo se escribe en un hilo asíncrono de MVC: las cabeceras salen de inmediato
+    // y las filas a medida que llegan de la BD
+    private ResponseEntity<StreamingResponseBody> exportar(String nombre, String formato, Exportacion exportacion) {
+        FormatoExportacion f;
+        try {
+            f = FormatoExportacion.de(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody cuerpo = salida -> {
+            long inicio = System.currentTimeMillis();
+            long filas = exportacion.escribir(f, salida);
+            System.out.println("📤 Exportación de " + nombre + ": " + filas + " filas en "
+                + (System.currentTimeMillis() - inicio) + " ms");
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(f.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(nombre + "." + f.getExtension()).build().toString())
+            .body(cuerpo);
+    }
+
+    @FunctionalInterface
+    private interface Exportacion {
+        long escribir(FormatoExportacion formato, OutputStream salida) throws IOException;
+    }
+}
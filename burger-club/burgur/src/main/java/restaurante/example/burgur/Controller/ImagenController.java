@@ -0,0 +1,69 @@
+package restaurante.example.burgur.Controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import restaurante.example.burgur.Service.ImagenService;
+
+@Controller
+public class ImagenController {
+
+    // El nombre lleva el hash del contenido: la misma URL nunca cambia de bytes
+    private static final String CACHE_INMUTABLE =
+        CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
+    // Atributos de Tomcat para enviar un archivo con sendfile (sin copiarlo por el heap de la JVM)
+    private static final String SENDFILE_SOPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARCHIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ImagenService imagenService;
+
+    // ==========================================
+    // IMÁGENES REDUCIDAS DEL MENÚ
+    // ==========================================
+
+    @GetMapping("/img/menu/{nombre:.+}")
+    public void servirDerivada(@PathVariable String nombre, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Optional<Path> archivo = imagenService.derivada(nombre);
+        if (archivo.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path ruta = archivo.get();
+        long tamano = Files.size(ruta);
+        response.setContentType(nombre.endsWith(".png") ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLengthLong(tamano);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_INMUTABLE);
+
+        // Conector NIO/NIO2 de Tomcat: el contenedor escribe el archivo con sendfile al terminar la petición
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SOPORTADO))) {
+            request.setAttribute(SENDFILE_ARCHIVO, ruta.toString());
+            request.setAttribute(SENDFILE_INICIO, 0L);
+            request.setAttribute(SENDFILE_FIN, tamano);
+            return;
+        }
+
+        try (OutputStream salida = response.getOutputStream()) {
+            Files.copy(ruta, salida);
+        }
+    }
+}
@@ -1,27 +1,38 @@
 //burger-club/burgur/src/main/java/restaurante/example/burgur/Controller/MenuController.java
 package restaurante.example.burgur.Controller;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Service.CatalogoCache;
+import restaurante.example.burgur.Service.MenuFragmentoCache;
 import restaurante.example.burgur.Service.ProductoService;
 
 @Controller
 public class MenuController {
     
+    // El navegador guarda la página pero la revalida siempre: el catálogo cambia en cualquier momento
+    private static final CacheControl CACHE_CATALOGO = CacheControl.noCache();
+
     @Autowired
     private ProductoService productoService;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private MenuFragmentoCache menuFragmentoCache;
     
     @GetMapping("/")
     public String inicio() {
@@ -31,23 +42,35 @@ public class MenuController {
     @GetMapping("/menu")
     public String menu(Model model,
                       @RequestParam(value = "nombre", required = false) String nombre,
-                      @RequestParam(value = "categoria", required = false) String categoria) {
+                      @RequestParam(value = "categoria", required = false) String categoria,
+                      ServletWebRequest request) {
+        // Si el catálogo no cambió desde la última visita: 304 sin consultar ni renderizar
+        if (request.checkNotModified(catalogoCache.etag())) {
+            return null;
+        }
         try {
-            productoService.rebuildAdicionalesDeTodosLosProductos();
-            List<Producto> productos;
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CATALOGO.getHeaderValue());
+            MenuFragmentoCache.Fragmento fragmento;
             
             if (nombre != null && !nombre.trim().isEmpty()) {
-                productos = productoService.findByNombre(nombre);
+                fragmento = menuFragmentoCache.obtener(MenuFragmentoCache.claveBusqueda(nombre),
+                    () -> productoService.findByNombre(nombre));
             } else if (categoria != null && !categoria.trim().isEmpty() && !"todos".equalsIgnoreCase(categoria)) {
-                productos = productoService.findByCategoria(categoria);
+                fragmento = menuFragmentoCache.obtener(MenuFragmentoCache.claveCategoria(categoria),
+                    () -> productoService.findByCategoria(categoria));
             } else {
-                productos = productoService.findByActivoTrue();
+                fragmento = menuFragmentoCache.obtener(MenuFragmentoCache.claveTodos(),
+                    productoService::findByActivoTrue);
             }
             
-            model.addAttribute("productos", productos);
+            // Tarjetas ya renderizadas (con su srcset); la página solo necesita el HTML y el total
+            model.addAttribute("tarjetas", fragmento.html());
+            model.addAttribute("totalProductos", fragmento.total());
             return "menu";
         } catch (Exception e) {
-            model.addAttribute("productos", List.of());
+            // Una página de error no debe quedar asociada al ETag del catálogo
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            model.addAttribute("totalProductos", 0);
             model.addAttribute("error", "Error al cargar el menú: " + e.getMessage());
             return "menu";
         }
@@ -55,46 +78,45 @@ public class MenuController {
     
     @GetMapping("/menu/search")
     public String searchMenu(Model model,
-                            @RequestParam(value = "nombre", required = false) String nombre) {
+                            @RequestParam(value = "nombre", required = false) String nombre,
+                            ServletWebRequest request) {
                                 
-        return menu(model, nombre, null);
+        return menu(model, nombre, null, request);
     }
     
     @GetMapping("/menu/category")
     public String categoryMenu(Model model,
-                              @RequestParam(value = "categoria", required = false) String categoria) {
-        return menu(model, null, categoria);
+                              @RequestParam(value = "categoria", required = false) String categoria,
+                              ServletWebRequest request) {
+        return menu(model, null, categoria, request);
+    }
+    
+    @GetMapping("/api/menu/autocomplete")
+    @ResponseBody
+    public ResponseEntity<List<Map<String, Object>>> autocomplete(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "limit", defaultValue = "6") int limit) {
+        try {
+            List<Map<String, Object>> sugerencias = productoService.autocompletar(q, limit).stream()
+                .map(p -> Map.<String, Object>of(
+                    "id", p.getId(),
+                    "nombre", p.getNombre(),
+                    "categoria", p.getCategoria() != null ? p.getCategoria() : ""))
+                .toList();
+            return ResponseEntity.ok(sugerencias);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
     }
     
     @GetMapping("/api/menu/category-counts")
     @ResponseBody
-    public ResponseEntity<Map<String, Long>> getCategoryCounts() {
+    public ResponseEntity<Map<String, Long>> getCategoryCounts(ServletWebRequest request) {
+        if (request.checkNotModified(catalogoCache.etag())) {
+            return null;
+        }
         try {
-            List<Producto> productosActivos = productoService.findByActivoTrue();
-            
-            Map<String, Long> categoryCounts = new HashMap<>();
-            categoryCounts.put("hamburguesa", 
-                productosActivos.stream()
-                    .filter(p -> "hamburguesa".equalsIgnoreCase(p.getCategoria()))
-                    .count());
-            categoryCounts.put("acompañamiento", 
-                productosActivos.stream()
-                    .filter(p -> "acompañamiento".equalsIgnoreCase(p.getCategoria()))
-                    .count());
-            categoryCounts.put("perro caliente", 
-                productosActivos.stream()
-                    .filter(p -> "perro caliente".equalsIgnoreCase(p.getCategoria()))
-                    .count());
-            categoryCounts.put("bebida", 
-                productosActivos.stream()
-                    .filter(p -> "bebida".equalsIgnoreCase(p.getCategoria()))
-                    .count());
-            categoryCounts.put("postre", 
-                productosActivos.stream()
-                    .filter(p -> "postre".equalsIgnoreCase(p.getCategoria()))
-                    .count());
-            
-            return ResponseEntity.ok(categoryCounts);
+            return ResponseEntity.ok().cacheControl(CACHE_CATALOGO).body(productoService.contarActivosPorCategoria());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -0,0 +1,231 @@
+package restaurante.example.burgur.Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.servlet.http.HttpSession;
+import lombok.Data;
+import restaurante.example.burgur.Model.Domiciliario;
+import restaurante.example.burgur.Model.Pedido;
+import restaurante.example.burgur.Model.SesionCliente;
+import restaurante.example.burgur.Service.AvisosPedidos;
+import restaurante.example.burgur.Service.CarritoService;
+import restaurante.example.burgur.Service.DuenoCarrito;
+import restaurante.example.burgur.Service.LineaCheckout;
+import restaurante.example.burgur.Service.PedidoService;
+import restaurante.example.burgur.Service.StockInsuficienteException;
+
+@Controller
+@RequestMapping("/api/pedidos")
+public class PedidoController {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private AvisosPedidos avisosPedidos;
+
+    @Autowired
+    private CarritoService carritoService;
+
+    // ==========================================
+    // CHECKOUT
+    // ==========================================
+
+    @PostMapping("/checkout")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> checkout(@RequestBody CheckoutRequest request, HttpSession session) {
+        SesionCliente usuario = SesionCliente.actual(session);
+        if (usuario == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                "success", false,
+                "message", "Debe iniciar sesión para realizar un pedido"
+            ));
+        }
+
+        try {
+            List<LineaCheckout> lineas = new ArrayList<>();
+            if (request.getItems() != null) {
+                for (ItemRequest item : request.getItems()) {
+                    if (item == null) continue;
+                    List<Long> adicionales = item.getAdicionales() == null ? List.of()
+                        : item.getAdicionales().stream().filter(Objects::nonNull).toList();
+                    lineas.add(new LineaCheckout(item.getProductoId(),
+                        item.getCantidad() != null ? item.getCantidad() : 1, adicionales));
+                }
+            }
+
+            Pedido pedido = pedidoService.checkout(usuario.id(), lineas, request.getDireccion());
+            carritoService.vaciar(new DuenoCarrito(usuario.id(), session.getId()));
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                "success", true,
+                "message", "Pedido creado exitosamente",
+                "pedidoId", pedido.getId(),
+                "total", pedido.getPrecioTotal(),
+                "estado", pedido.getEstado()
+            ));
+        } catch (StockInsuficienteException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            System.err.println("Error en checkout: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error interno al procesar el pedido"
+            ));
+        }
+    }
+
+    // ==========================================
+    // ASIGNACIÓN DE DOMICILIARIO
+    // ==========================================
+
+    // Asigna el siguiente domiciliario libre; 409 si no hay ninguno o el pedido ya tiene uno
+    @PostMapping("/{id}/domiciliario")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> asignarDomiciliario(@PathVariable Long id) {
+        try {
+            Domiciliario domiciliario = pedidoService.asignarDomiciliario(id);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Domiciliario asignado",
+                "pedidoId", id,
+                "domiciliario", Map.of(
+                    "id", domiciliario.getId(),
+                    "nombre", domiciliario.getNombre()
+                )
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            System.err.println("Error al asignar domiciliario: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error interno al asignar el domiciliario"
+            ));
+        }
+    }
+
+    // ==========================================
+    // ESTADO
+    // ==========================================
+
+    // EN_CAMINO, ENTREGADO o CANCELADO; 400 si el pedido o el estado no existen, 409 si el cambio no vale desde el actual
+    @PutMapping("/{id}/estado")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> cambiarEstado(@PathVariable Long id, @RequestBody EstadoRequest request) {
+        try {
+            Pedido pedido = pedidoService.cambiarEstado(id, request.getEstado());
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Estado actualizado",
+                "pedidoId", pedido.getId(),
+                "estado", pedido.getEstado()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            System.err.println("Error al cambiar estado del pedido: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "Error interno al cambiar el estado"
+            ));
+        }
+    }
+
+    // ==========================================
+    // SEGUIMIENTO EN VIVO (SSE)
+    // ==========================================
+    // Las respuestas de error van sin cuerpo: el cliente pidió text/event-stream
+
+    // El cliente sigue uno de sus pedidos: evento "estado" con el actual y uno por cada cambio
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> seguirPedido(@PathVariable Long id, HttpSession session) {
+        SesionCliente usuario = SesionCliente.actual(session);
+        if (usuario == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // 404 también si el pedido es de otro cliente: no se revela que existe
+        if (!pedidoService.perteneceACliente(id, usuario.id())) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(avisosPedidos.suscribirPedido(id,
+                () -> pedidoService.obtenerEstado(id), pedidoService::esEstadoFinal));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // Consola de operadores: los cambios de estado de todos los pedidos
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> seguirTodos() {
+        try {
+            return ResponseEntity.ok(avisosPedidos.suscribirConsola());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // ==========================================
+    // CLASES DE REQUEST
+    // ==========================================
+
+    @Data
+    public static class CheckoutRequest {
+        private List<ItemRequest> items;
+        private String direccion;
+    }
+
+    @Data
+    public static class ItemRequest {
+        private Long productoId;
+        private Integer cantidad;
+        private List<Long> adicionales;
+    }
+
+    @Data
+    public static class EstadoRequest {
+        private String estado;
+    }
+}
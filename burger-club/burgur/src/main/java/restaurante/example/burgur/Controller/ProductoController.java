@@ -4,16 +4,20 @@ package restaurante.example.burgur.Controller;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.AdicionalResumen;
 import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Model.ProductoResumen;
+import restaurante.example.burgur.Service.CatalogoCache;
+import restaurante.example.burgur.Service.Pagina;
 import restaurante.example.burgur.Service.ProductoService;
 import lombok.Data;
 
@@ -24,15 +28,18 @@ public class ProductoController {
     @Autowired
     private ProductoService productoService;
 
+    @Autowired
+    private CatalogoCache catalogoCache;
+
     // ==========================================
     // VISTAS DE ADMINISTRACIÓN
     // ==========================================
     
     @GetMapping("/admin")
     public String administrarProductos(Model model) {
-        productoService.rebuildAdicionalesDeTodosLosProductos();
         try {
-            List<Producto> productos = productoService.findAll();
+            // Proyección de solo lectura: sin entidades gestionadas ni colecciones perezosas
+            List<ProductoResumen> productos = productoService.findResumenes();
             addProductStatisticsToModel(model, productos);
             return "admin/admin-products";
         } catch (Exception e) {
@@ -41,7 +48,7 @@ public class ProductoController {
         }
     }
 
-    private void addProductStatisticsToModel(Model model, List<Producto> productos) {
+    private void addProductStatisticsToModel(Model model, List<ProductoResumen> productos) {
         model.addAttribute("productos", productos);
         model.addAttribute("totalProductos", calculateTotalProducts(productos));
         model.addAttribute("productosNuevos", calculateNewProducts(productos));
@@ -49,25 +56,25 @@ public class ProductoController {
         model.addAttribute("stockBajo", calculateLowStockProducts(productos));
     }
 
-    private long calculateTotalProducts(List<Producto> productos) {
+    private long calculateTotalProducts(List<ProductoResumen> productos) {
         return productos.size();
     }
 
-    private long calculateNewProducts(List<Producto> productos) {
+    private long calculateNewProducts(List<ProductoResumen> productos) {
         return productos.stream()
-            .filter(p -> p != null && p.isNuevo())
+            .filter(p -> p != null && p.nuevo())
             .count();
     }
 
-    private long calculateActiveProducts(List<Producto> productos) {
+    private long calculateActiveProducts(List<ProductoResumen> productos) {
         return productos.stream()
-            .filter(p -> p != null && p.isActivo())
+            .filter(p -> p != null && p.activo())
             .count();
     }
 
-    private long calculateLowStockProducts(List<Producto> productos) {
+    private long calculateLowStockProducts(List<ProductoResumen> productos) {
         return productos.stream()
-            .filter(p -> p != null && p.isStockBajo())
+            .filter(p -> p != null && p.stockBajo())
             .count();
     }
 
@@ -84,31 +91,49 @@ public class ProductoController {
     @GetMapping("/productos/{id}")
     // Retorna el producto junto con su lista de adicionales permitidos
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> obtenerProductoPorId(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> obtenerProductoPorId(@PathVariable Long id, WebRequest request) {
+        // ETag por versión del catálogo: si el modal ya tiene la respuesta vigente, 304 sin ir a la BD
+        if (request.checkNotModified(catalogoCache.etag())) {
+            return null;
+        }
         try {
-            Optional<Producto> productoOpt = productoService.findById(id);
-            if (productoOpt.isEmpty()) {
+            // Producto y adicionales salen de la foto en memoria del catálogo
+            Producto producto = catalogoCache.snapshot().getProducto(id);
+            if (producto == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            Producto producto = productoOpt.get();
-            List<Adicional> adicionales = productoService.obtenerAdicionalesPermitidos(id);
+            List<AdicionalResumen> adicionales = productoService.obtenerAdicionalesPermitidos(id);
             
             Map<String, Object> response = new HashMap<>();
             response.put("producto", producto);
             response.put("adicionalesPermitidos", adicionales);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    // Paginado por cursor: ?tamano=20&orden=-precio&categoria=bebida&activo=true&cursor=<siguienteCursor>
     @GetMapping("/productos")
     @ResponseBody
-    public ResponseEntity<List<Producto>> obtenerTodosLosProductos() {
+    public ResponseEntity<Pagina<Producto>> obtenerTodosLosProductos(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Boolean activo,
+            @RequestParam(required = false) String nombre,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano,
+            WebRequest request) {
+        if (request.checkNotModified(catalogoCache.etag())) {
+            return null;
+        }
         try {
-            return ResponseEntity.ok(productoService.findAll());
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache())
+                .body(productoService.paginar(categoria, activo, nombre, orden, cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
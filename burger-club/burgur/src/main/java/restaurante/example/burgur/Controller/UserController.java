@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpSession;
 import restaurante.example.burgur.Model.Cliente;
+import restaurante.example.burgur.Model.SesionCliente;
 import restaurante.example.burgur.Service.ClienteService;
 import lombok.Data;
 
@@ -27,23 +28,21 @@ public class UserController {
     
     @GetMapping("/profile")
     public String showProfile(Model model, HttpSession session) {
-        Cliente cliente = (Cliente) session.getAttribute("cliente");
+        SesionCliente usuario = SesionCliente.actual(session);
         
-        if (cliente == null) {
+        if (usuario == null) {
             return "redirect:/auth/login";
         }
         
-        // Obtener datos actualizados del cliente
+        // Los datos completos del cliente se leen de la BD; la sesión solo guarda el usuario
         try {
-            Cliente clienteActualizado = clienteService.obtenerClientePorId(cliente.getId());
-            if (clienteActualizado != null) {
-                model.addAttribute("cliente", clienteActualizado);
-                session.setAttribute("cliente", clienteActualizado); // Actualizar sesión
-            } else {
-                model.addAttribute("cliente", cliente);
+            Cliente cliente = clienteService.obtenerClientePorId(usuario.id());
+            if (cliente == null) {
+                session.invalidate();
+                return "redirect:/auth/login";
             }
-        } catch (Exception e) {
             model.addAttribute("cliente", cliente);
+        } catch (Exception e) {
             model.addAttribute("error", "Error al cargar el perfil");
         }
         
@@ -58,9 +57,9 @@ public class UserController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> updateProfile(@RequestBody ProfileUpdateRequest request, HttpSession session) {
         try {
-            Cliente cliente = (Cliente) session.getAttribute("cliente");
+            SesionCliente usuario = SesionCliente.actual(session);
             
-            if (cliente == null) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(Map.of(
                     "success", false,
                     "message", "No hay sesión activa"
@@ -90,7 +89,7 @@ public class UserController {
             }
             
             // Obtener cliente actualizado de la base de datos
-            Cliente clienteActual = clienteService.obtenerClientePorId(cliente.getId());
+            Cliente clienteActual = clienteService.obtenerClientePorId(usuario.id());
             if (clienteActual == null) {
                 return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
@@ -118,9 +117,8 @@ public class UserController {
             
             Cliente clienteGuardado = clienteService.save(clienteActual);
             
-            // Actualizar sesión
-            session.setAttribute("cliente", clienteGuardado);
-            session.setAttribute("clienteNombre", clienteGuardado.getNombre());
+            // Actualizar sesión (el nombre pudo cambiar)
+            SesionCliente.de(clienteGuardado).guardarEn(session);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -152,9 +150,9 @@ public class UserController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> updatePassword(@RequestBody Map<String, String> passwordData, HttpSession session) {
         try {
-            Cliente cliente = (Cliente) session.getAttribute("cliente");
+            SesionCliente usuario = SesionCliente.actual(session);
             
-            if (cliente == null) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(Map.of(
                     "success", false,
                     "message", "No hay sesión activa"
@@ -172,7 +170,7 @@ public class UserController {
             }
             
             // Obtener cliente actualizado de la base de datos
-            Cliente clienteActual = clienteService.obtenerClientePorId(cliente.getId());
+            Cliente clienteActual = clienteService.obtenerClientePorId(usuario.id());
             if (clienteActual == null) {
                 return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
@@ -182,10 +180,7 @@ public class UserController {
             
             // Actualizar contraseña
             clienteActual.setContrasena(newPassword);
-            Cliente clienteGuardado = clienteService.save(clienteActual);
-            
-            // Actualizar sesión
-            session.setAttribute("cliente", clienteGuardado);
+            clienteService.save(clienteActual);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -204,9 +199,9 @@ public class UserController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> deleteAccount(@RequestBody AccountDeletionRequest request, HttpSession session) {
         try {
-            Cliente cliente = (Cliente) session.getAttribute("cliente");
+            SesionCliente usuario = SesionCliente.actual(session);
             
-            if (cliente == null) {
+            if (usuario == null) {
                 return ResponseEntity.status(401).body(Map.of(
                     "success", false,
                     "message", "No hay sesión activa"
@@ -221,9 +216,17 @@ public class UserController {
                 ));
             }
             
+            Cliente clienteActual = clienteService.obtenerClientePorId(usuario.id());
+            if (clienteActual == null) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "Cliente no encontrado"
+                ));
+            }
+            
             // Verificar contraseña
             try {
-                clienteService.iniciarSesion(cliente.getCorreo(), request.getPassword());
+                clienteService.iniciarSesion(clienteActual.getCorreo(), request.getPassword());
             } catch (Exception e) {
                 return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
@@ -232,11 +235,8 @@ public class UserController {
             }
             
             // Desactivar cuenta en lugar de eliminar físicamente
-            Cliente clienteActual = clienteService.obtenerClientePorId(cliente.getId());
-            if (clienteActual != null) {
-                clienteActual.setActivo(false);
-                clienteService.save(clienteActual);
-            }
+            clienteActual.setActivo(false);
+            clienteService.save(clienteActual);
             
             // Cerrar sesión
             session.invalidate();
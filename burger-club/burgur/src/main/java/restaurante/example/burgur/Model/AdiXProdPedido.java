@@ -2,13 +2,16 @@ package restaurante.example.burgur.Model;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class AdiXProdPedido {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "adixprod_pedido_seq")
+    @SequenceGenerator(name = "adixprod_pedido_seq", sequenceName = "adixprod_pedido_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     private int cantidad;
     private float precioUnitario;
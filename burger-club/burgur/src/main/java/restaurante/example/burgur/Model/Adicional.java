@@ -4,6 +4,8 @@ package restaurante.example.burgur.Model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
@@ -15,21 +17,30 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "adicional")
+@Table(name = "adicional", indexes = {
+    @Index(name = "idx_adicional_nombre_id", columnList = "nombre, id"),
+    @Index(name = "idx_adicional_precio_id", columnList = "precio, id")
+})
+@NamedEntityGraph(name = "Adicional.categoria", attributeNodes = @NamedAttributeNode("categoria"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Adicional {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "adicional_seq")
+    @SequenceGenerator(name = "adicional_seq", sequenceName = "adicional_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     private String nombre;
     private double precio;
@@ -42,6 +53,7 @@ public class Adicional {
         joinColumns = @JoinColumn(name = "adicional_id", nullable = false)
     )
     @Column(name = "categoria", nullable = false, length = 50)
+    @BatchSize(size = 50)
     private List<String> categoria = new ArrayList<>();
 
     //Relaciones BDD
@@ -0,0 +1,18 @@
+package restaurante.example.burgur.Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Copia inmutable de un Adicional para el modal de producto (mismos campos JSON que la entidad).
+// Una sola instancia por adicional se comparte entre todos los productos que lo permiten.
+public record AdicionalResumen(Long id, String nombre, double precio, boolean activo, List<String> categoria) {
+
+    public AdicionalResumen {
+        categoria = categoria == null ? List.of() : List.copyOf(categoria);
+    }
+
+    public static AdicionalResumen de(Adicional adicional) {
+        return new AdicionalResumen(adicional.getId(), adicional.getNombre(), adicional.getPrecio(),
+            adicional.isActivo(), new ArrayList<>(adicional.getCategoria()));
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,7 +18,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class AdicionalesPermiXProducto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "adicionales_permi_xproducto_seq")
+    @SequenceGenerator(name = "adicionales_permi_xproducto_seq", sequenceName = "adicionales_permi_xproducto_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     
     @ManyToOne
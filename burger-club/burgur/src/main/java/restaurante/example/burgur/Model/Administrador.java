@@ -4,11 +4,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class Administrador {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "administrador_seq")
+    @SequenceGenerator(name = "administrador_seq", sequenceName = "administrador_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     private String correo;
     private String contrasena;
@@ -1,22 +1,84 @@
 package restaurante.example.burgur.Model;
 
+import java.util.Date;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class Carrito {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carrito_seq")
+    @SequenceGenerator(name = "carrito_seq", sequenceName = "carrito_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
 
+    // Líneas en JSON: [{"productoId":1,"cantidad":2,"adicionalIds":[3]}]. Se escriben en lotes desde
+    // la memoria (CarritoServiceImpl), nunca en cada cambio; los precios no se guardan, salen del catálogo
+    @Column(length = 8000)
+    private String lineas;
+    private Date fechaActualizacion;
+
     //Relaciones BDD
     //1). Relación Pedido-Carrito (Uno a Uno)
-    @OneToOne 
+    @OneToOne
     @JoinColumn(name = "pedido_id", unique = true, nullable = true)
     private Pedido pedido;
 
+    //2). Relación Cliente-Carrito (Uno a Uno): el carrito abierto del cliente.
+    // LAZY: Pedido carga su Carrito y no necesita arrastrar también al cliente por aquí
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", unique = true, nullable = true)
+    private Cliente cliente;
+
+    // Constructor vacío
+    public Carrito() {
+    }
+
+    public Carrito(Cliente cliente) {
+        this.cliente = cliente;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getLineas() {
+        return lineas;
+    }
+
+    public void setLineas(String lineas) {
+        this.lineas = lineas;
+    }
+
+    public Date getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+
+    public void setFechaActualizacion(Date fechaActualizacion) {
+        this.fechaActualizacion = fechaActualizacion;
+    }
+
+    public Pedido getPedido() {
+        return pedido;
+    }
+
+    public void setPedido(Pedido pedido) {
+        this.pedido = pedido;
+    }
+
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    public void setCliente(Cliente cliente) {
+        this.cliente = cliente;
+    }
 }
@@ -9,18 +9,27 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_cliente_nombre_id", columnList = "nombre, id"),
+    @Index(name = "idx_cliente_apellido_id", columnList = "apellido, id"),
+    @Index(name = "idx_cliente_correo_id", columnList = "correo, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Cliente {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     private String nombre;
     private String apellido;
@@ -5,14 +5,20 @@ import java.util.List;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(name = "idx_domiciliario_nombre_id", columnList = "nombre, id"))
 public class Domiciliario {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "domiciliario_seq")
+    @SequenceGenerator(name = "domiciliario_seq", sequenceName = "domiciliario_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     private String nombre;
     private String cedula;
@@ -9,11 +9,13 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class Operador {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operador_seq")
+    @SequenceGenerator(name = "operador_seq", sequenceName = "operador_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     private String nombre;
     private String cedula;
@@ -11,16 +11,19 @@ import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class Pedido {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     private Date fechaCreacion;
     private Date fechaEntrega;
     private String estado;
     private Float precioTotal;
+    private String direccionEntrega;
 
     //Relaciones BDD
     //1). Relación Pedido - Cliente (Muchos a 1)
@@ -111,6 +114,22 @@ public class Pedido {
         this.operador = operador;
     }
 
+    public String getDireccionEntrega() {
+        return direccionEntrega;
+    }
+
+    public void setDireccionEntrega(String direccionEntrega) {
+        this.direccionEntrega = direccionEntrega;
+    }
+
+    public List<ProdYAdiPedido> getProductosYAdicionales() {
+        return productosYAdicionales;
+    }
+
+    public void setProductosYAdicionales(List<ProdYAdiPedido> productosYAdicionales) {
+        this.productosYAdicionales = productosYAdicionales;
+    }
+
     
 
 
@@ -5,14 +5,17 @@ import java.util.List;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class ProdYAdiPedido {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prod_yadi_pedido_seq")
+    @SequenceGenerator(name = "prod_yadi_pedido_seq", sequenceName = "prod_yadi_pedido_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     private int cantidad;
     private float precioUnitario;
@@ -70,6 +73,12 @@ public class ProdYAdiPedido {
     public void setProducto(Producto producto) {
         this.producto = producto;
     }
+    public List<AdiXProdPedido> getAdicionalesPorProducto() {
+        return adicionalesPorProducto;
+    }
+    public void setAdicionalesPorProducto(List<AdiXProdPedido> adicionalesPorProducto) {
+        this.adicionalesPorProducto = adicionalesPorProducto;
+    }
 
 
     
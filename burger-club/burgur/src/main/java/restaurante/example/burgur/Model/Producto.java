@@ -4,40 +4,64 @@ package restaurante.example.burgur.Model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+// Índices (campo, id) para los listados paginados por cursor: cada página es un rango del índice
+@Table(indexes = {
+    @Index(name = "idx_producto_nombre_id", columnList = "nombre, id"),
+    @Index(name = "idx_producto_precio_id", columnList = "precio, id"),
+    @Index(name = "idx_producto_stock_id", columnList = "stock, id")
+})
+// Plan de carga para listas que muestran los ingredientes (una sola consulta con JOIN)
+@NamedEntityGraph(name = "Producto.ingredientes", attributeNodes = @NamedAttributeNode("ingredientes"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Producto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "producto_seq")
+    @SequenceGenerator(name = "producto_seq", sequenceName = "producto_seq", allocationSize = Secuencias.TAMANO_ASIGNACION)
     private Long id;
     private String nombre;
     private String descripcion;
     private double precio;
     private String categoria;
     private String imgURL;
-    private Integer stock;
+    // Nunca null: el cursor por stock compara (stock, id) y una fila con NULL quedaría fuera del rango
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Integer stock = 0;
     private boolean nuevo;
     private boolean popular;
     private boolean activo;
     
     @ElementCollection
     // Crea los Ingredientes como una tabla auxiliar con (idProducto y nombreIngrediente)
+    // Si se recorren sin plan de carga, se inicializan de a 50 productos por consulta
+    @BatchSize(size = 50)
     private List<String> ingredientes = new ArrayList<>();
     
     // Conexiones BDD
@@ -61,9 +85,19 @@ public class Producto {
     @JsonIgnore
     private List<ProdYAdiPedido> productosYAdicionales = new ArrayList<>();
 
+    // Control de concurrencia optimista (el stock se descuenta en lotes desde StockReservaService)
+    @Version
+    @JsonIgnore
+    private Long version;
+
     //Constructor sin id y sin relaciones BDD
     
 
+    // Sin stock informado (formulario o JSON) cuenta como 0
+    public void setStock(Integer stock) {
+        this.stock = stock != null ? stock : 0;
+    }
+
     // Método personalizado para verificar stock bajo
     public boolean isStockBajo() {
         return stock != null && stock < 10;
@@ -0,0 +1,21 @@
+package restaurante.example.burgur.Model;
+
+// Fila de solo lectura del listado de productos en administración.
+// Spring Data la construye directamente desde el SELECT (proyección por constructor),
+// así que no pasa por el contexto de persistencia ni arrastra colecciones perezosas.
+public record ProductoResumen(
+        Long id,
+        String nombre,
+        String categoria,
+        double precio,
+        String imgURL,
+        Integer stock,
+        boolean nuevo,
+        boolean popular,
+        boolean activo) {
+
+    // Mismo umbral que Producto.isStockBajo()
+    public boolean stockBajo() {
+        return stock != null && stock < 10;
+    }
+}
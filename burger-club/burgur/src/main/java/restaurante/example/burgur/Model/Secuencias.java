@@ -0,0 +1,13 @@
+package restaurante.example.burgur.Model;
+
+// Generación de IDs por secuencia con optimizador "pooled":
+// cada viaje a la secuencia reserva TAMANO_ASIGNACION IDs, así Hibernate puede agrupar los INSERT en lotes JDBC
+// (con IDENTITY tendría que insertar fila por fila para conocer el ID).
+// Las anotaciones JPA exigen una constante de compilación: este es el único punto a ajustar.
+public final class Secuencias {
+
+    public static final int TAMANO_ASIGNACION = 50;
+
+    private Secuencias() {
+    }
+}
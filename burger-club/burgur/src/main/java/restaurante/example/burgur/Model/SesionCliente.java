@@ -0,0 +1,27 @@
+package restaurante.example.burgur.Model;
+
+import java.io.Serializable;
+
+import jakarta.servlet.http.HttpSession;
+
+// Lo único que se guarda en la sesión HTTP tras iniciar sesión.
+// Es pequeño, inmutable y serializable para poder vivir en un almacén de sesiones compartido (JDBC);
+// los datos completos del cliente se leen de la BD cuando hacen falta.
+public record SesionCliente(Long id, String nombre, String rol) implements Serializable {
+
+    public static final String ATRIBUTO = "usuario";
+    public static final String ROL_CLIENTE = "CLIENTE";
+
+    public static SesionCliente de(Cliente cliente) {
+        return new SesionCliente(cliente.getId(), cliente.getNombre(), ROL_CLIENTE);
+    }
+
+    // Usuario de la sesión actual, o null si no hay sesión iniciada
+    public static SesionCliente actual(HttpSession session) {
+        return session != null && session.getAttribute(ATRIBUTO) instanceof SesionCliente usuario ? usuario : null;
+    }
+
+    public void guardarEn(HttpSession session) {
+        session.setAttribute(ATRIBUTO, this);
+    }
+}
@@ -1,15 +1,21 @@
 //burger-club/burgur/src/main/java/restaurante/example/burgur/Repository/AdicionalRepository.java
 package restaurante.example.burgur.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import restaurante.example.burgur.Model.Adicional;
 
 @Repository
-public interface AdicionalRepository extends JpaRepository<Adicional, Long> {
+public interface AdicionalRepository extends JpaRepository<Adicional, Long>, JpaSpecificationExecutor<Adicional> {
     
     // ==========================================
     // MÉTODOS DE BÚSQUEDA
@@ -24,8 +30,25 @@ public interface AdicionalRepository extends JpaRepository<Adicional, Long> {
     // Buscar adicional por nombre (case-insensitive)
     Adicional findByNombreIgnoreCase(String nombre);
     
-    // Buscar adicionales activos
+    // Buscar adicionales activos (con sus categorías en la misma consulta)
+    @EntityGraph("Adicional.categoria")
     List<Adicional> findByActivoTrue();
+
+    // Buscar adicionales activos que aplican a alguna de las categorías (ya normalizadas en minúscula)
+    @Query("""
+            select distinct a
+            from Adicional a
+            join a.categoria c
+            where a.activo = true and c in :categorias
+            """)
+    List<Adicional> findActivosByCategoriaIn(@Param("categorias") Collection<String> categorias);
+    
+    // Adicionales con sus categorías (copias en memoria del catálogo)
+    @EntityGraph("Adicional.categoria")
+    List<Adicional> findConCategoriasByIdIn(Collection<Long> ids);
+
+    @EntityGraph("Adicional.categoria")
+    Optional<Adicional> findConCategoriasById(Long id);
     
     // Buscar adicionales por precio menor que
     List<Adicional> findByPrecioLessThan(Double precio);
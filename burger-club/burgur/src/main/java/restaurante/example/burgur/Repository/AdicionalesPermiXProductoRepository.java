@@ -1,6 +1,7 @@
 //burger-club/burgur/src/main/java/restaurante/example/burgur/Repository/AdicionalesPermiXProductoRepository.java
 package restaurante.example.burgur.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -21,4 +22,24 @@ public interface AdicionalesPermiXProductoRepository extends JpaRepository<Adici
             where ap.producto.id = :productoId
             """)
     List<Adicional> findAdicionalesByProductoId(@Param("productoId") Long productoId);
+
+    // Vínculos actuales de varios productos / adicionales (para sincronización incremental)
+    List<AdicionalesPermiXProducto> findByProductoIdIn(Collection<Long> productoIds);
+    List<AdicionalesPermiXProducto> findByAdicionalIdIn(Collection<Long> adicionalIds);
+
+    // Pares (productoId, adicionalId) permitidos para varios productos en una sola consulta
+    @Query("""
+            select ap.producto.id, ap.adicional.id
+            from AdicionalesPermiXProducto ap
+            where ap.producto.id in :productoIds
+            """)
+    List<Object[]> findParesByProductoIdIn(@Param("productoIds") Collection<Long> productoIds);
+
+    // Todos los pares (productoId, adicionalId), sin cargar las entidades de los vínculos
+    @Query("select ap.producto.id, ap.adicional.id from AdicionalesPermiXProducto ap")
+    List<Object[]> findTodosLosPares();
+
+    // Productos que permiten un adicional
+    @Query("select ap.producto.id from AdicionalesPermiXProducto ap where ap.adicional.id = :adicionalId")
+    List<Long> findProductoIdsByAdicionalId(@Param("adicionalId") Long adicionalId);
 }
\ No newline at end of file
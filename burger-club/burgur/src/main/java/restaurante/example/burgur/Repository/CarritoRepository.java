@@ -0,0 +1,26 @@
+package restaurante.example.burgur.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import restaurante.example.burgur.Model.Carrito;
+
+@Repository
+public interface CarritoRepository extends JpaRepository<Carrito, Long> {
+
+    Optional<Carrito> findByClienteId(Long clienteId);
+
+    // Un lote del guardado diferido: los carritos ya guardados de esos clientes en una consulta
+    List<Carrito> findByClienteIdIn(Collection<Long> clienteIds);
+
+    @Modifying
+    @Query("DELETE FROM Carrito c WHERE c.cliente.id = :clienteId")
+    int deleteByClienteId(@Param("clienteId") Long clienteId);
+}
@@ -1,13 +1,21 @@
 //burger-club/burgur/src/main/java/restaurante/example/burgur/Repository/ClienteRepository.java
 package restaurante.example.burgur.Repository;
 
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import restaurante.example.burgur.Model.Cliente;
 
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, JpaSpecificationExecutor<Cliente> {
     // ==========================================
     // MÉTODOS DE BÚSQUEDA
     // ==========================================
@@ -17,6 +25,20 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     // Verificar si un Cliente existe por correo y diferente ID
     boolean existsByCorreoIgnoreCaseAndIdNot(String correo, Long id);
     Cliente findByCorreoIgnoreCase(String email);
+
+    // Recorrido completo para exportaciones: el driver trae las filas de a 500 y no se materializa la lista
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Cliente c ORDER BY c.id")
+    Stream<Cliente> streamTodos();
+
+    // ==========================================
+    // MÉTODOS DE ESTADÍSTICAS
+    // ==========================================
+
+    long countByActivoTrue();
     
 
 }
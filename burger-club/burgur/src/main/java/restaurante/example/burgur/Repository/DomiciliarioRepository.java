@@ -1,11 +1,36 @@
 package restaurante.example.burgur.Repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import restaurante.example.burgur.Model.Domiciliario;
 
 @Repository
-public interface DomiciliarioRepository extends JpaRepository<Domiciliario, Long> {
+public interface DomiciliarioRepository extends JpaRepository<Domiciliario, Long>, JpaSpecificationExecutor<Domiciliario> {
+
+    // Contar domiciliarios disponibles
+    long countByDisponibleTrue();
+
+    // Filtro en la BD, no en memoria
+    List<Domiciliario> findByDisponibleTrue();
+
+    // IDs libres, para cargar y resincronizar el índice de disponibilidad
+    @Query("SELECT d.id FROM Domiciliario d WHERE d.disponible = true")
+    List<Long> findIdsDisponibles();
+
+    // Ocupa al domiciliario solo si sigue libre en la BD: 0 filas = otro lo tomó antes
+    @Modifying
+    @Query("UPDATE Domiciliario d SET d.disponible = false WHERE d.id = :id AND d.disponible = true")
+    int ocuparSiDisponible(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Domiciliario d SET d.disponible = true WHERE d.id = :id AND d.disponible = false")
+    int liberarSiOcupado(@Param("id") Long id);
 
 }
@@ -1,5 +1,7 @@
 package restaurante.example.burgur.Repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -7,5 +9,8 @@ import restaurante.example.burgur.Model.Operador;
 
 @Repository
 public interface OperadorRepository extends JpaRepository<Operador, Long> {
-    
+
+    // Filtro en la BD, no en memoria
+    List<Operador> findByDisponibleTrue();
+
 }
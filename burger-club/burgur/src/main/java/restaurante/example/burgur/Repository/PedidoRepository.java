@@ -1,11 +1,67 @@
 package restaurante.example.burgur.Repository;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import restaurante.example.burgur.Model.Domiciliario;
 import restaurante.example.burgur.Model.Pedido;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
+    // Exportación de pedidos como columnas sueltas: cargar la entidad arrastraría
+    // cliente, domiciliario, operador y carrito (relaciones EAGER) por cada fila.
+    // (id, fechaCreacion, fechaEntrega, estado, precioTotal, direccionEntrega, clienteId, domiciliarioId)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT p.id, p.fechaCreacion, p.fechaEntrega, p.estado, p.precioTotal, p.direccionEntrega, c.id, d.id
+            FROM Pedido p
+            LEFT JOIN p.cliente c
+            LEFT JOIN p.domiciliario d
+            ORDER BY p.id
+            """)
+    Stream<Object[]> streamFilasExportacion();
+
+    // Asigna el domiciliario solo si el pedido todavía no tiene uno y sigue en el estado esperado:
+    // 0 filas = ya estaba asignado, cambió de estado (ej: cancelado) o no existe
+    @Modifying
+    @Query("""
+            UPDATE Pedido p SET p.domiciliario = :domiciliario, p.estado = :estado
+            WHERE p.id = :id AND p.domiciliario IS NULL AND p.estado = :anterior
+            """)
+    int asignarDomiciliarioSiLibre(@Param("id") Long id, @Param("domiciliario") Domiciliario domiciliario,
+                                   @Param("anterior") String anterior, @Param("estado") String estado);
+
+    @Query("SELECT p.estado FROM Pedido p WHERE p.id = :id")
+    Optional<String> findEstadoById(@Param("id") Long id);
+
+    @Query("SELECT p.domiciliario.id FROM Pedido p WHERE p.id = :id")
+    Optional<Long> findDomiciliarioIdById(@Param("id") Long id);
+
+    boolean existsByIdAndClienteId(Long id, Long clienteId);
+
+    // Unidades por línea (productoId, cantidad), para devolver el stock de un pedido cancelado
+    @Query("SELECT d.producto.id, d.cantidad FROM ProdYAdiPedido d WHERE d.pedido.id = :id")
+    List<Object[]> findUnidadesPorProducto(@Param("id") Long id);
+
+    // Cambia el estado solo si sigue siendo el que se leyó: 0 filas = otro operador lo cambió antes.
+    // fechaEntrega null deja la que había
+    @Modifying
+    @Query("""
+            UPDATE Pedido p SET p.estado = :nuevo, p.fechaEntrega = COALESCE(:fechaEntrega, p.fechaEntrega)
+            WHERE p.id = :id AND p.estado = :anterior
+            """)
+    int cambiarEstadoSi(@Param("id") Long id, @Param("anterior") String anterior, @Param("nuevo") String nuevo,
+                        @Param("fechaEntrega") Date fechaEntrega);
 }
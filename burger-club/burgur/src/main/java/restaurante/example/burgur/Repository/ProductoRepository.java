@@ -1,16 +1,26 @@
 //burger-club/burgur/src/main/java/restaurante/example/burgur/Repository/ProductoRepository.java
 package restaurante.example.burgur.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Model.ProductoResumen;
 
 @Repository
-public interface ProductoRepository extends JpaRepository<Producto, Long> {
+public interface ProductoRepository extends JpaRepository<Producto, Long>, JpaSpecificationExecutor<Producto> {
 
     // ==========================================
     // MÉTODOS DE BÚSQUEDA Y FILTRADO
@@ -22,6 +32,10 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
     // categoría exacta (case-insensitive)
     List<Producto> findByCategoriaIgnoreCase(String categoria);
 
+    // productos de cualquiera de las categorías (normalizadas en minúscula)
+    @Query("SELECT p FROM Producto p WHERE lower(p.categoria) IN :categorias")
+    List<Producto> findByCategoriaNormalizadaIn(@Param("categorias") Collection<String> categorias);
+
     // por nuevo / popular / activo
     List<Producto> findByNuevo(boolean nuevo);
     List<Producto> findByPopular(boolean popular);
@@ -30,15 +44,38 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
     // stock < limite
     List<Producto> findByStockLessThan(Integer limite);
 
+    // (id, stock, version) para inicializar y resincronizar los contadores de reservas
+    @Query("SELECT p.id, p.stock, p.version FROM Producto p WHERE p.id IN :ids")
+    List<Object[]> findStockYVersionByIdIn(@Param("ids") Collection<Long> ids);
+
+    // solo las columnas que pinta el listado de administración (sin entidades ni colecciones)
+    List<ProductoResumen> findResumenesByOrderByIdAsc();
+
     // rango de precio
     List<Producto> findByPrecioBetween(Double min, Double max);
 
+    // todos los productos con sus ingredientes en una sola consulta (carga del catálogo en memoria)
+    @Query("SELECT DISTINCT p FROM Producto p LEFT JOIN FETCH p.ingredientes")
+    List<Producto> findAllConIngredientes();
+
+    @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.ingredientes WHERE p.id = :id")
+    Optional<Producto> findConIngredientesById(@Param("id") Long id);
+
+    // recorrido completo para exportaciones (lectura por bloques del cursor JDBC)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Producto p ORDER BY p.id")
+    Stream<Producto> streamTodos();
+
     // ==========================================
     // MÉTODOS DE ESTADÍSTICAS Y AGREGACIONES
     // ==========================================
 
     long countByCategoriaIgnoreCase(String categoria);
     long countByNuevoTrue();
+    long countByActivoTrue();
     long countByPopularTrue();
     long countByStockLessThan(Integer limite);
 
@@ -46,6 +83,10 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
     @Query("SELECT p.categoria, COUNT(p) FROM Producto p GROUP BY p.categoria")
     List<Object[]> getCategoriaCount();
 
+    // conteo por categoría solo de productos activos (los que muestra el menú)
+    @Query("SELECT lower(p.categoria), COUNT(p) FROM Producto p WHERE p.activo = true GROUP BY lower(p.categoria)")
+    List<Object[]> getCategoriaCountActivos();
+
     // estadísticas de stock
     @Query("SELECT SUM(p.stock), AVG(p.stock), MIN(p.stock), MAX(p.stock) FROM Producto p")
     Object[] getStockStats();
@@ -54,6 +95,8 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
     // ORDENAMIENTOS
     // ==========================================
 
+    // Listas completas; los listados paginados ordenan por los mismos campos con
+    // findBy(Specification, scroll) y un cursor keyset (ver Service/Paginacion)
     List<Producto> findAllByOrderByPrecioAsc();
     List<Producto> findAllByOrderByPrecioDesc();
     List<Producto> findAllByOrderByStockAsc();
@@ -0,0 +1,112 @@
+package restaurante.example.burgur.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import restaurante.example.burgur.Config.ContadorConsultas;
+
+// Carga en paralelo las partes independientes de una vista, cada una en su hilo virtual.
+// Cada rama tiene su plazo y un valor de respaldo: si falla o se pasa del plazo, la vista
+// se arma igual con el respaldo y la rama queda anotada como fallida.
+// Se usa con try-with-resources: al cerrar se interrumpen las ramas que sigan corriendo,
+// así ninguna sobrevive a la petición que la lanzó.
+//
+//   try (Abanico abanico = new Abanico()) {
+//       Abanico.Rama<Long> clientes = abanico.rama("clientes", Duration.ofSeconds(2), repo::count, 0L);
+//       abanico.unir();
+//       ... clientes.valor() ...
+//   }
+public final class Abanico implements AutoCloseable {
+
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Rama<?>> ramas = new ArrayList<>();
+
+    public static final class Rama<T> {
+        private final String nombre;
+        private final long limiteNanos;
+        private final Future<T> futuro;
+        // Consultas SQL de la rama (la escribe el hilo de la rama); se suman a la petición al unir
+        private final ContadorConsultas.Medicion[] medicion;
+        private T valor;
+        private boolean ok;
+
+        private Rama(String nombre, long limiteNanos, Future<T> futuro, ContadorConsultas.Medicion[] medicion, T respaldo) {
+            this.nombre = nombre;
+            this.limiteNanos = limiteNanos;
+            this.futuro = futuro;
+            this.medicion = medicion;
+            this.valor = respaldo;
+        }
+
+        // Resultado de la rama, o el respaldo si falló o no llegó a tiempo
+        public T valor() {
+            return valor;
+        }
+
+        public boolean ok() {
+            return ok;
+        }
+    }
+
+    public <T> Rama<T> rama(String nombre, Duration plazo, Callable<T> tarea, T respaldo) {
+        ContadorConsultas.Medicion[] medicion = new ContadorConsultas.Medicion[1];
+        Future<T> futuro = hilos.submit(() -> {
+            medicion[0] = ContadorConsultas.iniciar();
+            try {
+                return tarea.call();
+            } finally {
+                ContadorConsultas.terminar(medicion[0]);
+            }
+        });
+        Rama<T> rama = new Rama<>(nombre, System.nanoTime() + plazo.toNanos(), futuro, medicion, respaldo);
+        ramas.add(rama);
+        return rama;
+    }
+
+    // Espera cada rama hasta su plazo; las que no terminan a tiempo se cancelan
+    public void unir() {
+        for (Rama<?> rama : ramas) {
+            esperar(rama);
+        }
+    }
+
+    // true si todas las ramas terminaron bien
+    public boolean completo() {
+        return ramas.stream().allMatch(r -> r.ok);
+    }
+
+    public List<String> fallidas() {
+        return ramas.stream().filter(r -> !r.ok).map(r -> r.nombre).toList();
+    }
+
+    @Override
+    public void close() {
+        hilos.shutdownNow();
+    }
+
+    private <T> void esperar(Rama<T> rama) {
+        try {
+            long restante = Math.max(0, rama.limiteNanos - System.nanoTime());
+            rama.valor = rama.futuro.get(restante, TimeUnit.NANOSECONDS);
+            rama.ok = true;
+            // get() asegura que lo escrito por el hilo de la rama ya es visible aquí
+            ContadorConsultas.sumar(rama.medicion[0]);
+        } catch (TimeoutException e) {
+            rama.futuro.cancel(true);
+            System.err.println("⏱️ Rama '" + rama.nombre + "' fuera de plazo; se usa el valor de respaldo");
+        } catch (ExecutionException e) {
+            System.err.println("⚠️ Rama '" + rama.nombre + "' falló: " + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rama.futuro.cancel(true);
+        }
+    }
+}
@@ -15,14 +15,20 @@ public interface AdicionalService {
     
     // Crear o actualizar un adicional
     Adicional save(Adicional adicional);
+    // Crear varios adicionales en una sola transacción (cargas masivas)
+    List<Adicional> saveAll(List<Adicional> adicionales);
     // Eliminar un adicional por su ID
     void delete(Long id);
     // Obtener un adicional por su ID
     Adicional findById(Long id);
     // Obtener todos los adicionales
     List<Adicional> findAll();
+    // Contar todos los adicionales (sin cargarlos)
+    long count();
     // Obtener solo adicionales activos
     List<Adicional> findByActivoTrue();
+    // Listado paginado por cursor (orden: id, nombre, precio; "-" = descendente)
+    Pagina<Adicional> paginar(String categoria, Boolean activo, String orden, String cursor, Integer tamano);
     // Verificar si un adicional existe por su ID
     boolean existsById(Long id);
 }
@@ -1,13 +1,21 @@
 //burger-club/burgur/src/main/java/restaurante/example/burgur/Service/AdicionalServiceImpl.java
 package restaurante.example.burgur.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.criteria.Predicate;
 import restaurante.example.burgur.Model.Adicional;
 import restaurante.example.burgur.Repository.AdicionalRepository;
 
@@ -15,9 +23,21 @@ import restaurante.example.burgur.Repository.AdicionalRepository;
 @Transactional
 public class AdicionalServiceImpl implements AdicionalService {
 
+    private static final Map<String, Function<String, Object>> ORDENES = Map.of(
+        "id", Long::valueOf,
+        "nombre", valor -> valor,
+        "precio", Double::valueOf
+    );
+
     @Autowired
     private AdicionalRepository adicionalRepository;
 
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // ==========================================
     // MÉTODOS BÁSICOS CRUD
     // ==========================================
@@ -36,7 +56,12 @@ public class AdicionalServiceImpl implements AdicionalService {
             prepareForPersistence(adicional);
 
             // 4) Guardar con manejo de errores de BD
-            return adicionalRepository.save(adicional);
+            Adicional guardado = adicionalRepository.save(adicional);
+
+            // 5) Aplicar solo los vínculos producto-adicional que cambiaron
+            productoService.sincronizarVinculosDeAdicional(guardado);
+            eventPublisher.publishEvent(CatalogoCambiadoEvent.adicional(guardado.getId()));
+            return guardado;
             
         } catch (DataIntegrityViolationException e) {
             // Manejar violaciones de integridad de BD
@@ -49,11 +74,38 @@ public class AdicionalServiceImpl implements AdicionalService {
         }
     }
 
+    // Carga masiva: mismas validaciones, INSERT en lotes y una sola sincronización de vínculos
+    @Override
+    @Transactional
+    public List<Adicional> saveAll(List<Adicional> adicionales) {
+        if (adicionales == null || adicionales.isEmpty()) return List.of();
+
+        Set<String> nombres = new HashSet<>();
+        for (Adicional adicional : adicionales) {
+            validateAdicional(adicional);
+            validateUniqueness(adicional);
+            if (!nombres.add(adicional.getNombre().trim().toLowerCase())) {
+                throw new IllegalArgumentException("Nombre de adicional repetido en la carga: " + adicional.getNombre());
+            }
+            prepareForPersistence(adicional);
+        }
+
+        try {
+            List<Adicional> guardados = adicionalRepository.saveAll(adicionales);
+            productoService.sincronizarVinculosDeAdicionales(guardados);
+            guardados.forEach(a -> eventPublisher.publishEvent(CatalogoCambiadoEvent.adicional(a.getId())));
+            return guardados;
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Error de integridad de datos: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
     @Override
     public void delete(Long id) {
         try {
             validateDeleteRequest(id);
             handleAdicionalDeletion(id);
+            eventPublisher.publishEvent(CatalogoCambiadoEvent.adicional(id));
             
         } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("No se puede eliminar el adicional porque está siendo usado por productos");
@@ -78,12 +130,34 @@ public class AdicionalServiceImpl implements AdicionalService {
     public List<Adicional> findAll() {
         return adicionalRepository.findAll();
     }
+
+    @Override
+    public long count() {
+        return adicionalRepository.count();
+    }
     
     @Override
     public List<Adicional> findByActivoTrue() {
         return adicionalRepository.findByActivoTrue();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<Adicional> paginar(String categoria, Boolean activo, String orden, String cursor, Integer tamano) {
+        Specification<Adicional> filtro = (root, query, cb) -> {
+            List<Predicate> condiciones = new ArrayList<>();
+            if (activo != null) {
+                condiciones.add(cb.equal(root.get("activo"), activo));
+            }
+            if (categoria != null && !categoria.isBlank()) {
+                // Las categorías se guardan normalizadas en minúscula
+                condiciones.add(cb.isMember(categoria.trim().toLowerCase(), root.<List<String>>get("categoria")));
+            }
+            return cb.and(condiciones.toArray(new Predicate[0]));
+        };
+        return Paginacion.paginar(adicionalRepository, filtro, Paginacion.orden(orden, ORDENES), cursor, tamano);
+    }
+
     @Override
     public boolean existsById(Long id) {
         return id != null && adicionalRepository.existsById(id);
@@ -93,7 +167,8 @@ public class AdicionalServiceImpl implements AdicionalService {
     // MÉTODOS DE VALIDACIÓN Y PREPARACIÓN
     // ==========================================
 
-    private void validateAdicional(Adicional adicional) {
+    // Sin acceso a BD; visible en el paquete para burgur-benchmarks
+    void validateAdicional(Adicional adicional) {
         if (adicional == null) {
             throw new IllegalArgumentException("El adicional no puede ser nulo");
         }
@@ -151,7 +226,9 @@ public class AdicionalServiceImpl implements AdicionalService {
 
     private void deactivateAdicional(Adicional adicional) {
         adicional.setActivo(false);
-        adicionalRepository.save(adicional);
+        Adicional desactivado = adicionalRepository.save(adicional);
+        // Un adicional inactivo deja de estar permitido en los productos
+        productoService.sincronizarVinculosDeAdicional(desactivado);
         System.out.println("Adicional desactivado en lugar de eliminado debido a relaciones existentes");
     }
     
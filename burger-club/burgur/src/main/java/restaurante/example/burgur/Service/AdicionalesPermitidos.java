@@ -0,0 +1,140 @@
+package restaurante.example.burgur.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import restaurante.example.burgur.Model.AdicionalResumen;
+
+// Grafo producto -> adicionales permitidos, inmutable como la foto del catálogo que lo contiene.
+// Cada producto guarda un long[] ordenado con los IDs de sus adicionales; los adicionales son
+// AdicionalResumen compartidos. Los cambios crean una copia que solo recalcula lo afectado.
+final class AdicionalesPermitidos {
+
+    private static final long[] NINGUNO = new long[0];
+
+    private static final AdicionalesPermitidos VACIO = new AdicionalesPermitidos(Map.of(), Map.of());
+
+    private final Map<Long, long[]> porProducto;
+    private final Map<Long, AdicionalResumen> adicionales;
+
+    private AdicionalesPermitidos(Map<Long, long[]> porProducto, Map<Long, AdicionalResumen> adicionales) {
+        this.porProducto = porProducto;
+        this.adicionales = adicionales;
+    }
+
+    // ==========================================
+    // CONSTRUCCIÓN
+    // ==========================================
+
+    static AdicionalesPermitidos vacio() {
+        return VACIO;
+    }
+
+    // pares: (productoId, adicionalId) de AdicionalesPermiXProductoRepository
+    static AdicionalesPermitidos de(List<Object[]> pares, Collection<AdicionalResumen> adicionales) {
+        Map<Long, List<Long>> agrupados = new HashMap<>();
+        for (Object[] par : pares) {
+            agrupados.computeIfAbsent((Long) par[0], k -> new ArrayList<>()).add((Long) par[1]);
+        }
+        Map<Long, long[]> porProducto = new HashMap<>(agrupados.size() * 2);
+        agrupados.forEach((productoId, ids) -> porProducto.put(productoId, ordenados(ids)));
+
+        Map<Long, AdicionalResumen> porId = new HashMap<>(adicionales.size() * 2);
+        for (AdicionalResumen a : adicionales) {
+            porId.put(a.id(), a);
+        }
+        return new AdicionalesPermitidos(porProducto, porId);
+    }
+
+    // Reemplaza los adicionales de un producto; "nuevos" trae los que todavía no estaban en memoria
+    AdicionalesPermitidos conProducto(Long productoId, Collection<Long> adicionalIds, Collection<AdicionalResumen> nuevos) {
+        Map<Long, long[]> porProductoNuevo = new HashMap<>(porProducto);
+        if (adicionalIds.isEmpty()) {
+            porProductoNuevo.remove(productoId);
+        } else {
+            porProductoNuevo.put(productoId, ordenados(adicionalIds));
+        }
+        Map<Long, AdicionalResumen> adicionalesNuevo = adicionales;
+        if (!nuevos.isEmpty()) {
+            adicionalesNuevo = new HashMap<>(adicionales);
+            for (AdicionalResumen a : nuevos) {
+                adicionalesNuevo.put(a.id(), a);
+            }
+        }
+        return new AdicionalesPermitidos(porProductoNuevo, adicionalesNuevo);
+    }
+
+    AdicionalesPermitidos sinProducto(Long productoId) {
+        if (!porProducto.containsKey(productoId)) return this;
+        Map<Long, long[]> porProductoNuevo = new HashMap<>(porProducto);
+        porProductoNuevo.remove(productoId);
+        return new AdicionalesPermitidos(porProductoNuevo, adicionales);
+    }
+
+    // Reemplaza un adicional (null = eliminado) y los productos que lo permiten.
+    // Solo se copian los arreglos de los productos que lo ganan o lo pierden.
+    AdicionalesPermitidos conAdicional(Long adicionalId, AdicionalResumen adicional, Set<Long> productoIds) {
+        Map<Long, long[]> porProductoNuevo = new HashMap<>(porProducto);
+        for (Map.Entry<Long, long[]> e : porProducto.entrySet()) {
+            boolean loTiene = Arrays.binarySearch(e.getValue(), adicionalId) >= 0;
+            boolean debeTenerlo = adicional != null && productoIds.contains(e.getKey());
+            if (loTiene && !debeTenerlo) {
+                long[] sin = Arrays.stream(e.getValue()).filter(id -> id != adicionalId).toArray();
+                if (sin.length == 0) {
+                    porProductoNuevo.remove(e.getKey());
+                } else {
+                    porProductoNuevo.put(e.getKey(), sin);
+                }
+            }
+        }
+        if (adicional != null) {
+            for (Long productoId : productoIds) {
+                long[] actuales = porProductoNuevo.getOrDefault(productoId, NINGUNO);
+                if (Arrays.binarySearch(actuales, adicionalId) < 0) {
+                    long[] con = Arrays.copyOf(actuales, actuales.length + 1);
+                    con[actuales.length] = adicionalId;
+                    Arrays.sort(con);
+                    porProductoNuevo.put(productoId, con);
+                }
+            }
+        }
+
+        Map<Long, AdicionalResumen> adicionalesNuevo = new HashMap<>(adicionales);
+        if (adicional != null) {
+            adicionalesNuevo.put(adicionalId, adicional);
+        } else {
+            adicionalesNuevo.remove(adicionalId);
+        }
+        return new AdicionalesPermitidos(porProductoNuevo, adicionalesNuevo);
+    }
+
+    private static long[] ordenados(Collection<Long> ids) {
+        long[] arreglo = ids.stream().mapToLong(Long::longValue).distinct().toArray();
+        Arrays.sort(arreglo);
+        return arreglo;
+    }
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    // true si el adicional ya está en memoria (para no volver a leerlo de la BD)
+    boolean conoce(Long adicionalId) {
+        return adicionales.containsKey(adicionalId);
+    }
+
+    List<AdicionalResumen> para(Long productoId) {
+        long[] ids = porProducto.getOrDefault(productoId, NINGUNO);
+        List<AdicionalResumen> lista = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            AdicionalResumen a = adicionales.get(id);
+            if (a != null) lista.add(a);
+        }
+        return lista;
+    }
+}
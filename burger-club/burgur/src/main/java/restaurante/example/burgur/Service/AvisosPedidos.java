@@ -0,0 +1,260 @@
+package restaurante.example.burgur.Service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Difusor en memoria de los cambios de estado de los pedidos hacia conexiones SSE abiertas:
+// la del cliente sigue un pedido, la consola de operadores recibe todos. El estado llega desde
+// PedidoService después del commit, así que seguir un pedido solo consulta la BD al conectarse.
+//
+// Quien publica nunca espera a un cliente: cada suscriptor tiene una cola acotada y un hilo
+// virtual que la vacía mientras tenga eventos. Si la cola se llena, el cliente no está leyendo
+// y se le cierra la conexión; EventSource reconecta y recibe el estado actual de nuevo.
+@Component
+public class AvisosPedidos {
+
+    static final String EVENTO_ESTADO = "estado";
+
+    @Value("${burgur.pedidos.eventos.cola:32}")
+    private int capacidadCola;
+
+    @Value("${burgur.pedidos.eventos.max-conexiones:10000}")
+    private int maxConexiones;
+
+    @Value("${burgur.pedidos.eventos.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Set<Suscriptor>> porPedido = new ConcurrentHashMap<>();
+    private final Set<Suscriptor> consola = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger conexiones = new AtomicInteger();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Counter cortados;
+
+    public AvisosPedidos(MeterRegistry registry) {
+        registry.gauge("burgur.pedidos.eventos.conexiones", conexiones);
+        this.cortados = Counter.builder("burgur.pedidos.eventos.cortados")
+            .description("Conexiones SSE cerradas por no leer sus eventos a tiempo")
+            .register(registry);
+    }
+
+    // Un evento en la cola de un suscriptor; sin nombre es un latido (comentario SSE)
+    private record Aviso(long id, String nombre, Object datos, boolean ultimo) {
+        static final Aviso LATIDO = new Aviso(0, null, null, false);
+    }
+
+    // ==========================================
+    // SUSCRIPCIONES
+    // ==========================================
+
+    // Sigue un pedido: recibe primero su estado actual y después cada cambio; en un estado final
+    // se envía ese estado y se cierra la conexión. Se registra antes de leer el estado, así un cambio
+    // que llega en medio no se pierde; el id del estado inicial se toma antes de leerlo, de modo que
+    // si llega después que un cambio más nuevo el cliente lo reconoce por su id menor y lo descarta.
+    // IllegalStateException si ya se llegó al máximo de conexiones abiertas.
+    public SseEmitter suscribirPedido(Long pedidoId, Supplier<String> estadoActual, Predicate<String> esFinal) {
+        Suscriptor suscriptor = abrir(pedidoId);
+        porPedido.computeIfAbsent(pedidoId, id -> ConcurrentHashMap.newKeySet()).add(suscriptor);
+        try {
+            long id = secuencia.incrementAndGet();
+            String estado = estadoActual.get();
+            suscriptor.encolar(aviso(id, pedidoId, estado, esFinal.test(estado)));
+        } catch (RuntimeException e) {
+            suscriptor.cerrar();
+            throw e;
+        }
+        return suscriptor.emitter;
+    }
+
+    // Consola de operadores: todos los cambios de todos los pedidos desde que se conecta
+    public SseEmitter suscribirConsola() {
+        Suscriptor suscriptor = abrir(null);
+        consola.add(suscriptor);
+        // Un latido inicial confirma la respuesta de inmediato (el navegador marca la conexión abierta)
+        suscriptor.encolar(Aviso.LATIDO);
+        return suscriptor.emitter;
+    }
+
+    public int conexionesAbiertas() {
+        return conexiones.get();
+    }
+
+    private Suscriptor abrir(Long pedidoId) {
+        if (conexiones.incrementAndGet() > maxConexiones) {
+            conexiones.decrementAndGet();
+            throw new IllegalStateException("Demasiadas conexiones de seguimiento abiertas");
+        }
+        Suscriptor suscriptor = new Suscriptor(pedidoId, new SseEmitter(timeoutMs));
+        suscriptor.emitter.onCompletion(suscriptor::cerrar);
+        suscriptor.emitter.onTimeout(suscriptor::cerrar);
+        suscriptor.emitter.onError(e -> suscriptor.cerrar());
+        return suscriptor;
+    }
+
+    // ==========================================
+    // PUBLICACIÓN
+    // ==========================================
+
+    // Cambio de estado de un pedido. Dentro de una transacción se difunde recién después del commit,
+    // así nadie ve un estado que luego se revierte.
+    public void publicar(Long pedidoId, String estado, boolean finalizado) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            difundir(pedidoId, estado, finalizado);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                difundir(pedidoId, estado, finalizado);
+            }
+        });
+    }
+
+    private void difundir(Long pedidoId, String estado, boolean finalizado) {
+        Aviso aviso = aviso(secuencia.incrementAndGet(), pedidoId, estado, finalizado);
+        // En un estado final la conexión del cliente se cierra: ya no habrá más cambios
+        Set<Suscriptor> delPedido = finalizado ? porPedido.remove(pedidoId) : porPedido.get(pedidoId);
+        if (delPedido != null) {
+            delPedido.forEach(s -> s.encolar(aviso));
+        }
+        Aviso paraConsola = new Aviso(aviso.id(), aviso.nombre(), aviso.datos(), false);
+        consola.forEach(s -> s.encolar(paraConsola));
+    }
+
+    private Aviso aviso(long id, Long pedidoId, String estado, boolean finalizado) {
+        Map<String, Object> datos = Map.of(
+            "pedidoId", pedidoId,
+            "estado", estado,
+            "instante", System.currentTimeMillis()
+        );
+        return new Aviso(id, EVENTO_ESTADO, datos, finalizado);
+    }
+
+    // ==========================================
+    // LATIDO
+    // ==========================================
+
+    // Evita que proxies y balanceadores corten conexiones ociosas y descubre las que el cliente
+    // ya cerró (el envío falla). Si un suscriptor no lee, los latidos terminan llenando su cola.
+    @Scheduled(fixedDelayString = "${burgur.pedidos.eventos.latido-ms:15000}",
+               initialDelayString = "${burgur.pedidos.eventos.latido-ms:15000}")
+    public void latir() {
+        porPedido.values().forEach(suscriptores -> suscriptores.forEach(s -> s.encolar(Aviso.LATIDO)));
+        consola.forEach(s -> s.encolar(Aviso.LATIDO));
+    }
+
+    @PreDestroy
+    public void cerrarTodo() {
+        porPedido.values().forEach(suscriptores -> suscriptores.forEach(s -> s.emitter.complete()));
+        consola.forEach(s -> s.emitter.complete());
+        envios.shutdownNow();
+    }
+
+    // ==========================================
+    // SUSCRIPTOR
+    // ==========================================
+
+    private final class Suscriptor {
+
+        private final Long pedidoId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Aviso> cola = new ArrayBlockingQueue<>(capacidadCola);
+        // Hay un hilo vaciando la cola; como mucho uno por suscriptor, así los eventos salen en orden
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean cerrado = new AtomicBoolean();
+
+        Suscriptor(Long pedidoId, SseEmitter emitter) {
+            this.pedidoId = pedidoId;
+            this.emitter = emitter;
+        }
+
+        void encolar(Aviso aviso) {
+            if (cerrado.get()) {
+                return;
+            }
+            if (!cola.offer(aviso)) {
+                cortados.increment();
+                cerrar();
+                // complete() espera al envío en curso, que puede estar trabado en este cliente: en su hilo
+                envios.execute(emitter::complete);
+                return;
+            }
+            if (enviando.compareAndSet(false, true)) {
+                envios.execute(this::vaciar);
+            }
+        }
+
+        // Corre en su hilo virtual: si el cliente es lento, el que espera al escribir es este hilo
+        private void vaciar() {
+            try {
+                Aviso aviso;
+                while (!cerrado.get() && (aviso = cola.poll()) != null) {
+                    enviar(aviso);
+                    if (aviso.ultimo()) {
+                        cerrar();
+                        emitter.complete();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Conexión cerrada por el cliente o emitter ya completado: el contenedor avisa y se limpia
+                cerrar();
+            } finally {
+                enviando.set(false);
+            }
+            // Un evento encolado justo después del último poll no debe quedar esperando al siguiente
+            if (!cerrado.get() && !cola.isEmpty() && enviando.compareAndSet(false, true)) {
+                envios.execute(this::vaciar);
+            }
+        }
+
+        private void enviar(Aviso aviso) throws IOException {
+            if (aviso.nombre() == null) {
+                emitter.send(SseEmitter.event().comment("latido"));
+            } else {
+                emitter.send(SseEmitter.event()
+                    .id(Long.toString(aviso.id()))
+                    .name(aviso.nombre())
+                    .data(aviso.datos(), MediaType.APPLICATION_JSON));
+            }
+        }
+
+        void cerrar() {
+            if (!cerrado.compareAndSet(false, true)) {
+                return;
+            }
+            conexiones.decrementAndGet();
+            cola.clear();
+            if (pedidoId == null) {
+                consola.remove(this);
+            } else {
+                porPedido.computeIfPresent(pedidoId, (id, suscriptores) -> {
+                    suscriptores.remove(this);
+                    return suscriptores.isEmpty() ? null : suscriptores;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package restaurante.example.burgur.Service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface CarritoService {
+    // ==========================================
+    // CARRITO (en memoria; la BD se actualiza en segundo plano)
+    // ==========================================
+
+    CarritoVista obtener(DuenoCarrito dueno);
+
+    // Suma la línea, o sus unidades a una igual (mismo producto y adicionales).
+    // IllegalArgumentException si el producto o algún adicional no está disponible.
+    CarritoVista agregar(DuenoCarrito dueno, LineaCheckout linea);
+
+    // Reemplaza el carrito completo (sincronización desde el navegador); las líneas no válidas se descartan
+    CarritoVista reemplazar(DuenoCarrito dueno, List<LineaCheckout> lineas);
+
+    void vaciar(DuenoCarrito dueno);
+
+    // ==========================================
+    // SESIÓN
+    // ==========================================
+
+    // Al iniciar sesión el carrito anónimo de la sesión se suma al del cliente, que queda cargado en memoria
+    CarritoVista fusionarAlIniciarSesion(String sesionId, Long clienteId);
+
+    // Cliente eliminado: su carrito sale de memoria y de la BD
+    void eliminarDeCliente(Long clienteId);
+
+    // ==========================================
+    // MANTENIMIENTO
+    // ==========================================
+
+    // Guardado diferido: escribe en lotes los carritos de clientes con cambios; devuelve cuántos guardó
+    int guardarPendientes();
+
+    // Saca de memoria los carritos sin uso (los de clientes, solo si ya están guardados)
+    int descartarInactivos();
+}
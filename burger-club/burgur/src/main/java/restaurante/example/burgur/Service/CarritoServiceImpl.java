@@ -0,0 +1,425 @@
+package restaurante.example.burgur.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import restaurante.example.burgur.Model.AdicionalResumen;
+import restaurante.example.burgur.Model.Carrito;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Repository.CarritoRepository;
+import restaurante.example.burgur.Repository.ClienteRepository;
+
+// Carritos en memoria, uno por cliente o por sesión anónima.
+// Agregar, cambiar o vaciar solo toca memoria (y valida contra la foto del catálogo); los carritos
+// de clientes con cambios quedan pendientes y se escriben en Carrito por lotes cada pocos segundos.
+// Se lee la BD una vez por cliente: al iniciar sesión o la primera vez que se usa tras descartarlo.
+@Service
+public class CarritoServiceImpl implements CarritoService {
+
+    private static final int LOTE_GUARDADO = 50;
+    private static final TypeReference<List<LineaCheckout>> TIPO_LINEAS = new TypeReference<>() {};
+
+    @Autowired
+    private CarritoRepository carritoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${burgur.carritos.inactivo-ms:1800000}")
+    private long inactivoMs;
+
+    private final ConcurrentHashMap<String, Abierto> carritos = new ConcurrentHashMap<>();
+    // Claves de carritos de clientes con cambios que todavía no están en BD
+    private final Set<String> pendientes = ConcurrentHashMap.newKeySet();
+
+    public CarritoServiceImpl(MeterRegistry registry) {
+        registry.gauge("burgur.carritos.abiertos", carritos, Map::size);
+        registry.gauge("burgur.carritos.pendientes", pendientes, Set::size);
+    }
+
+    // Cada carrito lo usa casi siempre un solo usuario: se sincroniza sobre el propio carrito
+    private static final class Abierto {
+        private final Long clienteId;
+        private final List<LineaCheckout> lineas;
+        private long version;
+        private long versionGuardada;
+        // Ya salió del mapa (descartado o fusionado); quien lo tenga debe volver a buscarlo
+        private boolean descartado;
+        private volatile long ultimoUso = System.currentTimeMillis();
+
+        Abierto(Long clienteId, List<LineaCheckout> lineas) {
+            this.clienteId = clienteId;
+            this.lineas = new ArrayList<>(lineas);
+        }
+    }
+
+    // Foto de un carrito para el guardado; lo que cambie después queda para el siguiente ciclo
+    private record Foto(String clave, Abierto carrito, long version, String json) {
+    }
+
+    // ==========================================
+    // CARRITO
+    // ==========================================
+
+    @Override
+    public CarritoVista obtener(DuenoCarrito dueno) {
+        // Un anónimo sin carrito no crea uno solo por mirarlo
+        if (!dueno.esCliente() && !carritos.containsKey(dueno.clave())) {
+            return vista(List.of());
+        }
+        return vista(modificar(dueno, null));
+    }
+
+    @Override
+    public CarritoVista agregar(DuenoCarrito dueno, LineaCheckout linea) {
+        LineaCheckout valida = validar(linea, catalogoCache.snapshot());
+        return vista(modificar(dueno, lineas -> sumar(lineas, valida)));
+    }
+
+    @Override
+    public CarritoVista reemplazar(DuenoCarrito dueno, List<LineaCheckout> lineas) {
+        CatalogoSnapshot catalogo = catalogoCache.snapshot();
+        List<LineaCheckout> nuevas = new ArrayList<>();
+        for (LineaCheckout linea : lineas != null ? lineas : List.<LineaCheckout>of()) {
+            try {
+                sumar(nuevas, validar(linea, catalogo));
+            } catch (IllegalArgumentException e) {
+                // Producto retirado, adicional no permitido o carrito lleno: la línea se descarta
+            }
+        }
+        return vista(modificar(dueno, actuales -> {
+            actuales.clear();
+            actuales.addAll(nuevas);
+        }));
+    }
+
+    @Override
+    public void vaciar(DuenoCarrito dueno) {
+        if (!dueno.esCliente()) {
+            descartar(dueno.clave());
+            return;
+        }
+        modificar(dueno, List::clear);
+    }
+
+    // Aplica el cambio (null = solo leer) y devuelve una copia de las líneas resultantes
+    private List<LineaCheckout> modificar(DuenoCarrito dueno, Consumer<List<LineaCheckout>> cambio) {
+        while (true) {
+            Abierto carrito = abierto(dueno);
+            synchronized (carrito) {
+                if (carrito.descartado) {
+                    continue;
+                }
+                if (cambio != null) {
+                    cambio.accept(carrito.lineas);
+                    carrito.version++;
+                    if (carrito.clienteId != null) {
+                        pendientes.add(dueno.clave());
+                    }
+                }
+                carrito.ultimoUso = System.currentTimeMillis();
+                return List.copyOf(carrito.lineas);
+            }
+        }
+    }
+
+    // Carrito en memoria; el de un cliente que no está se carga de BD (fuera de cualquier lock)
+    private Abierto abierto(DuenoCarrito dueno) {
+        String clave = dueno.clave();
+        Abierto carrito = carritos.get(clave);
+        if (carrito != null) {
+            return carrito;
+        }
+        Abierto nuevo = new Abierto(dueno.clienteId(), dueno.esCliente() ? cargar(dueno.clienteId()) : List.of());
+        Abierto previo = carritos.putIfAbsent(clave, nuevo);
+        return previo != null ? previo : nuevo;
+    }
+
+    private void descartar(String clave) {
+        pendientes.remove(clave);
+        Abierto carrito = carritos.remove(clave);
+        if (carrito != null) {
+            synchronized (carrito) {
+                carrito.descartado = true;
+            }
+        }
+    }
+
+    // ==========================================
+    // VALIDACIÓN Y PRECIOS (contra la foto del catálogo, sin consultas)
+    // ==========================================
+
+    // Devuelve la línea con los adicionales ordenados, para reconocer dos líneas iguales
+    private LineaCheckout validar(LineaCheckout linea, CatalogoSnapshot catalogo) {
+        if (linea == null || linea.productoId() == null) {
+            throw new IllegalArgumentException("Cada línea debe indicar un producto");
+        }
+        if (linea.cantidad() < 1 || linea.cantidad() > PedidoServiceImpl.MAX_CANTIDAD) {
+            throw new IllegalArgumentException("La cantidad debe estar entre 1 y " + PedidoServiceImpl.MAX_CANTIDAD);
+        }
+        Producto producto = catalogo.getProducto(linea.productoId());
+        if (producto == null || !producto.isActivo()) {
+            throw new IllegalArgumentException("Producto no disponible: " + linea.productoId());
+        }
+        Map<Long, AdicionalResumen> permitidos = permitidos(catalogo, producto.getId());
+        List<Long> adicionalIds = linea.adicionalIds().stream().distinct().sorted().toList();
+        if (adicionalIds.size() != linea.adicionalIds().size()) {
+            throw new IllegalArgumentException("Adicionales repetidos en una línea");
+        }
+        for (Long adicionalId : adicionalIds) {
+            AdicionalResumen adicional = permitidos.get(adicionalId);
+            if (adicional == null || !adicional.activo()) {
+                throw new IllegalArgumentException("Adicional no disponible para " + producto.getNombre() + ": " + adicionalId);
+            }
+        }
+        return new LineaCheckout(producto.getId(), linea.cantidad(), adicionalIds);
+    }
+
+    // Misma combinación: se suman unidades (hasta el máximo por línea); si no, línea nueva
+    private static void sumar(List<LineaCheckout> lineas, LineaCheckout linea) {
+        for (int i = 0; i < lineas.size(); i++) {
+            LineaCheckout actual = lineas.get(i);
+            if (actual.productoId().equals(linea.productoId()) && actual.adicionalIds().equals(linea.adicionalIds())) {
+                int cantidad = Math.min(actual.cantidad() + linea.cantidad(), PedidoServiceImpl.MAX_CANTIDAD);
+                lineas.set(i, new LineaCheckout(actual.productoId(), cantidad, actual.adicionalIds()));
+                return;
+            }
+        }
+        if (lineas.size() >= PedidoServiceImpl.MAX_LINEAS) {
+            throw new IllegalArgumentException("El carrito no puede tener más de " + PedidoServiceImpl.MAX_LINEAS + " líneas");
+        }
+        lineas.add(linea);
+    }
+
+    private CarritoVista vista(List<LineaCheckout> lineas) {
+        CatalogoSnapshot catalogo = catalogoCache.snapshot();
+        List<CarritoVista.Item> items = new ArrayList<>(lineas.size());
+        int unidades = 0;
+        double total = 0;
+        for (LineaCheckout linea : lineas) {
+            Producto producto = catalogo.getProducto(linea.productoId());
+            boolean disponible = producto != null && producto.isActivo();
+            Map<Long, AdicionalResumen> permitidos = producto != null ? permitidos(catalogo, producto.getId()) : Map.of();
+
+            List<AdicionalResumen> adicionales = new ArrayList<>(linea.adicionalIds().size());
+            double precioUnitario = producto != null ? producto.getPrecio() : 0;
+            for (Long adicionalId : linea.adicionalIds()) {
+                AdicionalResumen adicional = permitidos.get(adicionalId);
+                if (adicional == null || !adicional.activo()) {
+                    disponible = false;
+                    continue;
+                }
+                adicionales.add(adicional);
+                precioUnitario += adicional.precio();
+            }
+
+            double subtotal = precioUnitario * linea.cantidad();
+            items.add(new CarritoVista.Item(linea.productoId(),
+                producto != null ? producto.getNombre() : null,
+                producto != null ? producto.getImgURL() : null,
+                linea.cantidad(), producto != null ? producto.getPrecio() : 0,
+                adicionales, precioUnitario, subtotal, disponible));
+            unidades += linea.cantidad();
+            if (disponible) {
+                total += subtotal;
+            }
+        }
+        return new CarritoVista(items, unidades, total);
+    }
+
+    private static Map<Long, AdicionalResumen> permitidos(CatalogoSnapshot catalogo, Long productoId) {
+        Map<Long, AdicionalResumen> porId = new HashMap<>();
+        for (AdicionalResumen adicional : catalogo.getAdicionalesPermitidos(productoId)) {
+            porId.put(adicional.id(), adicional);
+        }
+        return porId;
+    }
+
+    // ==========================================
+    // SESIÓN
+    // ==========================================
+
+    @Override
+    public CarritoVista fusionarAlIniciarSesion(String sesionId, Long clienteId) {
+        List<LineaCheckout> anonimas = List.of();
+        Abierto anonimo = sesionId != null ? carritos.remove(new DuenoCarrito(null, sesionId).clave()) : null;
+        if (anonimo != null) {
+            synchronized (anonimo) {
+                anonimo.descartado = true;
+                anonimas = List.copyOf(anonimo.lineas);
+            }
+        }
+
+        List<LineaCheckout> aSumar = anonimas;
+        return vista(modificar(DuenoCarrito.cliente(clienteId), aSumar.isEmpty() ? null : lineas -> {
+            for (LineaCheckout linea : aSumar) {
+                try {
+                    sumar(lineas, linea);
+                } catch (IllegalArgumentException e) {
+                    break; // carrito del cliente lleno: el resto no entra
+                }
+            }
+        }));
+    }
+
+    @Override
+    @Transactional
+    public void eliminarDeCliente(Long clienteId) {
+        descartar(DuenoCarrito.cliente(clienteId).clave());
+        carritoRepository.deleteByClienteId(clienteId);
+    }
+
+    // ==========================================
+    // PERSISTENCIA (write-behind)
+    // ==========================================
+
+    private List<LineaCheckout> cargar(Long clienteId) {
+        String json = carritoRepository.findByClienteId(clienteId).map(Carrito::getLineas).orElse(null);
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, TIPO_LINEAS);
+        } catch (JsonProcessingException e) {
+            System.err.println("⚠️ Carrito guardado ilegible para el cliente " + clienteId + ", se empieza vacío: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${burgur.carritos.guardado-ms:2000}")
+    public int guardarPendientes() {
+        List<String> claves = new ArrayList<>(pendientes);
+        int guardados = 0;
+        for (int i = 0; i < claves.size(); i += LOTE_GUARDADO) {
+            guardados += guardarLote(claves.subList(i, Math.min(i + LOTE_GUARDADO, claves.size())));
+        }
+        return guardados;
+    }
+
+    // Una consulta para los carritos existentes del lote y un saveAll (lote JDBC) para todos
+    private int guardarLote(List<String> claves) {
+        Map<Long, Foto> fotos = new HashMap<>();
+        for (String clave : claves) {
+            pendientes.remove(clave);
+            Abierto carrito = carritos.get(clave);
+            if (carrito == null) {
+                continue;
+            }
+            synchronized (carrito) {
+                if (!carrito.descartado && carrito.version != carrito.versionGuardada) {
+                    fotos.put(carrito.clienteId, new Foto(clave, carrito, carrito.version, escribir(carrito.lineas)));
+                }
+            }
+        }
+        if (fotos.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, Carrito> existentes = new HashMap<>();
+                for (Carrito carrito : carritoRepository.findByClienteIdIn(fotos.keySet())) {
+                    existentes.put(carrito.getCliente().getId(), carrito);
+                }
+                Date ahora = new Date();
+                List<Carrito> aGuardar = new ArrayList<>(fotos.size());
+                fotos.forEach((clienteId, foto) -> {
+                    Carrito carrito = existentes.computeIfAbsent(clienteId,
+                        id -> new Carrito(clienteRepository.getReferenceById(id)));
+                    carrito.setLineas(foto.json());
+                    carrito.setFechaActualizacion(ahora);
+                    aGuardar.add(carrito);
+                });
+                carritoRepository.saveAll(aGuardar);
+            });
+        } catch (Exception e) {
+            System.err.println("❌ Error al guardar carritos, se reintenta en el próximo ciclo: " + e.getMessage());
+            fotos.values().forEach(foto -> pendientes.add(foto.clave()));
+            return 0;
+        }
+
+        for (Foto foto : fotos.values()) {
+            synchronized (foto.carrito()) {
+                foto.carrito().versionGuardada = Math.max(foto.carrito().versionGuardada, foto.version());
+            }
+        }
+        return fotos.size();
+    }
+
+    private String escribir(List<LineaCheckout> lineas) {
+        try {
+            return objectMapper.writeValueAsString(lineas);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el carrito", e);
+        }
+    }
+
+    // ==========================================
+    // MANTENIMIENTO
+    // ==========================================
+
+    @Override
+    @Scheduled(fixedDelayString = "${burgur.carritos.limpieza-ms:60000}")
+    public int descartarInactivos() {
+        long limite = System.currentTimeMillis() - inactivoMs;
+        Set<String> descartados = new HashSet<>();
+        carritos.forEach((clave, carrito) -> {
+            if (carrito.ultimoUso >= limite) {
+                return;
+            }
+            synchronized (carrito) {
+                // Un carrito de cliente con cambios sin guardar espera al próximo guardado
+                boolean sinGuardar = carrito.clienteId != null && carrito.version != carrito.versionGuardada;
+                if (carrito.descartado || carrito.ultimoUso >= limite || sinGuardar) {
+                    return;
+                }
+                carrito.descartado = true;
+            }
+            carritos.remove(clave, carrito);
+            descartados.add(clave);
+        });
+        if (!descartados.isEmpty()) {
+            System.out.println("🛒 Carritos inactivos descartados de memoria: " + descartados.size());
+        }
+        return descartados.size();
+    }
+
+    // Al apagar se escribe lo pendiente: el guardado diferido no pierde cambios en un reinicio ordenado
+    @PreDestroy
+    public void guardarAlCerrar() {
+        int guardados = guardarPendientes();
+        if (guardados > 0) {
+            System.out.println("🛒 Carritos guardados al cerrar: " + guardados);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package restaurante.example.burgur.Service;
+
+import java.util.List;
+
+import restaurante.example.burgur.Model.AdicionalResumen;
+
+// Carrito con los precios del catálogo actual. Una línea cuyo producto o adicional dejó de estar
+// disponible se muestra con disponible=false y no suma al total (el checkout la rechazaría).
+public record CarritoVista(List<Item> items, int unidades, double total) {
+
+    public record Item(Long productoId, String nombre, String imagen, int cantidad, double precioBase,
+                       List<AdicionalResumen> adicionales, double precioUnitario, double subtotal,
+                       boolean disponible) {
+    }
+}
@@ -0,0 +1,248 @@
+package restaurante.example.burgur.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.AdicionalResumen;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Repository.AdicionalRepository;
+import restaurante.example.burgur.Repository.AdicionalesPermiXProductoRepository;
+import restaurante.example.burgur.Repository.ProductoRepository;
+
+// Mantiene la foto vigente del catálogo en memoria.
+// Las lecturas solo leen una referencia atómica; los cambios (ya confirmados en BD)
+// construyen una foto nueva y la publican con un swap atómico.
+@Component
+public class CatalogoCache {
+
+    // Locks por franja de IDs para los cambios de un solo producto o adicional
+    private static final int FRANJAS = 64;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private AdicionalesPermiXProductoRepository adicionalesPermiXProductoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Transacción propia de la recarga: productos y vínculos se leen de la misma foto de la BD
+    private TransactionTemplate lecturaCompleta;
+
+    // Transacción de un cambio puntual; se abre ya con los locks tomados, para no ocupar una
+    // conexión del pool mientras se espera a una recarga
+    private TransactionTemplate lecturaPuntual;
+
+    private final AtomicReference<CatalogoSnapshot> actual = new AtomicReference<>();
+
+    // La versión vuelve a 1 en cada arranque; el instante de arranque en el ETag evita
+    // que un navegador reciba 304 con datos de una ejecución anterior
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+
+    // Recarga completa (escritura) contra cambios puntuales (lectura). Un cambio confirmado mientras
+    // se recarga espera a que se publique la foto nueva y se aplica encima, así nunca se pierde ni se
+    // reintenta la recarga. Locks y no synchronized porque adentro se espera a la BD.
+    private final ReentrantReadWriteLock recarga = new ReentrantReadWriteLock();
+
+    // Cambios del mismo producto (o adicional) se aplican de a uno: quien toma el lock lee la BD después
+    // que el anterior, así una lectura vieja nunca pisa una más nueva (ni revive un producto borrado)
+    private final ReentrantLock[] porProducto = franjas();
+    private final ReentrantLock[] porAdicional = franjas();
+
+    @PostConstruct
+    void configurar() {
+        lecturaCompleta = new TransactionTemplate(transactionManager);
+        lecturaCompleta.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        lecturaCompleta.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        lecturaCompleta.setReadOnly(true);
+
+        lecturaPuntual = new TransactionTemplate(transactionManager);
+        lecturaPuntual.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        lecturaPuntual.setReadOnly(true);
+    }
+
+    // ==========================================
+    // LECTURA
+    // ==========================================
+
+    public CatalogoSnapshot snapshot() {
+        CatalogoSnapshot snapshot = actual.get();
+        return snapshot != null ? snapshot : cargarSiFalta();
+    }
+
+    // ETag fuerte de las respuestas que solo dependen del catálogo (productos, adicionales y vínculos)
+    public String etag() {
+        return "\"cat-" + arranque + "-" + snapshot().getVersion() + "\"";
+    }
+
+    // Foto vigente sin forzar la carga; null si todavía no se ha cargado
+    public CatalogoSnapshot snapshotSiCargado() {
+        return actual.get();
+    }
+
+    // ==========================================
+    // ACTUALIZACIÓN
+    // ==========================================
+
+    // Recarga completa desde la BD (cambios que afectan a todo el catálogo)
+    public CatalogoSnapshot recargar() {
+        recarga.writeLock().lock();
+        try {
+            return leerYPublicar();
+        } finally {
+            recarga.writeLock().unlock();
+        }
+    }
+
+    // Primera lectura: con varias a la vez solo una va a la BD y las demás usan lo que cargó
+    private CatalogoSnapshot cargarSiFalta() {
+        recarga.writeLock().lock();
+        try {
+            CatalogoSnapshot cargado = actual.get();
+            return cargado != null ? cargado : leerYPublicar();
+        } finally {
+            recarga.writeLock().unlock();
+        }
+    }
+
+    // Se llama con el lock de escritura: ningún cambio puntual se aplica mientras tanto
+    private CatalogoSnapshot leerYPublicar() {
+        CatalogoSnapshot previo = actual.get();
+        long version = previo != null ? previo.getVersion() + 1 : 1;
+        CatalogoSnapshot nuevo = lecturaCompleta.execute(estado -> CatalogoSnapshot.de(version,
+            productoRepository.findAllConIngredientes(), cargarAdicionalesPermitidos()));
+        actual.set(nuevo);
+        return nuevo;
+    }
+
+    // Se ejecuta después del commit, para no publicar cambios que luego se revierten
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogoCambiado(CatalogoCambiadoEvent evento) {
+        if (evento.esCompleto()) {
+            // Con el lock tomado: si había una primera carga en curso, pudo leer antes de este commit
+            recarga.writeLock().lock();
+            try {
+                if (actual.get() != null) leerYPublicar();
+            } finally {
+                recarga.writeLock().unlock();
+            }
+            return;
+        }
+
+        Lock lectura = recarga.readLock();
+        lectura.lock();
+        try {
+            if (actual.get() == null) {
+                return; // Aún no se ha cargado: la primera lectura traerá los datos al día
+            }
+            ReentrantLock lock = evento.productoId() != null
+                ? franja(porProducto, evento.productoId())
+                : franja(porAdicional, evento.adicionalId());
+            lock.lock();
+            try {
+                lecturaPuntual.executeWithoutResult(estado -> aplicarCambio(evento));
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            lectura.unlock();
+        }
+    }
+
+    // Stock ya escrito en BD por la descarga de reservas: se actualiza en la foto sin subir la versión.
+    // Llamar después del commit. Con el lock de cada producto, para no pisar un cambio que lo lea después
+    public void actualizarStock(Map<Long, Integer> stockPorProducto) {
+        Lock lectura = recarga.readLock();
+        lectura.lock();
+        try {
+            if (actual.get() == null) return;
+            stockPorProducto.forEach((id, stock) -> {
+                ReentrantLock lock = franja(porProducto, id);
+                lock.lock();
+                try {
+                    actual.updateAndGet(s -> s.conStock(Map.of(id, stock)));
+                } finally {
+                    lock.unlock();
+                }
+            });
+        } finally {
+            lectura.unlock();
+        }
+    }
+
+    private void aplicarCambio(CatalogoCambiadoEvent evento) {
+        if (evento.productoId() != null) {
+            Optional<Producto> producto = productoRepository.findConIngredientesById(evento.productoId());
+            if (producto.isEmpty()) {
+                actual.updateAndGet(s -> s.sinProducto(evento.productoId()));
+                return;
+            }
+            // Vínculos del producto y, si alguno es de un adicional aún no cargado, ese adicional
+            List<Long> adicionalIds = new ArrayList<>();
+            for (Object[] par : adicionalesPermiXProductoRepository.findParesByProductoIdIn(List.of(evento.productoId()))) {
+                adicionalIds.add((Long) par[1]);
+            }
+            CatalogoSnapshot vigente = actual.get();
+            List<Long> faltantes = adicionalIds.stream().filter(id -> !vigente.conoceAdicional(id)).toList();
+            List<AdicionalResumen> nuevos = faltantes.isEmpty() ? List.of()
+                : adicionalRepository.findConCategoriasByIdIn(faltantes).stream().map(AdicionalResumen::de).toList();
+            actual.updateAndGet(s -> s.conProducto(producto.get(), adicionalIds, nuevos));
+        } else {
+            AdicionalResumen adicional = adicionalRepository.findConCategoriasById(evento.adicionalId())
+                .map(AdicionalResumen::de)
+                .orElse(null);
+            Set<Long> productoIds = adicional == null ? Set.of()
+                : new HashSet<>(adicionalesPermiXProductoRepository.findProductoIdsByAdicionalId(evento.adicionalId()));
+            actual.updateAndGet(s -> s.conAdicional(evento.adicionalId(), adicional, productoIds));
+        }
+    }
+
+    private static ReentrantLock[] franjas() {
+        ReentrantLock[] locks = new ReentrantLock[FRANJAS];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private static ReentrantLock franja(ReentrantLock[] locks, Long id) {
+        return locks[Math.floorMod(id.hashCode(), locks.length)];
+    }
+
+    // Todos los vínculos producto -> adicional y los adicionales que aparecen en ellos
+    private AdicionalesPermitidos cargarAdicionalesPermitidos() {
+        List<Object[]> pares = adicionalesPermiXProductoRepository.findTodosLosPares();
+        Set<Long> adicionalIds = new HashSet<>();
+        for (Object[] par : pares) {
+            adicionalIds.add((Long) par[1]);
+        }
+        List<AdicionalResumen> adicionales = new ArrayList<>();
+        if (!adicionalIds.isEmpty()) {
+            for (Adicional a : adicionalRepository.findConCategoriasByIdIn(adicionalIds)) {
+                adicionales.add(AdicionalResumen.de(a));
+            }
+        }
+        return AdicionalesPermitidos.de(pares, adicionales);
+    }
+}
@@ -0,0 +1,22 @@
+package restaurante.example.burgur.Service;
+
+// Evento publicado cuando cambia un Producto o un Adicional del catálogo.
+// Si ambos IDs son nulos, el cambio afecta a todo el catálogo (ej: rebuild de vínculos).
+public record CatalogoCambiadoEvent(Long productoId, Long adicionalId) {
+
+    public static CatalogoCambiadoEvent producto(Long productoId) {
+        return new CatalogoCambiadoEvent(productoId, null);
+    }
+
+    public static CatalogoCambiadoEvent adicional(Long adicionalId) {
+        return new CatalogoCambiadoEvent(null, adicionalId);
+    }
+
+    public static CatalogoCambiadoEvent completo() {
+        return new CatalogoCambiadoEvent(null, null);
+    }
+
+    public boolean esCompleto() {
+        return productoId == null && adicionalId == null;
+    }
+}
@@ -0,0 +1,213 @@
+package restaurante.example.burgur.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import restaurante.example.burgur.Model.AdicionalResumen;
+import restaurante.example.burgur.Model.Producto;
+
+// Foto inmutable y versionada del catálogo de productos.
+// Se construye una sola vez y nunca se modifica: ante un cambio se crea una nueva (copy-on-write),
+// así los lectores concurrentes no necesitan locks ni consultas a la BD.
+// Los productos son copias de solo lectura (sin relaciones JPA), no entidades administradas.
+// Incluye los adicionales permitidos de cada producto, para el modal de detalle.
+public final class CatalogoSnapshot {
+
+    private final long version;
+    private final Map<Long, Producto> porId;
+    private final List<Producto> todos;
+    private final List<Producto> activos;
+    private final Map<String, List<Producto>> activosPorCategoria;
+    private final Map<String, Long> conteoPorCategoria;
+    private final MenuSearchIndex indiceBusqueda;
+    private final AdicionalesPermitidos adicionalesPermitidos;
+
+    private CatalogoSnapshot(long version, TreeMap<Long, Producto> ordenados, Map<String, Long> conteoPorCategoria,
+                             MenuSearchIndex indiceBusqueda, AdicionalesPermitidos adicionalesPermitidos) {
+        this.version = version;
+        this.adicionalesPermitidos = adicionalesPermitidos;
+        this.conteoPorCategoria = Collections.unmodifiableMap(conteoPorCategoria);
+
+        Map<String, List<Producto>> porCategoria = new LinkedHashMap<>();
+        List<Producto> listaActivos = new ArrayList<>();
+        for (Producto p : ordenados.values()) {
+            if (!p.isActivo()) continue;
+            listaActivos.add(p);
+            String categoria = claveCategoria(p.getCategoria());
+            if (categoria != null) {
+                porCategoria.computeIfAbsent(categoria, k -> new ArrayList<>()).add(p);
+            }
+        }
+        porCategoria.replaceAll((k, v) -> Collections.unmodifiableList(v));
+
+        this.porId = Collections.unmodifiableMap(new LinkedHashMap<>(ordenados));
+        this.todos = List.copyOf(ordenados.values());
+        this.activos = Collections.unmodifiableList(listaActivos);
+        this.activosPorCategoria = Collections.unmodifiableMap(porCategoria);
+        this.indiceBusqueda = indiceBusqueda;
+    }
+
+    // ==========================================
+    // CONSTRUCCIÓN
+    // ==========================================
+
+    static CatalogoSnapshot de(long version, Collection<Producto> productos, AdicionalesPermitidos adicionalesPermitidos) {
+        TreeMap<Long, Producto> ordenados = new TreeMap<>();
+        Map<String, Long> conteos = new LinkedHashMap<>();
+        for (Producto p : productos) {
+            if (p != null && p.getId() != null && !ordenados.containsKey(p.getId())) {
+                ordenados.put(p.getId(), copiaDeLectura(p));
+                sumarConteo(conteos, p, 1);
+            }
+        }
+        List<Producto> activos = ordenados.values().stream().filter(Producto::isActivo).toList();
+        return new CatalogoSnapshot(version, ordenados, conteos, MenuSearchIndex.de(activos), adicionalesPermitidos);
+    }
+
+    // Nueva versión con el producto agregado o reemplazado, junto con sus adicionales permitidos
+    // ("nuevos": adicionales que aún no estaban en memoria)
+    public CatalogoSnapshot conProducto(Producto producto, Collection<Long> adicionalIds, Collection<AdicionalResumen> nuevos) {
+        TreeMap<Long, Producto> ordenados = new TreeMap<>(porId);
+        Producto copia = copiaDeLectura(producto);
+        Producto anterior = ordenados.put(producto.getId(), copia);
+        // El índice solo cubre los activos: se aplica el cambio de este producto y nada más
+        MenuSearchIndex indice = copia.isActivo() ? indiceBusqueda.conProducto(copia) : indiceBusqueda.sinProducto(copia.getId());
+        return new CatalogoSnapshot(version + 1, ordenados, conteosAjustados(anterior, producto), indice,
+            adicionalesPermitidos.conProducto(producto.getId(), adicionalIds, nuevos));
+    }
+
+    // Nueva versión sin el producto indicado
+    public CatalogoSnapshot sinProducto(Long productoId) {
+        TreeMap<Long, Producto> ordenados = new TreeMap<>(porId);
+        Producto anterior = ordenados.remove(productoId);
+        return new CatalogoSnapshot(version + 1, ordenados, conteosAjustados(anterior, null), indiceBusqueda.sinProducto(productoId),
+            adicionalesPermitidos.sinProducto(productoId));
+    }
+
+    // Nueva versión con un adicional reemplazado (null = eliminado) y los productos que lo permiten;
+    // los productos no cambian
+    public CatalogoSnapshot conAdicional(Long adicionalId, AdicionalResumen adicional, Set<Long> productoIds) {
+        return new CatalogoSnapshot(version + 1, new TreeMap<>(porId), new LinkedHashMap<>(conteoPorCategoria), indiceBusqueda,
+            adicionalesPermitidos.conAdicional(adicionalId, adicional, productoIds));
+    }
+
+    // Misma versión con el stock de algunos productos al día. El stock no se muestra en el menú
+    // ni en la búsqueda: cambiarlo no invalida el ETag ni los fragmentos cacheados
+    public CatalogoSnapshot conStock(Map<Long, Integer> stockPorProducto) {
+        TreeMap<Long, Producto> ordenados = new TreeMap<>(porId);
+        boolean cambio = false;
+        for (Map.Entry<Long, Integer> e : stockPorProducto.entrySet()) {
+            Producto anterior = ordenados.get(e.getKey());
+            if (anterior == null || Objects.equals(anterior.getStock(), e.getValue())) continue;
+            Producto copia = copiaDeLectura(anterior);
+            copia.setStock(e.getValue());
+            ordenados.put(e.getKey(), copia);
+            cambio = true;
+        }
+        return cambio
+            ? new CatalogoSnapshot(version, ordenados, new LinkedHashMap<>(conteoPorCategoria), indiceBusqueda, adicionalesPermitidos)
+            : this;
+    }
+
+    // Ajuste incremental del conteo: se descuenta la versión anterior y se suma la nueva
+    private Map<String, Long> conteosAjustados(Producto anterior, Producto nuevo) {
+        Map<String, Long> conteos = new LinkedHashMap<>(conteoPorCategoria);
+        sumarConteo(conteos, anterior, -1);
+        sumarConteo(conteos, nuevo, 1);
+        return conteos;
+    }
+
+    // Solo cuentan los productos activos, igual que en el menú
+    private static void sumarConteo(Map<String, Long> conteos, Producto producto, long delta) {
+        if (producto == null || !producto.isActivo()) return;
+        String categoria = claveCategoria(producto.getCategoria());
+        if (categoria == null) return;
+        long total = conteos.getOrDefault(categoria, 0L) + delta;
+        if (total > 0) {
+            conteos.put(categoria, total);
+        } else {
+            conteos.remove(categoria);
+        }
+    }
+
+    private static Producto copiaDeLectura(Producto origen) {
+        Producto copia = new Producto();
+        copia.setId(origen.getId());
+        copia.setNombre(origen.getNombre());
+        copia.setDescripcion(origen.getDescripcion());
+        copia.setPrecio(origen.getPrecio());
+        copia.setCategoria(origen.getCategoria());
+        copia.setImgURL(origen.getImgURL());
+        copia.setStock(origen.getStock());
+        copia.setNuevo(origen.isNuevo());
+        copia.setPopular(origen.isPopular());
+        copia.setActivo(origen.isActivo());
+
+        List<String> ingredientes = new ArrayList<>();
+        if (origen.getIngredientes() != null) {
+            for (String ing : origen.getIngredientes()) {
+                if (ing != null) ingredientes.add(ing);
+            }
+        }
+        copia.setIngredientes(Collections.unmodifiableList(ingredientes));
+        copia.setAdicionales(List.of());
+        copia.setProductosYAdicionales(List.of());
+        return copia;
+    }
+
+    static String claveCategoria(String categoria) {
+        if (categoria == null || categoria.isBlank()) return null;
+        return categoria.trim().toLowerCase();
+    }
+
+    // ==========================================
+    // CONSULTAS (sin BD)
+    // ==========================================
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Producto getProducto(Long id) {
+        return id == null ? null : porId.get(id);
+    }
+
+    public List<Producto> getTodos() {
+        return todos;
+    }
+
+    public List<Producto> getActivos() {
+        return activos;
+    }
+
+    // Cantidad de productos activos por categoría, precalculada
+    public Map<String, Long> getConteoPorCategoria() {
+        return conteoPorCategoria;
+    }
+
+    // Índice de búsqueda sobre los productos activos de esta versión
+    public MenuSearchIndex getIndiceBusqueda() {
+        return indiceBusqueda;
+    }
+
+    public List<Producto> getActivosPorCategoria(String categoria) {
+        String clave = claveCategoria(categoria);
+        return clave == null ? List.of() : activosPorCategoria.getOrDefault(clave, List.of());
+    }
+
+    // Adicionales permitidos de un producto (lista vacía si no tiene)
+    public List<AdicionalResumen> getAdicionalesPermitidos(Long productoId) {
+        return productoId == null ? List.of() : adicionalesPermitidos.para(productoId);
+    }
+
+    boolean conoceAdicional(Long adicionalId) {
+        return adicionalesPermitidos.conoce(adicionalId);
+    }
+}
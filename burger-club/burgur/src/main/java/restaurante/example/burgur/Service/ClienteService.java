@@ -15,12 +15,16 @@ public interface ClienteService {
 
     // Crear ó actualizar Cliente
     Cliente save(Cliente cliente);
+    // Crear varios Clientes nuevos en una sola transacción (cargas masivas)
+    List<Cliente> saveAll(List<Cliente> clientes);
     // Eliminar Cliente
     void eliminarCliente(Long id);
     // Obtener Cliente por ID
     Cliente obtenerClientePorId(Long id);
     // Obtener todos los Clientes
     List<Cliente> obtenerTodosLosClientes();
+    // Listado paginado por cursor (orden: id, nombre, apellido, correo; "-" = descendente)
+    Pagina<Cliente> paginar(String texto, Boolean activo, String orden, String cursor, Integer tamano);
     // Verificar si un Cliente existe por ID
     boolean existeClientePorId(Long id);
     // Inicio de Sesión
@@ -1,19 +1,38 @@
 //burger-club/burgur/src/main/java/restaurante/example/burgur/Service/ClienteServiceImpl.java
 package restaurante.example.burgur.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.criteria.Predicate;
 import restaurante.example.burgur.Model.Cliente;
 import restaurante.example.burgur.Repository.ClienteRepository;
 
 @Service
 public class ClienteServiceImpl implements ClienteService {
 
+    private static final Map<String, Function<String, Object>> ORDENES = Map.of(
+        "id", Long::valueOf,
+        "nombre", valor -> valor,
+        "apellido", valor -> valor,
+        "correo", valor -> valor
+    );
+
     @Autowired
     private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CarritoService carritoService;
+
     // ==========================================
     // MÉTODOS BÁSICOS CRUD
     // ==========================================
@@ -42,6 +61,25 @@ public class ClienteServiceImpl implements ClienteService {
         return clienteRepository.save(cliente);
     }
 
+    // Crear varios Clientes nuevos (INSERT en lotes, una transacción)
+    @Override
+    @Transactional
+    public List<Cliente> saveAll(List<Cliente> clientes) {
+        if (clientes == null || clientes.isEmpty()) return List.of();
+        Set<String> correos = new HashSet<>();
+        for (Cliente cliente : clientes) {
+            if (cliente != null && cliente.getId() != null) {
+                throw new IllegalArgumentException("La carga masiva solo crea clientes nuevos");
+            }
+            validarCliente(cliente);
+            if (!correos.add(cliente.getCorreo().toLowerCase())
+                    || clienteRepository.existsByCorreoIgnoreCase(cliente.getCorreo())) {
+                throw new IllegalArgumentException("Ya existe un cliente con el correo: " + cliente.getCorreo());
+            }
+        }
+        return clienteRepository.saveAll(clientes);
+    }
+
     // Iniciar Sesión
     @Override
     public Cliente iniciarSesion(String email, String password) {
@@ -68,6 +106,8 @@ public class ClienteServiceImpl implements ClienteService {
         if (!clienteRepository.existsById(id)) {
             throw new IllegalArgumentException("No existe el cliente con ID: " + id);
         }
+        // Primero el carrito guardado, que apunta al cliente
+        carritoService.eliminarDeCliente(id);
         clienteRepository.deleteById(id);
     }
 
@@ -87,6 +127,28 @@ public class ClienteServiceImpl implements ClienteService {
         return clienteRepository.findAll();
     }
 
+    // Listado paginado: "texto" busca en nombre, apellido o correo
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<Cliente> paginar(String texto, Boolean activo, String orden, String cursor, Integer tamano) {
+        Specification<Cliente> filtro = (root, query, cb) -> {
+            List<Predicate> condiciones = new ArrayList<>();
+            if (activo != null) {
+                condiciones.add(cb.equal(root.get("activo"), activo));
+            }
+            if (texto != null && !texto.isBlank()) {
+                String patron = "%" + texto.trim().toLowerCase() + "%";
+                condiciones.add(cb.or(
+                    cb.like(cb.lower(root.<String>get("nombre")), patron),
+                    cb.like(cb.lower(root.<String>get("apellido")), patron),
+                    cb.like(cb.lower(root.<String>get("correo")), patron)
+                ));
+            }
+            return cb.and(condiciones.toArray(new Predicate[0]));
+        };
+        return Paginacion.paginar(clienteRepository, filtro, Paginacion.orden(orden, ORDENES), cursor, tamano);
+    }
+
     // Verificar si un Cliente existe por ID
     @Override
     public boolean existeClientePorId(Long id) {
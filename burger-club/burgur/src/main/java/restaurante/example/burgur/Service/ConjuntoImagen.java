@@ -0,0 +1,6 @@
+package restaurante.example.burgur.Service;
+
+// URLs listas para <img src srcset>: src es la variante intermedia (navegadores sin srcset)
+// y srcset enumera todas las anchuras disponibles ("url 320w, url 640w, ...")
+public record ConjuntoImagen(String src, String srcset) {
+}
@@ -0,0 +1,29 @@
+package restaurante.example.burgur.Service;
+
+import java.time.Instant;
+
+// Foto inmutable de las estadísticas del panel de administración.
+// Todos los contadores se calculan en la BD con COUNT/SUM/AVG, nunca cargando tablas completas.
+// parcial: algún grupo de contadores no llegó a tiempo y conserva el valor de la foto anterior.
+public record DashboardStats(
+        long totalProductos,
+        long productosNuevos,
+        long productosActivos,
+        long stockBajo,
+        long stockTotal,
+        double stockPromedio,
+        long totalClientes,
+        long clientesActivos,
+        long totalAdicionales,
+        long adicionalesActivos,
+        long totalDomiciliarios,
+        long domiciliariosDisponibles,
+        Instant calculadoEn,
+        long duracionMs,
+        boolean parcial) {
+
+    // Una foto parcial se da por vencida para que el siguiente pedido la complete
+    public boolean estaVencida(long ttlMs) {
+        return parcial || calculadoEn.plusMillis(ttlMs).isBefore(Instant.now());
+    }
+}
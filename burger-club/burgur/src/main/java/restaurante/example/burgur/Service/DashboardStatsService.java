@@ -0,0 +1,13 @@
+package restaurante.example.burgur.Service;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface DashboardStatsService {
+
+    // Estadísticas vigentes; si están vencidas se devuelven igual y se refrescan en segundo plano
+    DashboardStats obtenerEstadisticas();
+
+    // Recalcular ya mismo las estadísticas (consultas de agregación en la BD)
+    DashboardStats refrescar();
+}
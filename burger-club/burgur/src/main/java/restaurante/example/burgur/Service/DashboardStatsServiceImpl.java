@@ -0,0 +1,156 @@
+package restaurante.example.burgur.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import restaurante.example.burgur.Repository.AdicionalRepository;
+import restaurante.example.burgur.Repository.ClienteRepository;
+import restaurante.example.burgur.Repository.DomiciliarioRepository;
+import restaurante.example.burgur.Repository.ProductoRepository;
+
+@Service
+public class DashboardStatsServiceImpl implements DashboardStatsService {
+
+    // Mismo umbral que Producto.isStockBajo()
+    private static final int LIMITE_STOCK_BAJO = 10;
+
+    // Plazo de cada grupo de contadores al refrescar
+    private static final Duration PLAZO_GRUPO = Duration.ofSeconds(3);
+
+    private record CifrasProductos(long total, long nuevos, long activos, long stockBajo, long stockTotal,
+                                   double stockPromedio) {
+    }
+
+    private record Cifras(long total, long activos) {
+    }
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private DomiciliarioRepository domiciliarioRepository;
+
+    // Con @EnableScheduling también existe taskScheduler (otro TaskExecutor): se pide el de la aplicación
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${burgur.dashboard.stats.ttl-ms:15000}")
+    private long ttlMs;
+
+    private final AtomicReference<DashboardStats> actual = new AtomicReference<>();
+    private final AtomicBoolean refrescando = new AtomicBoolean(false);
+
+    // ==========================================
+    // LECTURA
+    // ==========================================
+
+    @Override
+    public DashboardStats obtenerEstadisticas() {
+        DashboardStats stats = actual.get();
+        if (stats == null) {
+            return refrescar();
+        }
+        if (stats.estaVencida(ttlMs) && refrescando.compareAndSet(false, true)) {
+            // Se sirve la foto vencida y solo un hilo la recalcula en segundo plano
+            taskExecutor.execute(() -> {
+                try {
+                    refrescar();
+                } catch (Exception e) {
+                    System.err.println("Error al refrescar estadísticas del dashboard: " + e.getMessage());
+                } finally {
+                    refrescando.set(false);
+                }
+            });
+        }
+        return stats;
+    }
+
+    // ==========================================
+    // CÁLCULO
+    // ==========================================
+
+    // Los cuatro grupos son independientes: se consultan en paralelo (cada repositorio abre su
+    // transacción de solo lectura) y el refresco tarda lo que el grupo más lento, no la suma.
+    // Un grupo que falla o se pasa del plazo conserva los valores de la foto anterior.
+    @Override
+    public DashboardStats refrescar() {
+        long inicio = System.nanoTime();
+        DashboardStats previa = actual.get();
+
+        DashboardStats stats;
+        try (Abanico abanico = new Abanico()) {
+            Abanico.Rama<CifrasProductos> productos = abanico.rama("productos", PLAZO_GRUPO, this::cifrasProductos,
+                previa == null ? new CifrasProductos(0, 0, 0, 0, 0, 0) : new CifrasProductos(previa.totalProductos(),
+                    previa.productosNuevos(), previa.productosActivos(), previa.stockBajo(), previa.stockTotal(),
+                    previa.stockPromedio()));
+            Abanico.Rama<Cifras> clientes = abanico.rama("clientes", PLAZO_GRUPO,
+                () -> new Cifras(clienteRepository.count(), clienteRepository.countByActivoTrue()),
+                previa == null ? new Cifras(0, 0) : new Cifras(previa.totalClientes(), previa.clientesActivos()));
+            Abanico.Rama<Cifras> adicionales = abanico.rama("adicionales", PLAZO_GRUPO,
+                () -> new Cifras(adicionalRepository.count(), adicionalRepository.countByActivoTrue()),
+                previa == null ? new Cifras(0, 0) : new Cifras(previa.totalAdicionales(), previa.adicionalesActivos()));
+            Abanico.Rama<Cifras> domiciliarios = abanico.rama("domiciliarios", PLAZO_GRUPO,
+                () -> new Cifras(domiciliarioRepository.count(), domiciliarioRepository.countByDisponibleTrue()),
+                previa == null ? new Cifras(0, 0)
+                    : new Cifras(previa.totalDomiciliarios(), previa.domiciliariosDisponibles()));
+            abanico.unir();
+
+            CifrasProductos p = productos.valor();
+            stats = new DashboardStats(
+                p.total(), p.nuevos(), p.activos(), p.stockBajo(), p.stockTotal(), p.stockPromedio(),
+                clientes.valor().total(), clientes.valor().activos(),
+                adicionales.valor().total(), adicionales.valor().activos(),
+                domiciliarios.valor().total(), domiciliarios.valor().activos(),
+                Instant.now(),
+                (System.nanoTime() - inicio) / 1_000_000,
+                !abanico.completo());
+        }
+
+        actual.set(stats);
+        if (stats.duracionMs() > 500) {
+            System.out.println("⚠️ Refresco de estadísticas del dashboard lento: " + stats.duracionMs() + " ms");
+        }
+        return stats;
+    }
+
+    private CifrasProductos cifrasProductos() {
+        Object[] stock = filaUnica(productoRepository.getStockStats());
+        return new CifrasProductos(
+            productoRepository.count(),
+            productoRepository.countByNuevoTrue(),
+            productoRepository.countByActivoTrue(),
+            productoRepository.countByStockLessThan(LIMITE_STOCK_BAJO),
+            numero(stock, 0).longValue(),
+            numero(stock, 1).doubleValue());
+    }
+
+    // Una consulta de agregación con varias columnas puede llegar envuelta en otro arreglo
+    private Object[] filaUnica(Object[] resultado) {
+        if (resultado != null && resultado.length == 1 && resultado[0] instanceof Object[] fila) {
+            return fila;
+        }
+        return resultado != null ? resultado : new Object[0];
+    }
+
+    private Number numero(Object[] fila, int indice) {
+        if (indice < fila.length && fila[indice] instanceof Number n) {
+            return n;
+        }
+        return 0;
+    }
+}
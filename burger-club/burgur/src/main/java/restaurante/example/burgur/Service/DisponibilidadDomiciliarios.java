@@ -0,0 +1,125 @@
+package restaurante.example.burgur.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import restaurante.example.burgur.Repository.DomiciliarioRepository;
+
+// Índice en memoria de los domiciliarios libres (IDs en un conjunto concurrente sin locks).
+// Sirve para elegir candidato sin recorrer la tabla; la BD sigue siendo la fuente de verdad:
+// quien toma un ID del índice debe confirmarlo con un UPDATE condicional (ocuparSiDisponible).
+// Si el índice quedó desfasado, ese UPDATE devuelve 0 y se prueba con el siguiente.
+@Component
+public class DisponibilidadDomiciliarios {
+
+    @Autowired
+    private DomiciliarioRepository domiciliarioRepository;
+
+    private final ConcurrentSkipListSet<Long> libres = new ConcurrentSkipListSet<>();
+    private final MeterRegistry registry;
+    private final Counter desfasados;
+
+    public DisponibilidadDomiciliarios(MeterRegistry registry) {
+        this.registry = registry;
+        registry.gauge("burgur.domiciliarios.disponibles", libres, Set::size);
+        this.desfasados = Counter.builder("burgur.domiciliarios.indice.desfasados")
+            .description("IDs del índice que la BD ya tenía ocupados al intentar asignarlos")
+            .register(registry);
+    }
+
+    // ==========================================
+    // CARGA Y RESINCRONIZACIÓN
+    // ==========================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        resincronizar();
+        System.out.println("🛵 Índice de domiciliarios: " + libres.size() + " disponibles");
+    }
+
+    // Corrige cambios hechos por fuera de la aplicación (u otra instancia). Si re-agrega un ID que
+    // otra transacción está ocupando, el UPDATE condicional de esa asignación lo descarta.
+    @Scheduled(fixedDelayString = "${burgur.domiciliarios.resincronizar-ms:30000}",
+               initialDelayString = "${burgur.domiciliarios.resincronizar-ms:30000}")
+    public void resincronizar() {
+        Set<Long> enBd = new HashSet<>(domiciliarioRepository.findIdsDisponibles());
+        libres.retainAll(enBd);
+        libres.addAll(enBd);
+    }
+
+    // ==========================================
+    // OPERACIONES
+    // ==========================================
+
+    // Saca del índice el siguiente libre (el de menor ID), o null si no hay.
+    // Dentro de una transacción, si esta se revierte el ID vuelve solo al índice.
+    public Long tomar() {
+        Long id = libres.pollFirst();
+        if (id != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        libres.add(id);
+                    }
+                }
+            });
+        }
+        return id;
+    }
+
+    // Un ID tomado ya no estaba libre en la BD (queda fuera del índice)
+    public void contarDesfasado() {
+        desfasados.increment();
+    }
+
+    // Alta, baja o cambio de disponibilidad; se aplica después del commit si hay transacción
+    public void actualizar(Long id, boolean disponible) {
+        despuesDelCommit(() -> {
+            if (disponible) {
+                libres.add(id);
+            } else {
+                libres.remove(id);
+            }
+        });
+    }
+
+    public int cantidadDisponibles() {
+        return libres.size();
+    }
+
+    // resultado: asignado, sin_disponibles, pedido_ya_asignado
+    public void registrarAsignacion(String resultado, long nanos) {
+        Timer.builder("burgur.domiciliarios.asignacion")
+            .description("Tiempo para tomar un domiciliario y asignarlo a un pedido")
+            .tag("resultado", resultado)
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void despuesDelCommit(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+}
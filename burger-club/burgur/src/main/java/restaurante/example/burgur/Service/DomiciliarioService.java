@@ -15,6 +15,9 @@ public interface DomiciliarioService {
 
     // Crear o actualizar Domiciliario
     Domiciliario save(Domiciliario domiciliario);
+
+    // Crear o actualizar varios Domiciliarios en una sola transacción
+    List<Domiciliario> saveAll(List<Domiciliario> domiciliarios);
     
     // Eliminar Domiciliario
     void eliminarDomiciliario(Long id);
@@ -27,6 +30,12 @@ public interface DomiciliarioService {
     
     // Obtener Domiciliarios disponibles
     List<Domiciliario> obtenerDomiciliariosDisponibles();
+
+    // Dejar libre a un domiciliario (terminó su entrega); false si ya estaba libre
+    boolean liberarDomiciliario(Long id);
+
+    // Listado paginado por cursor (orden: id, nombre; "-" = descendente)
+    Pagina<Domiciliario> paginar(Boolean disponible, String orden, String cursor, Integer tamano);
     
     // Verificar si un Domiciliario existe por ID
     boolean existeDomiciliarioPorId(Long id);
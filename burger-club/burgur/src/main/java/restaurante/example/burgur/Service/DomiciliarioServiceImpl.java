@@ -1,10 +1,14 @@
 package restaurante.example.burgur.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import restaurante.example.burgur.Model.Domiciliario;
 import restaurante.example.burgur.Repository.DomiciliarioRepository;
@@ -12,8 +16,16 @@ import restaurante.example.burgur.Repository.DomiciliarioRepository;
 @Service
 public class DomiciliarioServiceImpl implements DomiciliarioService {
 
+    private static final Map<String, Function<String, Object>> ORDENES = Map.of(
+        "id", Long::valueOf,
+        "nombre", valor -> valor
+    );
+
     @Autowired
     private DomiciliarioRepository domiciliarioRepository;
+
+    @Autowired
+    private DisponibilidadDomiciliarios disponibilidad;
     
     // ==========================================
     // MÉTODOS BÁSICOS CRUD
@@ -25,7 +37,18 @@ public class DomiciliarioServiceImpl implements DomiciliarioService {
         validarDomiciliario(domiciliario);
         
         // Guardar en la base de datos
-        return domiciliarioRepository.save(domiciliario);
+        Domiciliario guardado = domiciliarioRepository.save(domiciliario);
+        disponibilidad.actualizar(guardado.getId(), guardado.isDisponible());
+        return guardado;
+    }
+    
+    @Override
+    public List<Domiciliario> saveAll(List<Domiciliario> domiciliarios) {
+        if (domiciliarios == null || domiciliarios.isEmpty()) return List.of();
+        domiciliarios.forEach(this::validarDomiciliario);
+        List<Domiciliario> guardados = domiciliarioRepository.saveAll(domiciliarios);
+        guardados.forEach(d -> disponibilidad.actualizar(d.getId(), d.isDisponible()));
+        return guardados;
     }
     
     @Override
@@ -39,6 +62,7 @@ public class DomiciliarioServiceImpl implements DomiciliarioService {
         }
         
         domiciliarioRepository.deleteById(id);
+        disponibilidad.actualizar(id, false);
     }
     
     @Override
@@ -56,11 +80,29 @@ public class DomiciliarioServiceImpl implements DomiciliarioService {
     
     @Override
     public List<Domiciliario> obtenerDomiciliariosDisponibles() {
-        return domiciliarioRepository.findAll().stream()
-                .filter(Domiciliario::isDisponible)
-                .toList();
+        return domiciliarioRepository.findByDisponibleTrue();
+    }
+
+    @Override
+    @Transactional
+    public boolean liberarDomiciliario(Long id) {
+        if (id == null || !domiciliarioRepository.existsById(id)) {
+            throw new IllegalArgumentException("No existe un domiciliario con el ID: " + id);
+        }
+        if (domiciliarioRepository.liberarSiOcupado(id) == 0) {
+            return false;
+        }
+        disponibilidad.actualizar(id, true);
+        return true;
     }
     
+    @Override
+    public Pagina<Domiciliario> paginar(Boolean disponible, String orden, String cursor, Integer tamano) {
+        Specification<Domiciliario> filtro = (root, query, cb) ->
+            disponible == null ? cb.conjunction() : cb.equal(root.get("disponible"), disponible);
+        return Paginacion.paginar(domiciliarioRepository, filtro, Paginacion.orden(orden, ORDENES), cursor, tamano);
+    }
+
     @Override
     public boolean existeDomiciliarioPorId(Long id) {
         return id != null && domiciliarioRepository.existsById(id);
@@ -0,0 +1,18 @@
+package restaurante.example.burgur.Service;
+
+// De quién es un carrito: el cliente con sesión iniciada o, si no hay, la sesión HTTP anónima.
+// Solo los carritos de clientes se guardan en BD; los anónimos viven en memoria hasta el login.
+public record DuenoCarrito(Long clienteId, String sesionId) {
+
+    public static DuenoCarrito cliente(Long clienteId) {
+        return new DuenoCarrito(clienteId, null);
+    }
+
+    public boolean esCliente() {
+        return clienteId != null;
+    }
+
+    String clave() {
+        return esCliente() ? "c:" + clienteId : "s:" + sesionId;
+    }
+}
@@ -0,0 +1,120 @@
+package restaurante.example.burgur.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+// Escribe filas una a una en NDJSON o CSV sin armar la colección completa en memoria.
+// Cada cierto número de filas hace flush para que el cliente reciba datos mientras se lee la BD.
+final class EscritorFilas {
+
+    private static final int FILAS_POR_FLUSH = 500;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final FormatoExportacion formato;
+    private final String[] columnas;
+    private final Writer writer;
+    private final JsonGenerator json;
+    private long filas;
+
+    EscritorFilas(FormatoExportacion formato, OutputStream salida, String... columnas) throws IOException {
+        this.formato = formato;
+        this.columnas = columnas;
+        this.writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        if (formato == FormatoExportacion.NDJSON) {
+            // El generador no debe cerrar la respuesta: de eso se encarga el contenedor
+            this.json = JSON.createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } else {
+            this.json = null;
+            escribirCsv((Object[]) columnas);
+        }
+    }
+
+    void fila(Object... valores) throws IOException {
+        if (valores.length != columnas.length) {
+            throw new IllegalArgumentException("Se esperaban " + columnas.length + " valores y llegaron " + valores.length);
+        }
+        if (formato == FormatoExportacion.NDJSON) {
+            escribirJson(valores);
+        } else {
+            escribirCsv(valores);
+        }
+        // La primera fila sale enseguida; después, por bloques
+        if (++filas == 1 || filas % FILAS_POR_FLUSH == 0) {
+            flush();
+        }
+    }
+
+    long terminar() throws IOException {
+        flush();
+        return filas;
+    }
+
+    // ==========================================
+    // FORMATOS
+    // ==========================================
+
+    private void escribirJson(Object[] valores) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < columnas.length; i++) {
+            json.writeFieldName(columnas[i]);
+            Object valor = valores[i];
+            if (valor == null) {
+                json.writeNull();
+            } else if (valor instanceof Boolean b) {
+                json.writeBoolean(b);
+            } else if (valor instanceof Long l) {
+                json.writeNumber(l);
+            } else if (valor instanceof Integer n) {
+                json.writeNumber(n);
+            } else if (valor instanceof Double d) {
+                json.writeNumber(d);
+            } else if (valor instanceof Float f) {
+                json.writeNumber(f);
+            } else {
+                json.writeString(texto(valor));
+            }
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void escribirCsv(Object... valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (valores[i] != null) {
+                writer.write(escaparCsv(texto(valores[i])));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    private static String texto(Object valor) {
+        // getTime y no toInstant: java.sql.Date (subclase de Date) no soporta toInstant
+        return valor instanceof Date fecha ? Instant.ofEpochMilli(fecha.getTime()).toString() : String.valueOf(valor);
+    }
+
+    private void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,22 @@
+package restaurante.example.burgur.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface ExportacionService {
+    // ==========================================
+    // EXPORTACIONES MASIVAS (devuelven el número de filas escritas)
+    // ==========================================
+
+    // Clientes sin contraseña
+    long exportarClientes(FormatoExportacion formato, OutputStream salida) throws IOException;
+
+    // Productos (sin ingredientes: son una colección aparte por producto)
+    long exportarProductos(FormatoExportacion formato, OutputStream salida) throws IOException;
+
+    // Pedidos con los IDs de cliente y domiciliario
+    long exportarPedidos(FormatoExportacion formato, OutputStream salida) throws IOException;
+}
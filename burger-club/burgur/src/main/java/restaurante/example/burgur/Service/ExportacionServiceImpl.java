@@ -0,0 +1,86 @@
+package restaurante.example.burgur.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import restaurante.example.burgur.Model.Cliente;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Repository.ClienteRepository;
+import restaurante.example.burgur.Repository.PedidoRepository;
+import restaurante.example.burgur.Repository.ProductoRepository;
+
+@Service
+public class ExportacionServiceImpl implements ExportacionService {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // ==========================================
+    // EXPORTACIONES
+    // ==========================================
+
+    // La transacción mantiene abierto el cursor JDBC mientras se escribe la respuesta;
+    // cada entidad se separa del contexto apenas se escribe para que el heap no crezca con la tabla
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarClientes(FormatoExportacion formato, OutputStream salida) throws IOException {
+        EscritorFilas escritor = new EscritorFilas(formato, salida,
+            "id", "nombre", "apellido", "correo", "telefono", "direccion", "activo");
+        try (Stream<Cliente> clientes = clienteRepository.streamTodos()) {
+            for (Iterator<Cliente> it = clientes.iterator(); it.hasNext(); ) {
+                Cliente c = it.next();
+                escritor.fila(c.getId(), c.getNombre(), c.getApellido(), c.getCorreo(),
+                    c.getTelefono(), c.getDireccion(), c.isActivo());
+                entityManager.detach(c);
+            }
+        }
+        return escritor.terminar();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarProductos(FormatoExportacion formato, OutputStream salida) throws IOException {
+        EscritorFilas escritor = new EscritorFilas(formato, salida,
+            "id", "nombre", "descripcion", "categoria", "precio", "stock", "activo", "nuevo", "popular", "imgURL");
+        try (Stream<Producto> productos = productoRepository.streamTodos()) {
+            for (Iterator<Producto> it = productos.iterator(); it.hasNext(); ) {
+                Producto p = it.next();
+                escritor.fila(p.getId(), p.getNombre(), p.getDescripcion(), p.getCategoria(), p.getPrecio(),
+                    p.getStock(), p.isActivo(), p.isNuevo(), p.isPopular(), p.getImgURL());
+                entityManager.detach(p);
+            }
+        }
+        return escritor.terminar();
+    }
+
+    // Proyección de columnas: no hay entidades que separar del contexto
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarPedidos(FormatoExportacion formato, OutputStream salida) throws IOException {
+        EscritorFilas escritor = new EscritorFilas(formato, salida,
+            "id", "fechaCreacion", "fechaEntrega", "estado", "precioTotal", "direccionEntrega", "clienteId", "domiciliarioId");
+        try (Stream<Object[]> filas = pedidoRepository.streamFilasExportacion()) {
+            for (Iterator<Object[]> it = filas.iterator(); it.hasNext(); ) {
+                escritor.fila(it.next());
+            }
+        }
+        return escritor.terminar();
+    }
+}
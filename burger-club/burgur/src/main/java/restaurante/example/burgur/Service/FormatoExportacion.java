@@ -0,0 +1,35 @@
+package restaurante.example.burgur.Service;
+
+// Formatos de las exportaciones masivas (una fila por línea en ambos casos)
+public enum FormatoExportacion {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    FormatoExportacion(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static FormatoExportacion de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return NDJSON;
+        }
+        for (FormatoExportacion formato : values()) {
+            if (formato.extension.equalsIgnoreCase(valor.trim())) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato no soportado: " + valor + " (ndjson o csv)");
+    }
+}
@@ -0,0 +1,27 @@
+package restaurante.example.burgur.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import restaurante.example.burgur.Model.Producto;
+
+@Service
+public interface ImagenService {
+    // ==========================================
+    // VERSIONES REDUCIDAS DE LAS IMÁGENES DEL MENÚ
+    // ==========================================
+
+    // Conjunto srcset para una imagen del menú; null si la URL es externa o no hay un original conocido
+    ConjuntoImagen conjunto(String imgURL);
+
+    // Conjuntos por id de producto (solo los productos con derivadas)
+    Map<Long, ConjuntoImagen> conjuntosPara(Collection<Producto> productos);
+
+    // Archivo en disco de una derivada, generado la primera vez que se pide; vacío si el nombre no es válido
+    Optional<Path> derivada(String nombre) throws IOException;
+}
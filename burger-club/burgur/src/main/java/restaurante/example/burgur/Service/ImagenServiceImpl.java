@@ -0,0 +1,307 @@
+package restaurante.example.burgur.Service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import restaurante.example.burgur.Model.Producto;
+
+// Genera versiones reducidas de static/Images/Menu con ImageIO y las guarda en disco.
+// El nombre de cada derivada lleva el hash del original: si la imagen cambia, cambia la URL,
+// así que se pueden servir como inmutables y nunca hay que invalidar nada.
+@Service
+public class ImagenServiceImpl implements ImagenService {
+
+    public static final String RUTA_PUBLICA = "/img/menu/";
+
+    // Anchuras generadas (px). Solo se usan las que reducen de verdad el original (hasta 3/4 de su ancho):
+    // un PNG con transparencia reescalado apenas un poco puede pesar más que el original
+    private static final int[] ANCHOS = {160, 320, 480, 640, 960};
+    private static final int ANCHO_TARJETA = 320;
+    private static final String ORIGINALES = "classpath:static/Images/Menu/*";
+    private static final Pattern NOMBRE_DERIVADA = Pattern.compile("([0-9a-f]{16})-(\\d{2,4})\\.(png|jpg)");
+    private static final float CALIDAD_JPEG = 0.82f;
+    private static final float COMPRESION_PNG = 0.0f; // 0 = deflate máximo
+    // Cambiarla invalida todas las derivadas (p. ej. si cambian anchuras o calidad)
+    private static final String VERSION_PIPELINE = "v1";
+
+    @Value("${burgur.imagenes.directorio:./cache/imagenes}")
+    private String directorioConfigurado;
+
+    private Path directorio;
+
+    private record Original(String nombre, Resource recurso, String hash, boolean alfa, String formato, List<Integer> anchos) {
+
+        String extension() {
+            // Sin transparencia JPEG pesa mucho menos; con transparencia se mantiene PNG
+            return alfa ? "png" : "jpg";
+        }
+
+        String archivo(int ancho) {
+            return hash + "-" + ancho + "." + extension();
+        }
+
+        // A tamaño original basta con copiar los bytes si el formato ya es el de salida
+        boolean copiaDirecta(int ancho) {
+            return ancho == anchos.get(anchos.size() - 1) && formato.equalsIgnoreCase(alfa ? "png" : "jpeg");
+        }
+    }
+
+    // Clave: nombre de archivo en minúscula
+    private final Map<String, ConjuntoImagen> conjuntos = new HashMap<>();
+    private final Map<String, Original> porHash = new HashMap<>();
+    // ReentrantLock y no synchronized: generar hace E/S y un hilo virtual bloqueado dentro de synchronized fija su carrier
+    private final ConcurrentHashMap<String, ReentrantLock> candados = new ConcurrentHashMap<>();
+
+    // ==========================================
+    // ÍNDICE DE ORIGINALES
+    // ==========================================
+
+    // Solo lee cabeceras y hashes; las derivadas se generan al primer pedido de cada una
+    @PostConstruct
+    void indexar() {
+        directorio = Path.of(directorioConfigurado).toAbsolutePath();
+        try {
+            for (Resource recurso : new PathMatchingResourcePatternResolver().getResources(ORIGINALES)) {
+                String nombre = recurso.getFilename();
+                if (nombre == null) continue;
+                try {
+                    Original original = leerOriginal(nombre, recurso);
+                    if (original != null) {
+                        String clave = nombre.toLowerCase(Locale.ROOT);
+                        porHash.put(original.hash(), original);
+                        ConjuntoImagen conjunto = conjunto(original);
+                        if (conjunto != null) conjuntos.put(clave, conjunto);
+                    }
+                } catch (IOException e) {
+                    System.err.println("⚠️ No se pudo indexar la imagen " + nombre + ": " + e.getMessage());
+                }
+            }
+            System.out.println("🖼️ Imágenes del menú indexadas: " + porHash.size() + " (derivadas en " + directorio + ")");
+        } catch (IOException e) {
+            System.err.println("❌ Error al indexar las imágenes del menú: " + e.getMessage());
+        }
+    }
+
+    private Original leerOriginal(String nombre, Resource recurso) throws IOException {
+        byte[] contenido;
+        try (InputStream in = recurso.getInputStream()) {
+            contenido = in.readAllBytes();
+        }
+
+        int ancho;
+        boolean alfa;
+        String formato;
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(contenido))) {
+            Iterator<ImageReader> lectores = ImageIO.getImageReaders(iis);
+            if (!lectores.hasNext()) return null; // no es una imagen legible
+            ImageReader lector = lectores.next();
+            try {
+                lector.setInput(iis);
+                formato = lector.getFormatName();
+                ancho = lector.getWidth(0);
+                Iterator<ImageTypeSpecifier> tipos = lector.getImageTypes(0);
+                alfa = tipos.hasNext() && tipos.next().getColorModel().hasAlpha();
+            } finally {
+                lector.dispose();
+            }
+        }
+
+        List<Integer> anchos = new ArrayList<>();
+        for (int a : ANCHOS) {
+            if (a * 4 <= ancho * 3) anchos.add(a);
+        }
+        // El mayor del srcset es el original a tamaño completo, bajo un nombre con hash
+        anchos.add(ancho);
+        return new Original(nombre, recurso, hash(contenido), alfa, formato, List.copyOf(anchos));
+    }
+
+    private static ConjuntoImagen conjunto(Original original) {
+        StringJoiner srcset = new StringJoiner(", ");
+        for (int ancho : original.anchos()) {
+            srcset.add(RUTA_PUBLICA + original.archivo(ancho) + " " + ancho + "w");
+        }
+        // src (sin soporte de srcset): la primera que cubre el ancho típico de una tarjeta del menú
+        int porDefecto = original.anchos().stream().filter(a -> a >= ANCHO_TARJETA).findFirst()
+            .orElse(original.anchos().get(original.anchos().size() - 1));
+        return new ConjuntoImagen(RUTA_PUBLICA + original.archivo(porDefecto), srcset.toString());
+    }
+
+    private static String hash(byte[] contenido) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(VERSION_PIPELINE.getBytes());
+            return HexFormat.of().formatHex(sha.digest(contenido)).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    @Override
+    public ConjuntoImagen conjunto(String imgURL) {
+        if (imgURL == null || imgURL.isBlank() || imgURL.contains("://")) return null;
+        // imgURL usa /images/menu/... mientras la carpeta es Images/Menu: se compara sin mayúsculas
+        return conjuntos.get(imgURL.substring(imgURL.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public Map<Long, ConjuntoImagen> conjuntosPara(Collection<Producto> productos) {
+        Map<Long, ConjuntoImagen> conjuntos = new HashMap<>();
+        for (Producto producto : productos) {
+            ConjuntoImagen conjunto = conjunto(producto.getImgURL());
+            if (conjunto != null) conjuntos.put(producto.getId(), conjunto);
+        }
+        return conjuntos;
+    }
+
+    // ==========================================
+    // DERIVADAS EN DISCO
+    // ==========================================
+
+    @Override
+    public Optional<Path> derivada(String nombre) throws IOException {
+        Matcher m = NOMBRE_DERIVADA.matcher(nombre);
+        if (!m.matches()) return Optional.empty();
+        Original original = porHash.get(m.group(1));
+        int ancho = Integer.parseInt(m.group(2));
+        if (original == null || !original.anchos().contains(ancho) || !original.extension().equals(m.group(3))) {
+            return Optional.empty();
+        }
+
+        Path destino = directorio.resolve(nombre);
+        if (Files.exists(destino)) return Optional.of(destino);
+
+        // Una sola generación por archivo aunque lleguen varios pedidos a la vez
+        ReentrantLock candado = candados.computeIfAbsent(nombre, k -> new ReentrantLock());
+        candado.lock();
+        try {
+            if (!Files.exists(destino)) {
+                generar(original, ancho, destino);
+            }
+        } finally {
+            candado.unlock();
+        }
+        return Optional.of(destino);
+    }
+
+    private void generar(Original original, int ancho, Path destino) throws IOException {
+        long inicio = System.currentTimeMillis();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, destino.getFileName().toString(), ".tmp");
+        try {
+            if (original.copiaDirecta(ancho)) {
+                try (InputStream in = original.recurso().getInputStream()) {
+                    Files.copy(in, temporal, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } else {
+                escribirReducida(original, ancho, temporal);
+            }
+            // Se escribe a un temporal y se mueve: nunca se sirve un archivo a medio escribir
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+        System.out.println("🖼️ Derivada " + destino.getFileName() + " de " + original.nombre() + " ("
+            + Files.size(destino) / 1024 + " KB, " + (System.currentTimeMillis() - inicio) + " ms)");
+    }
+
+    private static void escribirReducida(Original original, int ancho, Path archivo) throws IOException {
+        BufferedImage fuente;
+        try (InputStream in = original.recurso().getInputStream()) {
+            fuente = ImageIO.read(in);
+        }
+        if (fuente == null) {
+            throw new IOException("No se pudo leer " + original.nombre());
+        }
+        BufferedImage reducida = reducir(fuente, ancho, original.alfa());
+        if (original.alfa()) {
+            escribir(reducida, "png", COMPRESION_PNG, archivo);
+        } else {
+            escribir(reducida, "jpeg", CALIDAD_JPEG, archivo);
+        }
+    }
+
+    // Reducción por mitades sucesivas: bilineal en un solo paso pierde mucho detalle al bajar 4x o más
+    private static BufferedImage reducir(BufferedImage fuente, int ancho, boolean alfa) {
+        int alto = Math.max(1, Math.round((float) fuente.getHeight() * ancho / fuente.getWidth()));
+        int tipo = alfa ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage actual = fuente;
+        int w = fuente.getWidth();
+        int h = fuente.getHeight();
+        do {
+            w = Math.max(ancho, w / 2);
+            h = Math.max(alto, h / 2);
+            BufferedImage paso = new BufferedImage(w, h, tipo);
+            Graphics2D g = paso.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alfa) {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, w, h);
+                }
+                g.drawImage(actual, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            actual = paso;
+        } while (w != ancho || h != alto);
+        return actual;
+    }
+
+    private static void escribir(BufferedImage imagen, String formato, float calidad, Path archivo) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName(formato).next();
+        try (ImageOutputStream salida = ImageIO.createImageOutputStream(archivo.toFile())) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(calidad);
+            escritor.setOutput(salida);
+            escritor.write(null, new IIOImage(imagen, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+    }
+}
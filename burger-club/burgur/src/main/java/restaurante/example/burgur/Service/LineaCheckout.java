@@ -0,0 +1,12 @@
+package restaurante.example.burgur.Service;
+
+import java.util.List;
+
+// Línea del carrito tal como llega al checkout: solo IDs y cantidades.
+// Los precios nunca vienen del cliente; se toman del catálogo.
+public record LineaCheckout(Long productoId, int cantidad, List<Long> adicionalIds) {
+
+    public LineaCheckout {
+        adicionalIds = adicionalIds == null ? List.of() : List.copyOf(adicionalIds);
+    }
+}
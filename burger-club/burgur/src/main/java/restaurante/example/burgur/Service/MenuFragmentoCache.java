@@ -0,0 +1,103 @@
+package restaurante.example.burgur.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import restaurante.example.burgur.Model.Producto;
+
+// Guarda el HTML ya renderizado de las tarjetas del menú (fragments/menu-tarjetas.html).
+// Una entrada por vista (todos, categoría o búsqueda) y versión del catálogo: mientras la versión
+// no cambie, /menu inserta el texto guardado sin evaluar la plantilla ni recorrer los productos.
+@Component
+public class MenuFragmentoCache {
+
+    static final String PLANTILLA = "fragments/menu-tarjetas";
+
+    // Las búsquedas libres generan claves sin límite; pasado este número se renderiza sin guardar
+    static final int MAX_ENTRADAS = 128;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private ImagenService imagenService;
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    private final AtomicReference<Generacion> generacion = new AtomicReference<>(new Generacion(0));
+
+    // HTML de las tarjetas y cuántos productos contiene (la página lo muestra en los contadores)
+    public record Fragmento(String html, int total) {
+    }
+
+    private record Generacion(long version, ConcurrentHashMap<String, Fragmento> entradas) {
+        Generacion(long version) {
+            this(version, new ConcurrentHashMap<>());
+        }
+    }
+
+    // ==========================================
+    // CLAVES
+    // ==========================================
+
+    public static String claveTodos() {
+        return "todos";
+    }
+
+    public static String claveCategoria(String categoria) {
+        return "cat:" + normalizar(categoria);
+    }
+
+    public static String claveBusqueda(String nombre) {
+        return "q:" + normalizar(nombre);
+    }
+
+    private static String normalizar(String texto) {
+        return texto.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // ==========================================
+    // LECTURA
+    // ==========================================
+
+    // Devuelve las tarjetas de la vista; si no están para la versión vigente se renderizan con los productos dados
+    public Fragmento obtener(String clave, Supplier<List<Producto>> productos) {
+        // La versión se lee antes que los productos: en una carrera se guardan datos más nuevos, nunca más viejos
+        long version = catalogoCache.snapshot().getVersion();
+        Generacion actual = generacionPara(version);
+
+        Fragmento guardado = actual.entradas().get(clave);
+        if (guardado != null) {
+            return guardado;
+        }
+
+        Fragmento nuevo = renderizar(productos.get());
+        // Si otra petición ya vio una versión posterior, lo renderizado aquí podría ser anterior a ella
+        if (actual.version() == version && actual.entradas().size() < MAX_ENTRADAS) {
+            Fragmento previo = actual.entradas().putIfAbsent(clave, nuevo);
+            return previo != null ? previo : nuevo;
+        }
+        return nuevo;
+    }
+
+    // Al cambiar la versión se descarta todo lo anterior de una vez
+    private Generacion generacionPara(long version) {
+        return generacion.updateAndGet(g -> g.version() >= version ? g : new Generacion(version));
+    }
+
+    private Fragmento renderizar(List<Producto> productos) {
+        Context contexto = new Context(Locale.getDefault());
+        contexto.setVariable("productos", productos);
+        contexto.setVariable("imagenes", imagenService.conjuntosPara(productos));
+        return new Fragmento(templateEngine.process(PLANTILLA, contexto), productos.size());
+    }
+}
@@ -0,0 +1,402 @@
+package restaurante.example.burgur.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import restaurante.example.burgur.Model.Producto;
+
+// Índice de búsqueda en memoria sobre nombre, ingredientes y descripción de los productos activos.
+// - Trigramas -> lista ordenada de documentos, para búsquedas por subcadena (términos de 3+ letras).
+// - Diccionario ordenado de palabras, para prefijos cortos (1-2 letras) y autocompletado.
+// Es inmutable: cada versión del catálogo tiene su índice y los lectores no se bloquean.
+// Un cambio de producto crea la versión siguiente aplicando solo su delta: se reemplazan las listas
+// de los trigramas y palabras que ganó o perdió, y el resto se comparte con la versión anterior.
+public final class MenuSearchIndex {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^a-z0-9]+");
+
+    // Pesos del ranking por campo
+    private static final double PESO_NOMBRE_INICIO = 10;
+    private static final double PESO_NOMBRE_PALABRA = 8;
+    private static final double PESO_NOMBRE = 6;
+    private static final double PESO_INGREDIENTES = 3;
+    private static final double PESO_DESCRIPCION = 1;
+
+    // Con más de la mitad de los lugares vacíos (productos quitados) se reconstruye compacto
+    private static final int MINIMO_PARA_COMPACTAR = 64;
+
+    // Cada producto ocupa un lugar fijo mientras esté en el índice; los quitados dejan null
+    private final Documento[] documentos;
+    private final Map<Long, Integer> lugares;
+    private final int libres;
+    private final Map<String, int[]> postings;
+    private final String[] terminos;
+    private final int[][] documentosPorTermino;
+
+    // Texto normalizado de un producto
+    private record Documento(Producto producto, String nombre, String ingredientes, String descripcion,
+                             Set<String> palabras, Set<String> gramas) {
+
+        static Documento de(Producto p) {
+            String nombre = normalizar(p.getNombre());
+            String ingredientes = p.getIngredientes() == null ? "" : normalizar(String.join(" ", p.getIngredientes()));
+            String descripcion = normalizar(p.getDescripcion());
+
+            Set<String> palabras = new LinkedHashSet<>();
+            Set<String> gramas = new LinkedHashSet<>();
+            for (String campo : new String[] {nombre, ingredientes, descripcion}) {
+                for (String palabra : MenuSearchIndex.palabras(campo)) {
+                    palabras.add(palabra);
+                    agregarTrigramas(palabra, gramas);
+                }
+            }
+            return new Documento(p, nombre, ingredientes, descripcion, Set.copyOf(palabras), Set.copyOf(gramas));
+        }
+    }
+
+    private MenuSearchIndex(Documento[] documentos, Map<Long, Integer> lugares, int libres, Map<String, int[]> postings,
+                            String[] terminos, int[][] documentosPorTermino) {
+        this.documentos = documentos;
+        this.lugares = lugares;
+        this.libres = libres;
+        this.postings = postings;
+        this.terminos = terminos;
+        this.documentosPorTermino = documentosPorTermino;
+    }
+
+    // ==========================================
+    // CONSTRUCCIÓN
+    // ==========================================
+
+    public static MenuSearchIndex de(Collection<Producto> productos) {
+        List<Documento> docs = new ArrayList<>(productos.size());
+        for (Producto p : productos) docs.add(Documento.de(p));
+        return indexar(docs);
+    }
+
+    // Nueva versión con el producto agregado o reemplazado; solo se re-tokeniza ese producto
+    public MenuSearchIndex conProducto(Producto producto) {
+        Integer lugar = lugares.get(producto.getId());
+        Documento anterior = lugar == null ? null : documentos[lugar];
+        if (anterior != null && anterior.producto() == producto) return this;
+
+        Documento nuevo = Documento.de(producto);
+        Documento[] docs;
+        Map<Long, Integer> nuevosLugares = lugares;
+        if (lugar == null) {
+            // Producto nuevo: va al final, así las listas siguen ordenadas con solo agregarlo
+            lugar = documentos.length;
+            docs = Arrays.copyOf(documentos, lugar + 1);
+            nuevosLugares = new HashMap<>(lugares);
+            nuevosLugares.put(producto.getId(), lugar);
+        } else {
+            docs = documentos.clone();
+        }
+        docs[lugar] = nuevo;
+        return conDelta(docs, nuevosLugares, libres, lugar, anterior, nuevo);
+    }
+
+    // Nueva versión sin el producto (por ejemplo, eliminado o desactivado)
+    public MenuSearchIndex sinProducto(Long productoId) {
+        Integer lugar = productoId == null ? null : lugares.get(productoId);
+        if (lugar == null) return this;
+
+        if (documentos.length >= MINIMO_PARA_COMPACTAR && (libres + 1) * 2 > documentos.length) {
+            // Se reutilizan los documentos ya tokenizados; solo cambia su numeración
+            List<Documento> restantes = new ArrayList<>(documentos.length - libres);
+            for (Documento d : documentos) {
+                if (d != null && !d.producto().getId().equals(productoId)) restantes.add(d);
+            }
+            return indexar(restantes);
+        }
+
+        Documento[] docs = documentos.clone();
+        Documento anterior = docs[lugar];
+        docs[lugar] = null;
+        Map<Long, Integer> nuevosLugares = new HashMap<>(lugares);
+        nuevosLugares.remove(productoId);
+        return conDelta(docs, nuevosLugares, libres + 1, lugar, anterior, null);
+    }
+
+    // Índice completo, con los documentos numerados en orden
+    private static MenuSearchIndex indexar(List<Documento> lista) {
+        Documento[] documentos = lista.toArray(new Documento[0]);
+        Map<Long, Integer> lugares = new HashMap<>(documentos.length * 2);
+        for (int i = 0; i < documentos.length; i++) {
+            lugares.put(documentos[i].producto().getId(), i);
+        }
+
+        // Postings de trigramas (documentos en orden ascendente)
+        Map<String, int[]> listas = new HashMap<>();
+        Map<String, Integer> usados = new HashMap<>();
+        for (Documento d : documentos) {
+            for (String g : d.gramas()) usados.merge(g, 1, Integer::sum);
+        }
+        usados.forEach((g, n) -> listas.put(g, new int[n]));
+        usados.replaceAll((g, n) -> 0);
+        for (int i = 0; i < documentos.length; i++) {
+            for (String g : documentos[i].gramas()) {
+                int pos = usados.merge(g, 1, Integer::sum) - 1;
+                listas.get(g)[pos] = i;
+            }
+        }
+
+        // Diccionario ordenado de palabras -> documentos
+        TreeMap<String, BitSet> diccionario = new TreeMap<>();
+        for (int i = 0; i < documentos.length; i++) {
+            for (String palabra : documentos[i].palabras()) {
+                diccionario.computeIfAbsent(palabra, k -> new BitSet()).set(i);
+            }
+        }
+        String[] terminos = diccionario.keySet().toArray(new String[0]);
+        int[][] documentosPorTermino = new int[terminos.length][];
+        int t = 0;
+        for (BitSet docs : diccionario.values()) {
+            documentosPorTermino[t++] = docs.stream().toArray();
+        }
+        return new MenuSearchIndex(documentos, lugares, 0, listas, terminos, documentosPorTermino);
+    }
+
+    // Aplica el cambio de un documento: el lugar sale de las listas de lo que perdió y entra en las de lo que ganó
+    private MenuSearchIndex conDelta(Documento[] docs, Map<Long, Integer> nuevosLugares, int nuevosLibres, int lugar,
+                                     Documento anterior, Documento nuevo) {
+        Set<String> gramasAntes = anterior == null ? Set.of() : anterior.gramas();
+        Set<String> gramasDespues = nuevo == null ? Set.of() : nuevo.gramas();
+        Map<String, int[]> listas = postings;
+        if (!gramasAntes.equals(gramasDespues)) {
+            listas = new HashMap<>(postings);
+            for (String g : gramasAntes) {
+                if (gramasDespues.contains(g)) continue;
+                int[] lista = sinDocumento(listas.get(g), lugar);
+                if (lista.length == 0) {
+                    listas.remove(g);
+                } else {
+                    listas.put(g, lista);
+                }
+            }
+            for (String g : gramasDespues) {
+                if (!gramasAntes.contains(g)) listas.put(g, conDocumento(listas.get(g), lugar));
+            }
+        }
+
+        Set<String> palabrasAntes = anterior == null ? Set.of() : anterior.palabras();
+        Set<String> palabrasDespues = nuevo == null ? Set.of() : nuevo.palabras();
+        if (palabrasAntes.equals(palabrasDespues)) {
+            return new MenuSearchIndex(docs, nuevosLugares, nuevosLibres, listas, terminos, documentosPorTermino);
+        }
+
+        // Filas del diccionario que cambian; las palabras que aún no existían se intercalan en orden
+        TreeMap<String, int[]> cambios = new TreeMap<>();
+        for (String palabra : palabrasAntes) {
+            if (!palabrasDespues.contains(palabra)) {
+                cambios.put(palabra, sinDocumento(filaDe(palabra), lugar));
+            }
+        }
+        for (String palabra : palabrasDespues) {
+            if (!palabrasAntes.contains(palabra)) {
+                cambios.put(palabra, conDocumento(filaDe(palabra), lugar));
+            }
+        }
+
+        List<String> nuevosTerminos = new ArrayList<>(terminos.length + cambios.size());
+        List<int[]> nuevasFilas = new ArrayList<>(terminos.length + cambios.size());
+        int t = 0;
+        for (Map.Entry<String, int[]> cambio : cambios.entrySet()) {
+            while (t < terminos.length && terminos[t].compareTo(cambio.getKey()) < 0) {
+                nuevosTerminos.add(terminos[t]);
+                nuevasFilas.add(documentosPorTermino[t++]);
+            }
+            if (t < terminos.length && terminos[t].equals(cambio.getKey())) t++;
+            if (cambio.getValue().length > 0) {
+                nuevosTerminos.add(cambio.getKey());
+                nuevasFilas.add(cambio.getValue());
+            }
+        }
+        while (t < terminos.length) {
+            nuevosTerminos.add(terminos[t]);
+            nuevasFilas.add(documentosPorTermino[t++]);
+        }
+        return new MenuSearchIndex(docs, nuevosLugares, nuevosLibres, listas,
+            nuevosTerminos.toArray(new String[0]), nuevasFilas.toArray(new int[0][]));
+    }
+
+    private int[] filaDe(String palabra) {
+        int t = Arrays.binarySearch(terminos, palabra);
+        return t >= 0 ? documentosPorTermino[t] : null;
+    }
+
+    // Copia de la lista ordenada con el documento agregado
+    private static int[] conDocumento(int[] lista, int doc) {
+        if (lista == null) return new int[] {doc};
+        int pos = Arrays.binarySearch(lista, doc);
+        if (pos >= 0) return lista;
+        pos = -pos - 1;
+        int[] salida = new int[lista.length + 1];
+        System.arraycopy(lista, 0, salida, 0, pos);
+        salida[pos] = doc;
+        System.arraycopy(lista, pos, salida, pos + 1, lista.length - pos);
+        return salida;
+    }
+
+    // Copia de la lista ordenada sin el documento
+    private static int[] sinDocumento(int[] lista, int doc) {
+        if (lista == null) return new int[0];
+        int pos = Arrays.binarySearch(lista, doc);
+        if (pos < 0) return lista;
+        int[] salida = new int[lista.length - 1];
+        System.arraycopy(lista, 0, salida, 0, pos);
+        System.arraycopy(lista, pos + 1, salida, pos, lista.length - pos - 1);
+        return salida;
+    }
+
+    // ==========================================
+    // BÚSQUEDA
+    // ==========================================
+
+    // Productos que contienen todos los términos de la consulta, ordenados por relevancia
+    public List<Producto> buscar(String consulta, int limite) {
+        List<String> terminosConsulta = palabras(normalizar(consulta));
+        if (terminosConsulta.isEmpty() || limite <= 0) return List.of();
+
+        BitSet candidatos = null;
+        for (String termino : terminosConsulta) {
+            BitSet docs = documentosQueContienen(termino);
+            if (candidatos == null) {
+                candidatos = docs;
+            } else {
+                candidatos.and(docs);
+            }
+            if (candidatos.isEmpty()) return List.of();
+        }
+
+        String consultaNormalizada = String.join(" ", terminosConsulta);
+        Comparator<Resultado> orden = Comparator.comparingDouble(Resultado::puntaje)
+            .thenComparing(r -> r.documento().nombre(), Comparator.reverseOrder());
+        PriorityQueue<Resultado> mejores = new PriorityQueue<>(orden);
+        for (int i = candidatos.nextSetBit(0); i >= 0; i = candidatos.nextSetBit(i + 1)) {
+            Documento d = documentos[i];
+            mejores.add(new Resultado(d, puntaje(d, terminosConsulta, consultaNormalizada)));
+            if (mejores.size() > limite) mejores.poll();
+        }
+
+        Resultado[] ordenados = mejores.toArray(new Resultado[0]);
+        Arrays.sort(ordenados, orden.reversed());
+        List<Producto> resultado = new ArrayList<>(ordenados.length);
+        for (Resultado r : ordenados) resultado.add(r.documento().producto());
+        return resultado;
+    }
+
+    // Sugerencias para la caja de búsqueda: los productos mejor rankeados para lo que se lleva escrito
+    public List<Producto> autocompletar(String prefijo, int limite) {
+        return buscar(prefijo, limite);
+    }
+
+    private record Resultado(Documento documento, double puntaje) {
+    }
+
+    private BitSet documentosQueContienen(String termino) {
+        BitSet docs = new BitSet(documentos.length);
+        if (termino.length() < 3) {
+            // Prefijo corto: rango del diccionario ordenado que empieza por el término
+            int desde = Arrays.binarySearch(terminos, termino);
+            if (desde < 0) desde = -desde - 1;
+            for (int t = desde; t < terminos.length && terminos[t].startsWith(termino); t++) {
+                for (int doc : documentosPorTermino[t]) docs.set(doc);
+            }
+            return docs;
+        }
+
+        // Subcadena: intersección de postings empezando por el trigrama menos frecuente
+        Set<String> gramas = new LinkedHashSet<>();
+        agregarTrigramas(termino, gramas);
+        List<int[]> listas = new ArrayList<>(gramas.size());
+        for (String g : gramas) {
+            int[] lista = postings.get(g);
+            if (lista == null) return docs;
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(l -> l.length));
+
+        int[] actual = listas.get(0);
+        for (int i = 1; i < listas.size() && actual.length > 0; i++) {
+            actual = interseccion(actual, listas.get(i));
+        }
+        // Los trigramas pueden coincidir en palabras distintas: se verifica la subcadena real
+        for (int doc : actual) {
+            for (String palabra : documentos[doc].palabras()) {
+                if (palabra.contains(termino)) {
+                    docs.set(doc);
+                    break;
+                }
+            }
+        }
+        return docs;
+    }
+
+    private static int[] interseccion(int[] a, int[] b) {
+        int[] salida = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                salida[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(salida, n);
+    }
+
+    private static double puntaje(Documento d, List<String> terminosConsulta, String consulta) {
+        double puntaje = d.nombre().startsWith(consulta) ? PESO_NOMBRE_INICIO : 0;
+        for (String termino : terminosConsulta) {
+            if (d.nombre().startsWith(termino) || d.nombre().contains(" " + termino)) {
+                puntaje += PESO_NOMBRE_PALABRA;
+            } else if (d.nombre().contains(termino)) {
+                puntaje += PESO_NOMBRE;
+            }
+            if (d.ingredientes().contains(termino)) puntaje += PESO_INGREDIENTES;
+            if (d.descripcion().contains(termino)) puntaje += PESO_DESCRIPCION;
+        }
+        if (d.producto().isPopular()) puntaje += 0.5;
+        return puntaje;
+    }
+
+    // ==========================================
+    // NORMALIZACIÓN
+    // ==========================================
+
+    // minúsculas, sin tildes y solo letras/números separados por un espacio
+    static String normalizar(String texto) {
+        if (texto == null || texto.isBlank()) return "";
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto.toLowerCase(), Normalizer.Form.NFD)).replaceAll("");
+        return NO_ALFANUMERICO.matcher(sinTildes).replaceAll(" ").trim();
+    }
+
+    private static List<String> palabras(String normalizado) {
+        if (normalizado.isEmpty()) return List.of();
+        return List.of(normalizado.split(" "));
+    }
+
+    private static void agregarTrigramas(String palabra, Set<String> gramas) {
+        for (int i = 0; i + 3 <= palabra.length(); i++) {
+            gramas.add(palabra.substring(i, i + 3));
+        }
+    }
+}
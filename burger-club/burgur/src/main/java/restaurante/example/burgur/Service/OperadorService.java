@@ -32,6 +32,10 @@ public class OperadorService {
         return operadorRepository.save(operador);
     }
 
+    public List<Operador> saveAll(List<Operador> operadores) {
+        return operadorRepository.saveAll(operadores);
+    }
+
     public void eliminarOperador(Long id) {
         if (!operadorRepository.existsById(id)) {
             throw new IllegalArgumentException("Operador con ID " + id + " no encontrado");
@@ -44,9 +48,7 @@ public class OperadorService {
     // ==========================================
 
     public List<Operador> obtenerOperadoresDisponibles() {
-        return operadorRepository.findAll().stream()
-                .filter(Operador::isDisponible)
-                .toList();
+        return operadorRepository.findByDisponibleTrue();
     }
 
     public long countTotal() {
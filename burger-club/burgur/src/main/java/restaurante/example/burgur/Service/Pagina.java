@@ -0,0 +1,12 @@
+package restaurante.example.burgur.Service;
+
+import java.util.List;
+
+// Una página de un listado paginado por cursor (keyset).
+// siguienteCursor es opaco para el cliente: se reenvía tal cual para pedir la página siguiente.
+public record Pagina<T>(List<T> items, String siguienteCursor, boolean hayMas) {
+
+    public Pagina {
+        items = List.copyOf(items);
+    }
+}
@@ -0,0 +1,181 @@
+package restaurante.example.burgur.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+// Paginación por cursor (keyset) común a los listados.
+// En vez de OFFSET, cada página arranca después de la última fila de la anterior
+// (WHERE (campo, id) > (:campo, :id) ORDER BY campo, id LIMIT n), así el costo no crece con la tabla.
+// Las filas con el campo de orden en null van al final, ordenadas por id.
+public final class Paginacion {
+
+    public static final int TAMANO_POR_DEFECTO = 20;
+    public static final int TAMANO_MAXIMO = 100;
+
+    private static final String CAMPO_ID = "id";
+
+    // Tercera parte del cursor: valor del campo de orden o marca del tramo de nulos
+    private static final String PREFIJO_VALOR = "=";
+    private static final String MARCA_NULO = "~";
+
+    private Paginacion() {
+    }
+
+    // ==========================================
+    // ORDEN
+    // ==========================================
+
+    // Campo por el que se ordena ("precio" ascendente, "-precio" descendente).
+    // Spring Data agrega el id como desempate, por eso el cursor siempre lleva (valor, id).
+    public record Orden(String campo, Sort.Direction direccion, Function<String, Object> lector) {
+
+        Sort sort() {
+            return Sort.by(direccion, campo);
+        }
+
+        String clave() {
+            return (direccion == Sort.Direction.DESC ? "-" : "") + campo;
+        }
+    }
+
+    // Resuelve el parámetro "orden" contra los campos permitidos de cada listado
+    public static Orden orden(String solicitado, Map<String, Function<String, Object>> campos) {
+        String valor = solicitado == null || solicitado.isBlank() ? CAMPO_ID : solicitado.trim();
+        Sort.Direction direccion = Sort.Direction.ASC;
+        if (valor.startsWith("-")) {
+            direccion = Sort.Direction.DESC;
+            valor = valor.substring(1);
+        }
+        Function<String, Object> lector = campos.get(valor);
+        if (lector == null) {
+            throw new IllegalArgumentException("Orden no soportado: " + solicitado + ". Valores: " + campos.keySet());
+        }
+        return new Orden(valor, direccion, lector);
+    }
+
+    public static int tamano(Integer solicitado) {
+        if (solicitado == null) {
+            return TAMANO_POR_DEFECTO;
+        }
+        if (solicitado < 1 || solicitado > TAMANO_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANO_MAXIMO);
+        }
+        return solicitado;
+    }
+
+    // ==========================================
+    // CONSULTA
+    // ==========================================
+
+    // Las filas sin valor en el campo de orden no se pueden comparar con (campo, id) > (:campo, :id):
+    // van en un tramo aparte al final del listado, ordenadas solo por id (en la misma dirección)
+    public static <T> Pagina<T> paginar(JpaSpecificationExecutor<T> repositorio, Specification<T> filtro,
+            Orden orden, String cursor, Integer tamano) {
+        int limite = tamano(tamano);
+        Posicion desde = leerCursor(cursor, orden);
+        List<T> filas = new ArrayList<>(limite);
+
+        if (!desde.enNulos()) {
+            Specification<T> conValor = (root, query, cb) -> cb.isNotNull(root.get(orden.campo()));
+            Window<T> ventana = repositorio.findBy(y(filtro, conValor),
+                consulta -> consulta.sortBy(orden.sort()).limit(limite).scroll(desde.keyset()));
+            filas.addAll(ventana.getContent());
+            if (ventana.hasNext() && !ventana.isEmpty()) {
+                return new Pagina<>(filas, escribirCursor((KeysetScrollPosition) ventana.positionAt(ventana.size() - 1), orden), true);
+            }
+            if (CAMPO_ID.equals(orden.campo())) {
+                return new Pagina<>(filas, null, false);
+            }
+        }
+
+        Specification<T> sinValor = y(filtro, (root, query, cb) -> cb.isNull(root.get(orden.campo())));
+        String siguiente = null;
+        if (filas.size() == limite) {
+            // Página llena justo al terminar los valores: se sigue con los nulos solo si los hay
+            if (repositorio.exists(sinValor)) {
+                siguiente = cursorNulos(null, orden);
+            }
+        } else {
+            ScrollPosition desdeId = desde.enNulos() ? desde.keyset() : ScrollPosition.keyset();
+            Window<T> ventana = repositorio.findBy(sinValor,
+                consulta -> consulta.sortBy(Sort.by(orden.direccion(), CAMPO_ID)).limit(limite - filas.size()).scroll(desdeId));
+            filas.addAll(ventana.getContent());
+            if (ventana.hasNext() && !ventana.isEmpty()) {
+                siguiente = cursorNulos(((KeysetScrollPosition) ventana.positionAt(ventana.size() - 1)).getKeys().get(CAMPO_ID), orden);
+            }
+        }
+        return new Pagina<>(filas, siguiente, siguiente != null);
+    }
+
+    private static <T> Specification<T> y(Specification<T> filtro, Specification<T> extra) {
+        return filtro == null ? extra : filtro.and(extra);
+    }
+
+    // ==========================================
+    // CURSOR
+    // ==========================================
+
+    // Dónde sigue el listado: en el tramo con valor o en el de nulos (keyset solo por id)
+    private record Posicion(boolean enNulos, ScrollPosition keyset) {
+    }
+
+    // Formato interno en base64 url-safe: "orden|id|=valor", o "orden|id|~" en el tramo de nulos
+    // (id vacío = desde el principio de ese tramo). Se valida contra el orden pedido
+    // para que un cursor de "precio" no se use en una consulta por "nombre".
+    private static String escribirCursor(KeysetScrollPosition posicion, Orden orden) {
+        Map<String, ?> claves = posicion.getKeys();
+        return codificar(orden.clave() + "|" + claves.get(CAMPO_ID) + "|" + PREFIJO_VALOR + claves.get(orden.campo()));
+    }
+
+    private static String cursorNulos(Object id, Orden orden) {
+        return codificar(orden.clave() + "|" + (id != null ? id : "") + "|" + MARCA_NULO);
+    }
+
+    private static String codificar(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Posicion leerCursor(String cursor, Orden orden) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Posicion(false, ScrollPosition.keyset());
+        }
+        String[] partes;
+        try {
+            partes = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (partes.length != 3 || !partes[0].equals(orden.clave())) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+        }
+
+        try {
+            if (MARCA_NULO.equals(partes[2])) {
+                return new Posicion(true, partes[1].isEmpty()
+                    ? ScrollPosition.keyset()
+                    : ScrollPosition.forward(Map.of(CAMPO_ID, Long.valueOf(partes[1]))));
+            }
+            if (!partes[2].startsWith(PREFIJO_VALOR)) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            Map<String, Object> claves = new LinkedHashMap<>();
+            claves.put(orden.campo(), orden.lector().apply(partes[2].substring(PREFIJO_VALOR.length())));
+            claves.put(CAMPO_ID, Long.valueOf(partes[1]));
+            return new Posicion(false, ScrollPosition.forward(claves));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
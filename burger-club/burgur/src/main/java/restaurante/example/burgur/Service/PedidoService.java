@@ -0,0 +1,49 @@
+package restaurante.example.burgur.Service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import restaurante.example.burgur.Model.Domiciliario;
+import restaurante.example.burgur.Model.Pedido;
+
+@Service
+public interface PedidoService {
+    // ==========================================
+    // CHECKOUT
+    // ==========================================
+
+    // Crear un pedido a partir de las líneas del carrito; devuelve el pedido guardado
+    Pedido checkout(Long clienteId, List<LineaCheckout> lineas, String direccionEntrega);
+
+    // ==========================================
+    // ASIGNACIÓN DE DOMICILIARIO
+    // ==========================================
+
+    // Toma el siguiente domiciliario libre y lo asigna al pedido.
+    // IllegalStateException si no hay domiciliarios libres o el pedido ya tiene uno.
+    Domiciliario asignarDomiciliario(Long pedidoId);
+
+    // ==========================================
+    // ESTADO
+    // ==========================================
+
+    // Avanza el pedido (EN_CAMINO, ENTREGADO) o lo cancela; cada cambio se avisa a quien lo sigue (AvisosPedidos).
+    // IllegalArgumentException si el pedido o el estado no existen, IllegalStateException si el cambio no es válido.
+    Pedido cambiarEstado(Long pedidoId, String estado);
+
+    // Estado actual sin cargar el pedido; null si no existe
+    String obtenerEstado(Long pedidoId);
+
+    // ENTREGADO y CANCELADO: el pedido ya no cambia más
+    boolean esEstadoFinal(String estado);
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    // Obtener Pedido por ID
+    Pedido obtenerPedidoPorId(Long id);
+
+    boolean perteneceACliente(Long pedidoId, Long clienteId);
+}
@@ -0,0 +1,299 @@
+package restaurante.example.burgur.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.transaction.Transactional;
+import restaurante.example.burgur.Model.AdiXProdPedido;
+import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.Domiciliario;
+import restaurante.example.burgur.Model.Pedido;
+import restaurante.example.burgur.Model.ProdYAdiPedido;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Repository.AdicionalRepository;
+import restaurante.example.burgur.Repository.AdicionalesPermiXProductoRepository;
+import restaurante.example.burgur.Repository.ClienteRepository;
+import restaurante.example.burgur.Repository.DomiciliarioRepository;
+import restaurante.example.burgur.Repository.PedidoRepository;
+import restaurante.example.burgur.Repository.ProductoRepository;
+
+@Service
+public class PedidoServiceImpl implements PedidoService {
+
+    static final String ESTADO_INICIAL = "PENDIENTE";
+    static final String ESTADO_ASIGNADO = "ASIGNADO";
+    static final String ESTADO_EN_CAMINO = "EN_CAMINO";
+    static final String ESTADO_ENTREGADO = "ENTREGADO";
+    static final String ESTADO_CANCELADO = "CANCELADO";
+    // Cambios que se piden por cambiarEstado; PENDIENTE -> ASIGNADO solo ocurre al asignar domiciliario.
+    // Los estados que no aparecen como origen son finales
+    private static final Map<String, Set<String>> TRANSICIONES = Map.of(
+        ESTADO_INICIAL, Set.of(ESTADO_CANCELADO),
+        ESTADO_ASIGNADO, Set.of(ESTADO_EN_CAMINO, ESTADO_CANCELADO),
+        ESTADO_EN_CAMINO, Set.of(ESTADO_ENTREGADO, ESTADO_CANCELADO)
+    );
+    private static final Set<String> ESTADOS = Set.of(
+        ESTADO_INICIAL, ESTADO_ASIGNADO, ESTADO_EN_CAMINO, ESTADO_ENTREGADO, ESTADO_CANCELADO);
+    static final int MAX_LINEAS = 50;
+    static final int MAX_CANTIDAD = 99;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private AdicionalesPermiXProductoRepository adicionalesPermiXProductoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private StockReservaService stockReservaService;
+
+    @Autowired
+    private DomiciliarioRepository domiciliarioRepository;
+
+    @Autowired
+    private DisponibilidadDomiciliarios disponibilidad;
+
+    @Autowired
+    private DomiciliarioService domiciliarioService;
+
+    @Autowired
+    private AvisosPedidos avisosPedidos;
+
+    // ==========================================
+    // CHECKOUT
+    // ==========================================
+
+    // Un único flush al final de la transacción: cabecera, líneas y adicionales toman IDs de secuencias
+    // "pooled" y salen en lotes JDBC (hibernate.jdbc.batch_size + order_inserts)
+    @Override
+    @Transactional
+    public Pedido checkout(Long clienteId, List<LineaCheckout> lineas, String direccionEntrega) {
+        if (clienteId == null) {
+            throw new IllegalArgumentException("Debe iniciar sesión para realizar un pedido");
+        }
+        validarLineas(lineas);
+
+        // Precios de productos desde el snapshot del catálogo (sin consultas)
+        CatalogoSnapshot catalogo = catalogoCache.snapshot();
+        Map<Long, Producto> productos = new HashMap<>();
+        Map<Long, Integer> unidades = new HashMap<>();
+        Set<Long> adicionalIds = new HashSet<>();
+        for (LineaCheckout linea : lineas) {
+            Producto producto = catalogo.getProducto(linea.productoId());
+            if (producto == null || !producto.isActivo()) {
+                throw new IllegalArgumentException("Producto no disponible: " + linea.productoId());
+            }
+            productos.put(producto.getId(), producto);
+            unidades.merge(producto.getId(), linea.cantidad(), Integer::sum);
+            adicionalIds.addAll(linea.adicionalIds());
+        }
+
+        // Adicionales y combinaciones permitidas: una consulta cada una para todo el carrito
+        Map<Long, Adicional> adicionales = new HashMap<>();
+        Set<List<Long>> permitidos = new HashSet<>();
+        if (!adicionalIds.isEmpty()) {
+            for (Adicional adicional : adicionalRepository.findAllById(adicionalIds)) {
+                adicionales.put(adicional.getId(), adicional);
+            }
+            for (Object[] par : adicionalesPermiXProductoRepository.findParesByProductoIdIn(productos.keySet())) {
+                permitidos.add(List.of((Long) par[0], (Long) par[1]));
+            }
+        }
+
+        Pedido pedido = new Pedido(new Date(), null, ESTADO_INICIAL, 0f);
+        pedido.setCliente(clienteRepository.getReferenceById(clienteId));
+        pedido.setDireccionEntrega(direccionEntrega != null && !direccionEntrega.isBlank() ? direccionEntrega.trim() : null);
+        pedido.setProductosYAdicionales(new ArrayList<>(lineas.size()));
+
+        double total = 0;
+        for (LineaCheckout linea : lineas) {
+            Producto producto = productos.get(linea.productoId());
+            ProdYAdiPedido detalle = new ProdYAdiPedido(linea.cantidad(), (float) producto.getPrecio());
+            detalle.setPedido(pedido);
+            detalle.setProducto(productoRepository.getReferenceById(producto.getId()));
+            detalle.setAdicionalesPorProducto(new ArrayList<>(linea.adicionalIds().size()));
+
+            double precioUnidad = producto.getPrecio();
+            for (Long adicionalId : linea.adicionalIds()) {
+                Adicional adicional = adicionales.get(adicionalId);
+                if (adicional == null || !adicional.isActivo()) {
+                    throw new IllegalArgumentException("Adicional no disponible: " + adicionalId);
+                }
+                if (!permitidos.contains(List.of(producto.getId(), adicionalId))) {
+                    throw new IllegalArgumentException("El adicional '" + adicional.getNombre()
+                        + "' no está permitido para " + producto.getNombre());
+                }
+                // Un adicional por unidad del producto de la línea: se guardan tantos como unidades
+                AdiXProdPedido extra = new AdiXProdPedido(linea.cantidad(), (float) adicional.getPrecio());
+                extra.setProdYAdiPedido(detalle);
+                extra.setAdicional(adicional);
+                detalle.getAdicionalesPorProducto().add(extra);
+                precioUnidad += adicional.getPrecio();
+            }
+
+            total += precioUnidad * linea.cantidad();
+            pedido.getProductosYAdicionales().add(detalle);
+        }
+        pedido.setPrecioTotal((float) total);
+
+        // Se aparta el stock al final, ya validado todo; si la transacción no hace commit se libera solo
+        try {
+            stockReservaService.reservarEnTransaccion(unidades);
+        } catch (StockInsuficienteException e) {
+            Producto agotado = productos.get(e.getProductoId());
+            throw new StockInsuficienteException(e.getProductoId(),
+                "Stock insuficiente para " + (agotado != null ? agotado.getNombre() : "uno de los productos"));
+        }
+
+        // cascade ALL: Pedido -> ProdYAdiPedido -> AdiXProdPedido
+        Pedido guardado = pedidoRepository.save(pedido);
+        avisosPedidos.publicar(guardado.getId(), ESTADO_INICIAL, false);
+        return guardado;
+    }
+
+    private void validarLineas(List<LineaCheckout> lineas) {
+        if (lineas == null || lineas.isEmpty()) {
+            throw new IllegalArgumentException("El carrito está vacío");
+        }
+        if (lineas.size() > MAX_LINEAS) {
+            throw new IllegalArgumentException("El pedido no puede tener más de " + MAX_LINEAS + " líneas");
+        }
+        for (LineaCheckout linea : lineas) {
+            if (linea == null || linea.productoId() == null) {
+                throw new IllegalArgumentException("Cada línea debe indicar un producto");
+            }
+            if (linea.cantidad() < 1 || linea.cantidad() > MAX_CANTIDAD) {
+                throw new IllegalArgumentException("La cantidad debe estar entre 1 y " + MAX_CANTIDAD);
+            }
+            if (new HashSet<>(linea.adicionalIds()).size() != linea.adicionalIds().size()) {
+                throw new IllegalArgumentException("Adicionales repetidos en una línea");
+            }
+        }
+    }
+
+    // ==========================================
+    // ASIGNACIÓN DE DOMICILIARIO
+    // ==========================================
+
+    // Sin locks globales: el índice entrega candidatos y cada uno se confirma con un UPDATE condicional.
+    // Si dos operadores asignan a la vez, uno de los dos UPDATE encuentra la fila ya ocupada y ese
+    // operador sigue con el siguiente candidato; nunca quedan dos pedidos con el mismo domiciliario.
+    @Override
+    @Transactional
+    public Domiciliario asignarDomiciliario(Long pedidoId) {
+        String estado = obtenerEstado(pedidoId);
+        if (estado == null) {
+            throw new IllegalArgumentException("No existe el pedido: " + pedidoId);
+        }
+        if (!ESTADO_INICIAL.equals(estado)) {
+            throw new IllegalStateException("El pedido " + pedidoId + " ya no está pendiente (" + estado + ")");
+        }
+        long inicio = System.nanoTime();
+
+        Long domiciliarioId;
+        while ((domiciliarioId = disponibilidad.tomar()) != null
+                && domiciliarioRepository.ocuparSiDisponible(domiciliarioId) == 0) {
+            disponibilidad.contarDesfasado();
+        }
+        if (domiciliarioId == null) {
+            disponibilidad.registrarAsignacion("sin_disponibles", System.nanoTime() - inicio);
+            throw new IllegalStateException("No hay domiciliarios disponibles");
+        }
+
+        Domiciliario domiciliario = domiciliarioRepository.getReferenceById(domiciliarioId);
+        if (pedidoRepository.asignarDomiciliarioSiLibre(pedidoId, domiciliario, ESTADO_INICIAL, ESTADO_ASIGNADO) == 0) {
+            // El rollback deja al domiciliario libre otra vez, en la BD y en el índice
+            disponibilidad.registrarAsignacion("pedido_ya_asignado", System.nanoTime() - inicio);
+            throw new IllegalStateException("El pedido " + pedidoId + " ya tiene un domiciliario asignado");
+        }
+        disponibilidad.registrarAsignacion("asignado", System.nanoTime() - inicio);
+        avisosPedidos.publicar(pedidoId, ESTADO_ASIGNADO, false);
+        // Lectura después del UPDATE: se devuelve ya inicializado (y ocupado)
+        return domiciliarioRepository.findById(domiciliarioId).orElseThrow();
+    }
+
+    // ==========================================
+    // ESTADO
+    // ==========================================
+
+    // Mismo criterio que la asignación: el UPDATE solo aplica si el estado sigue siendo el leído,
+    // así dos operadores que cambian el mismo pedido a la vez no se pisan
+    @Override
+    @Transactional
+    public Pedido cambiarEstado(Long pedidoId, String estado) {
+        String nuevo = estado != null ? estado.trim().toUpperCase() : null;
+        if (nuevo == null || !ESTADOS.contains(nuevo)) {
+            throw new IllegalArgumentException("Estado no válido: " + estado);
+        }
+        String anterior = obtenerEstado(pedidoId);
+        if (anterior == null) {
+            throw new IllegalArgumentException("No existe el pedido: " + pedidoId);
+        }
+        if (!TRANSICIONES.getOrDefault(anterior, Set.of()).contains(nuevo)) {
+            throw new IllegalStateException("El pedido " + pedidoId + " no puede pasar de " + anterior + " a " + nuevo);
+        }
+
+        Date fechaEntrega = ESTADO_ENTREGADO.equals(nuevo) ? new Date() : null;
+        if (pedidoRepository.cambiarEstadoSi(pedidoId, anterior, nuevo, fechaEntrega) == 0) {
+            throw new IllegalStateException("El pedido " + pedidoId + " cambió de estado mientras tanto; vuelva a intentarlo");
+        }
+        // Cancelado: las unidades vendidas en el checkout vuelven al stock si esta transacción hace commit
+        if (ESTADO_CANCELADO.equals(nuevo)) {
+            Map<Long, Integer> unidades = new HashMap<>();
+            for (Object[] fila : pedidoRepository.findUnidadesPorProducto(pedidoId)) {
+                unidades.merge((Long) fila[0], ((Number) fila[1]).intValue(), Integer::sum);
+            }
+            stockReservaService.devolverEnTransaccion(unidades);
+        }
+        // Entregado o cancelado: su domiciliario (si tenía) queda libre para el siguiente pedido
+        boolean finalizado = esEstadoFinal(nuevo);
+        if (finalizado) {
+            pedidoRepository.findDomiciliarioIdById(pedidoId).ifPresent(domiciliarioService::liberarDomiciliario);
+        }
+        avisosPedidos.publicar(pedidoId, nuevo, finalizado);
+        return pedidoRepository.findById(pedidoId).orElseThrow();
+    }
+
+    @Override
+    public String obtenerEstado(Long pedidoId) {
+        return pedidoId != null ? pedidoRepository.findEstadoById(pedidoId).orElse(null) : null;
+    }
+
+    @Override
+    public boolean esEstadoFinal(String estado) {
+        return ESTADOS.contains(estado) && !TRANSICIONES.containsKey(estado);
+    }
+
+    // ==========================================
+    // CONSULTAS
+    // ==========================================
+
+    @Override
+    public Pedido obtenerPedidoPorId(Long id) {
+        return pedidoRepository.findById(id).orElse(null);
+    }
+
+    @Override
+    public boolean perteneceACliente(Long pedidoId, Long clienteId) {
+        return pedidoId != null && clienteId != null && pedidoRepository.existsByIdAndClienteId(pedidoId, clienteId);
+    }
+}
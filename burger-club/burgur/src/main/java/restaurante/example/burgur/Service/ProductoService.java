@@ -1,13 +1,17 @@
 //burger-club/burgur/src/main/java/restaurante/example/burgur/Service/ProductoService.java
 package restaurante.example.burgur.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
 import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.AdicionalResumen;
 import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Model.ProductoResumen;
 @Service
 public interface ProductoService {
     
@@ -18,6 +22,9 @@ public interface ProductoService {
     //Obtener todos los productos
     List<Producto> findAll();
     
+    //Resumen de todos los productos para el listado de administración (proyección, sin entidades)
+    List<ProductoResumen> findResumenes();
+    
     //Obtener solo productos activos
     List<Producto> findByActivoTrue();
     
@@ -27,6 +34,9 @@ public interface ProductoService {
     
     //Guardar producto (crear o actualizar)
     Producto save(Producto producto);
+
+    //Guardar varios productos en una sola transacción (cargas masivas)
+    List<Producto> saveAll(List<Producto> productos);
     
     //Eliminar producto por ID
     void deleteById(Long id);
@@ -40,24 +50,38 @@ public interface ProductoService {
     
     // Actualizar los adicionales permitidos para todos los productos
     Integer updateAdicionalesDeTodosLosProductos();
-    // Rebuild de los Adicionales Permitidos para todos los productos
+    // Rebuild de los Adicionales Permitidos para todos los productos (operación de reparación del admin)
     Integer rebuildAdicionalesDeTodosLosProductos();
 
+    // Sincronizar solo los vínculos que cambiaron para un producto guardado
+    Integer sincronizarVinculosDeProducto(Producto producto);
+    // Sincronizar solo los vínculos que cambiaron para un adicional guardado o desactivado
+    Integer sincronizarVinculosDeAdicional(Adicional adicional);
+    // Versiones para varios productos / adicionales a la vez (mismo resultado, menos consultas)
+    Integer sincronizarVinculosDeProductos(Collection<Producto> productos);
+    Integer sincronizarVinculosDeAdicionales(Collection<Adicional> adicionales);
+
     // ==========================================
     // MÉTODOS DE BÚSQUEDA Y FILTRADO
     // ==========================================
     
-    //Buscar productos por nombre (búsqueda parcial)
+    //Buscar productos por nombre, ingredientes o descripción (búsqueda parcial, ordenada por relevancia)
     List<Producto> findByNombre(String nombre);
+
+    //Sugerencias para la caja de búsqueda del menú
+    List<Producto> autocompletar(String prefijo, int limite);
     
     
     //Buscar productos por categoría
     List<Producto> findByCategoria(String categoria);
+
+    //Listado paginado por cursor, con filtros y orden resueltos en la BD (orden: id, nombre, precio, stock; "-" = descendente)
+    Pagina<Producto> paginar(String categoria, Boolean activo, String nombre, String orden, String cursor, Integer tamano);
     
 
 
     //Proyectar los adicionales permitidos para un producto
-    List<Adicional> obtenerAdicionalesPermitidos(Long productoId); 
+    List<AdicionalResumen> obtenerAdicionalesPermitidos(Long productoId); 
     
 
     // ==========================================
@@ -68,6 +92,16 @@ public interface ProductoService {
      * Contar total de productos
      */
     long countTotal();
+
+    /**
+     * Contar vínculos producto-adicional
+     */
+    long contarVinculosAdicionales();
+
+    /**
+     * Contar productos activos por categoría (incluye las categorías sin productos con 0)
+     */
+    Map<String, Long> contarActivosPorCategoria();
     
 
     
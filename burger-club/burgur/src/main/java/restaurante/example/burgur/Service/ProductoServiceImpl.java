@@ -2,26 +2,45 @@
 package restaurante.example.burgur.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import jakarta.persistence.criteria.Predicate;
 import jakarta.transaction.Transactional;
 import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.AdicionalResumen;
 import restaurante.example.burgur.Model.AdicionalesPermiXProducto;
 import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Model.ProductoResumen;
 import restaurante.example.burgur.Repository.AdicionalesPermiXProductoRepository;
 import restaurante.example.burgur.Repository.ProductoRepository;
 import restaurante.example.burgur.Repository.AdicionalRepository;
 
 @Service
 public class ProductoServiceImpl implements ProductoService {
+
+    private static final String[] CATEGORIAS_PERMITIDAS = {"hamburguesa", "acompañamiento", "bebida", "postre", "perro caliente"};
+
+    // Campos por los que se puede ordenar el listado paginado y cómo leer su valor desde el cursor
+    private static final Map<String, Function<String, Object>> ORDENES = Map.of(
+        "id", Long::valueOf,
+        "nombre", valor -> valor,
+        "precio", Double::valueOf,
+        "stock", Integer::valueOf
+    );
     
     @Autowired
     private ProductoRepository productoRepository;
@@ -31,6 +50,12 @@ public class ProductoServiceImpl implements ProductoService {
 
     @Autowired
     private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     // ==========================================
     // MÉTODOS BÁSICOS CRUD
@@ -40,10 +65,16 @@ public class ProductoServiceImpl implements ProductoService {
     public List<Producto> findAll() {
         return productoRepository.findAll();
     }
+
+    @Override
+    public List<ProductoResumen> findResumenes() {
+        return productoRepository.findResumenesByOrderByIdAsc();
+    }
     
+    // Lectura desde la foto en memoria del catálogo (sin ida a la BD)
     @Override
     public List<Producto> findByActivoTrue() {
-        return productoRepository.findByActivo(true);
+        return catalogoCache.snapshot().getActivos();
     }
     
     @Override
@@ -53,14 +84,34 @@ public class ProductoServiceImpl implements ProductoService {
     }
     
     @Override
+    @Transactional
     public Producto save(Producto producto) {
         try {
             validateProducto(producto);
-            return productoRepository.save(producto);
+            Producto guardado = productoRepository.save(producto);
+            sincronizarVinculosDeProducto(guardado);
+            eventPublisher.publishEvent(CatalogoCambiadoEvent.producto(guardado.getId()));
+            return guardado;
         } catch (Exception e) {
             throw new RuntimeException("Error al guardar el producto: " + e.getMessage(), e);
         }
     }
+
+    // Carga masiva: una transacción, INSERT en lotes y una sola sincronización de vínculos
+    @Override
+    @Transactional
+    public List<Producto> saveAll(List<Producto> productos) {
+        if (productos == null || productos.isEmpty()) return List.of();
+        productos.forEach(this::validateProducto);
+        try {
+            List<Producto> guardados = productoRepository.saveAll(productos);
+            sincronizarVinculosDeProductos(guardados);
+            eventPublisher.publishEvent(CatalogoCambiadoEvent.completo());
+            return guardados;
+        } catch (Exception e) {
+            throw new RuntimeException("Error al guardar los productos: " + e.getMessage(), e);
+        }
+    }
     
     @Override
     public void deleteById(Long id) throws IllegalArgumentException {
@@ -72,6 +123,7 @@ public class ProductoServiceImpl implements ProductoService {
         }
         try {
             productoRepository.deleteById(id);
+            eventPublisher.publishEvent(CatalogoCambiadoEvent.producto(id));
         } catch (Exception e) {
             throw new RuntimeException("Error al eliminar el producto: " + e.getMessage(), e);
         }
@@ -94,11 +146,13 @@ public class ProductoServiceImpl implements ProductoService {
         List<Adicional> adicionales = adicionalRepository.findByActivoTrue();
         
         Map<String, List<Adicional>> adsPorCat = buildAdicionalesPorCategoria(adicionales);
-        List<AdicionalesPermiXProducto> nuevos = createNewProductAdicionalesLinks(productos, adsPorCat, false);
+        Map<Long, Set<Long>> existentes = getExistingAdicionalIdsPorProducto();
+        List<AdicionalesPermiXProducto> nuevos = createNewProductAdicionalesLinks(productos, adsPorCat, existentes);
         
         if (!nuevos.isEmpty()) {
             adicionalesPermiXProductoRepository.saveAll(nuevos);
         }
+        eventPublisher.publishEvent(CatalogoCambiadoEvent.completo());
         return nuevos.size();
     }
 
@@ -109,7 +163,8 @@ public class ProductoServiceImpl implements ProductoService {
         return ap;
     }
     
-    private Map<String, List<Adicional>> buildAdicionalesPorCategoria(List<Adicional> adicionales) {
+    // Visibles en el paquete (sin estado) para medirlas desde burgur-benchmarks
+    Map<String, List<Adicional>> buildAdicionalesPorCategoria(List<Adicional> adicionales) {
         Map<String, List<Adicional>> adsPorCat = new HashMap<>();
         for (Adicional a : adicionales) {
             if (a.getCategoria() == null) continue;
@@ -121,14 +176,16 @@ public class ProductoServiceImpl implements ProductoService {
         return adsPorCat;
     }
     
-    private List<AdicionalesPermiXProducto> createNewProductAdicionalesLinks(
+    // existentes == null: rebuild (los vínculos ya se borraron, se crean todos)
+    List<AdicionalesPermiXProducto> createNewProductAdicionalesLinks(
             List<Producto> productos, 
             Map<String, List<Adicional>> adsPorCat, 
-            boolean isRebuild) {
+            Map<Long, Set<Long>> existentes) {
         List<AdicionalesPermiXProducto> nuevos = new ArrayList<>();
+        boolean isRebuild = existentes == null;
         
         for (Producto p : productos) {
-            processProductoForAdicionalesLinks(p, adsPorCat, isRebuild, nuevos);
+            processProductoForAdicionalesLinks(p, adsPorCat, isRebuild, existentes, nuevos);
         }
         
         return nuevos;
@@ -138,6 +195,7 @@ public class ProductoServiceImpl implements ProductoService {
             Producto producto, 
             Map<String, List<Adicional>> adsPorCat, 
             boolean isRebuild, 
+            Map<Long, Set<Long>> existentes,
             List<AdicionalesPermiXProducto> nuevos) {
         
         String categoryKey = getCategoryKey(producto);
@@ -146,7 +204,7 @@ public class ProductoServiceImpl implements ProductoService {
         List<Adicional> compatibles = adsPorCat.getOrDefault(categoryKey, List.of());
         if (!isRebuild && compatibles.isEmpty()) return;
         
-        Set<Long> existingIds = getExistingAdicionalIds(producto, isRebuild);
+        Set<Long> existingIds = getExistingAdicionalIds(producto, isRebuild, existentes);
         
         for (Adicional adicional : compatibles) {
             if (shouldCreateLink(adicional, existingIds, isRebuild)) {
@@ -166,13 +224,21 @@ public class ProductoServiceImpl implements ProductoService {
         return categoria.trim().toLowerCase();
     }
 
-    private Set<Long> getExistingAdicionalIds(Producto producto, boolean isRebuild) {
+    private Set<Long> getExistingAdicionalIds(Producto producto, boolean isRebuild, Map<Long, Set<Long>> existentes) {
         if (isRebuild) {
             return null;
         }
-        return producto.getAdicionales().stream()
-                .map(rel -> rel.getAdicional().getId())
-                .collect(java.util.stream.Collectors.toSet());
+        return new HashSet<>(existentes.getOrDefault(producto.getId(), Set.of()));
+    }
+
+    // productoId -> adicionales ya vinculados, en una sola consulta de pares
+    // (recorrer producto.getAdicionales() lanzaba una consulta por producto)
+    private Map<Long, Set<Long>> getExistingAdicionalIdsPorProducto() {
+        Map<Long, Set<Long>> existentes = new HashMap<>();
+        for (Object[] par : adicionalesPermiXProductoRepository.findTodosLosPares()) {
+            existentes.computeIfAbsent((Long) par[0], k -> new HashSet<>()).add((Long) par[1]);
+        }
+        return existentes;
     }
 
     private boolean shouldCreateLink(Adicional adicional, Set<Long> existingIds, boolean isRebuild) {
@@ -185,7 +251,8 @@ public class ProductoServiceImpl implements ProductoService {
         return true;
     }
 
-    // Rebuild de los Adicionales Permitos para todos los productos
+    // Rebuild de los Adicionales Permitos para todos los productos.
+    // Es una operación explícita de reparación: el día a día lo cubre la sincronización incremental.
     @Transactional
     @Override
     public Integer rebuildAdicionalesDeTodosLosProductos() {
@@ -198,14 +265,145 @@ public class ProductoServiceImpl implements ProductoService {
         adicionalesPermiXProductoRepository.deleteAllInBatch();
         
         // 2) Recalcular y crear nuevos vínculos
-        List<AdicionalesPermiXProducto> nuevos = createNewProductAdicionalesLinks(productos, adsPorCat, true);
+        List<AdicionalesPermiXProducto> nuevos = createNewProductAdicionalesLinks(productos, adsPorCat, null);
         
         if (!nuevos.isEmpty()) {
             adicionalesPermiXProductoRepository.saveAll(nuevos);
         }
+        eventPublisher.publishEvent(CatalogoCambiadoEvent.completo());
         return nuevos.size();
     }
 
+    // Sincroniza los vínculos de un producto: solo borra los que ya no aplican e inserta los que faltan
+    @Transactional
+    @Override
+    public Integer sincronizarVinculosDeProducto(Producto producto) {
+        if (producto == null) return 0;
+        return sincronizarVinculosDeProductos(List.of(producto));
+    }
+
+    // Igual que el anterior para varios productos: tres consultas y un lote de cambios en total
+    @Transactional
+    @Override
+    public Integer sincronizarVinculosDeProductos(Collection<Producto> productos) {
+        Map<Long, Producto> porId = new LinkedHashMap<>();
+        Set<String> categorias = new HashSet<>();
+        for (Producto p : productos) {
+            if (p == null || p.getId() == null) continue;
+            porId.put(p.getId(), p);
+            String categoryKey = getCategoryKey(p);
+            if (categoryKey != null) categorias.add(categoryKey);
+        }
+        if (porId.isEmpty()) return 0;
+
+        Map<String, List<Adicional>> adsPorCat = categorias.isEmpty()
+            ? Map.of()
+            : buildAdicionalesPorCategoria(adicionalRepository.findActivosByCategoriaIn(categorias));
+
+        // productoId -> adicionales que debería tener
+        Map<Long, Map<Long, Adicional>> deseados = new HashMap<>();
+        for (Producto p : porId.values()) {
+            Map<Long, Adicional> compatibles = new HashMap<>();
+            String categoryKey = getCategoryKey(p);
+            if (categoryKey != null) {
+                for (Adicional a : adsPorCat.getOrDefault(categoryKey, List.of())) {
+                    if (a.getId() != null) compatibles.put(a.getId(), a);
+                }
+            }
+            deseados.put(p.getId(), compatibles);
+        }
+
+        List<AdicionalesPermiXProducto> obsoletos = new ArrayList<>();
+        for (AdicionalesPermiXProducto link : adicionalesPermiXProductoRepository.findByProductoIdIn(porId.keySet())) {
+            Long adicionalId = link.getAdicional() != null ? link.getAdicional().getId() : null;
+            Map<Long, Adicional> compatibles = deseados.get(link.getProducto().getId());
+            if (adicionalId == null || compatibles == null || compatibles.remove(adicionalId) == null) {
+                obsoletos.add(link);
+            }
+        }
+
+        List<AdicionalesPermiXProducto> nuevos = new ArrayList<>();
+        for (Producto p : porId.values()) {
+            for (Adicional a : deseados.get(p.getId()).values()) {
+                nuevos.add(nuevoLink(p, a));
+            }
+        }
+        return aplicarCambiosDeVinculos(obsoletos, nuevos);
+    }
+
+    // Sincroniza los vínculos de un adicional: un adicional inactivo no queda vinculado a ningún producto
+    @Transactional
+    @Override
+    public Integer sincronizarVinculosDeAdicional(Adicional adicional) {
+        if (adicional == null) return 0;
+        return sincronizarVinculosDeAdicionales(List.of(adicional));
+    }
+
+    @Transactional
+    @Override
+    public Integer sincronizarVinculosDeAdicionales(Collection<Adicional> adicionales) {
+        Map<Long, Adicional> porId = new LinkedHashMap<>();
+        Map<Long, Set<String>> categoriasPorAdicional = new HashMap<>();
+        Set<String> categorias = new HashSet<>();
+        for (Adicional a : adicionales) {
+            if (a == null || a.getId() == null) continue;
+            porId.put(a.getId(), a);
+            Set<String> propias = !a.isActivo() || a.getCategoria() == null ? Set.of() : a.getCategoria().stream()
+                .filter(c -> c != null && !c.isBlank())
+                .map(c -> c.trim().toLowerCase())
+                .collect(Collectors.toSet());
+            categoriasPorAdicional.put(a.getId(), propias);
+            categorias.addAll(propias);
+        }
+        if (porId.isEmpty()) return 0;
+
+        Map<String, List<Producto>> productosPorCat = new HashMap<>();
+        if (!categorias.isEmpty()) {
+            for (Producto p : productoRepository.findByCategoriaNormalizadaIn(categorias)) {
+                productosPorCat.computeIfAbsent(getCategoryKey(p), k -> new ArrayList<>()).add(p);
+            }
+        }
+
+        // adicionalId -> productos a los que debería estar vinculado
+        Map<Long, Map<Long, Producto>> deseados = new HashMap<>();
+        for (Long adicionalId : porId.keySet()) {
+            Map<Long, Producto> compatibles = new HashMap<>();
+            for (String c : categoriasPorAdicional.get(adicionalId)) {
+                for (Producto p : productosPorCat.getOrDefault(c, List.of())) {
+                    compatibles.put(p.getId(), p);
+                }
+            }
+            deseados.put(adicionalId, compatibles);
+        }
+
+        List<AdicionalesPermiXProducto> obsoletos = new ArrayList<>();
+        for (AdicionalesPermiXProducto link : adicionalesPermiXProductoRepository.findByAdicionalIdIn(porId.keySet())) {
+            Long productoId = link.getProducto() != null ? link.getProducto().getId() : null;
+            Map<Long, Producto> compatibles = deseados.get(link.getAdicional().getId());
+            if (productoId == null || compatibles == null || compatibles.remove(productoId) == null) {
+                obsoletos.add(link);
+            }
+        }
+
+        List<AdicionalesPermiXProducto> nuevos = new ArrayList<>();
+        for (Adicional a : porId.values()) {
+            for (Producto p : deseados.get(a.getId()).values()) {
+                nuevos.add(nuevoLink(p, a));
+            }
+        }
+        return aplicarCambiosDeVinculos(obsoletos, nuevos);
+    }
+
+    private int aplicarCambiosDeVinculos(List<AdicionalesPermiXProducto> obsoletos, List<AdicionalesPermiXProducto> nuevos) {
+        if (!obsoletos.isEmpty()) {
+            adicionalesPermiXProductoRepository.deleteAllInBatch(obsoletos);
+        }
+        if (!nuevos.isEmpty()) {
+            adicionalesPermiXProductoRepository.saveAll(nuevos);
+        }
+        return obsoletos.size() + nuevos.size();
+    }
+
     // ==========================================
     // MÉTODOS DE BÚSQUEDA Y FILTRADO
     // ==========================================
@@ -213,9 +411,14 @@ public class ProductoServiceImpl implements ProductoService {
     @Override
     public List<Producto> findByNombre(String nombre) {
         if (nombre == null || nombre.trim().isEmpty()) return findByActivoTrue();
-        return productoRepository.findByNombreContainingIgnoreCase(nombre.trim()).stream()
-            .filter(p -> p != null && p.isActivo())
-            .collect(Collectors.toList());
+        // Búsqueda rankeada sobre nombre, ingredientes y descripción (índice en memoria)
+        return catalogoCache.snapshot().getIndiceBusqueda().buscar(nombre, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Producto> autocompletar(String prefijo, int limite) {
+        if (prefijo == null || prefijo.trim().isEmpty()) return List.of();
+        return catalogoCache.snapshot().getIndiceBusqueda().autocompletar(prefijo, Math.max(1, Math.min(limite, 20)));
     }
     
     @Override
@@ -223,18 +426,35 @@ public class ProductoServiceImpl implements ProductoService {
         if (categoria == null || categoria.trim().isEmpty() || "todos".equalsIgnoreCase(categoria.trim())) {
             return findByActivoTrue();
         }
-        return productoRepository.findByCategoriaIgnoreCase(categoria.trim()).stream()
-            .filter(p -> p != null && p.isActivo())
-            .collect(Collectors.toList());
+        return catalogoCache.snapshot().getActivosPorCategoria(categoria);
+    }
+
+    @Override
+    public Pagina<Producto> paginar(String categoria, Boolean activo, String nombre, String orden, String cursor, Integer tamano) {
+        Specification<Producto> filtro = (root, query, cb) -> {
+            List<Predicate> condiciones = new ArrayList<>();
+            if (categoria != null && !categoria.isBlank() && !"todos".equalsIgnoreCase(categoria.trim())) {
+                condiciones.add(cb.equal(cb.lower(root.<String>get("categoria")), categoria.trim().toLowerCase()));
+            }
+            if (activo != null) {
+                condiciones.add(cb.equal(root.get("activo"), activo));
+            }
+            if (nombre != null && !nombre.isBlank()) {
+                condiciones.add(cb.like(cb.lower(root.<String>get("nombre")), "%" + nombre.trim().toLowerCase() + "%"));
+            }
+            return cb.and(condiciones.toArray(new Predicate[0]));
+        };
+        return Paginacion.paginar(productoRepository, filtro, Paginacion.orden(orden, ORDENES), cursor, tamano);
     }
     
+    // Desde el grafo producto -> adicionales de la foto del catálogo (sin consultas)
     @Override
-    @Transactional
-    public List<Adicional> obtenerAdicionalesPermitidos(Long productoId){ 
-        if (!productoRepository.existsById(productoId)) {
+    public List<AdicionalResumen> obtenerAdicionalesPermitidos(Long productoId){ 
+        CatalogoSnapshot catalogo = catalogoCache.snapshot();
+        if (catalogo.getProducto(productoId) == null) {
             throw new IllegalArgumentException("Producto no existe: " + productoId);
         }
-        return adicionalesPermiXProductoRepository.findAdicionalesByProductoId(productoId);
+        return catalogo.getAdicionalesPermitidos(productoId);
     }
 
 
@@ -251,7 +471,38 @@ public class ProductoServiceImpl implements ProductoService {
             return 0;
         }
     }
+
+    @Override
+    public long contarVinculosAdicionales() {
+        return adicionalesPermiXProductoRepository.count();
+    }
+    
     
+    @Override
+    public Map<String, Long> contarActivosPorCategoria() {
+        // Camino normal: el conteo ya viene precalculado en la foto del catálogo
+        CatalogoSnapshot snapshot = catalogoCache.snapshotSiCargado();
+        Map<String, Long> conteos = snapshot != null
+            ? snapshot.getConteoPorCategoria()
+            : contarActivosPorCategoriaDesdeBD();
+
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        for (String categoria : CATEGORIAS_PERMITIDAS) {
+            resultado.put(categoria, conteos.getOrDefault(categoria, 0L));
+        }
+        return resultado;
+    }
+
+    // Respaldo barato mientras el catálogo no está en memoria: un solo GROUP BY
+    private Map<String, Long> contarActivosPorCategoriaDesdeBD() {
+        Map<String, Long> conteos = new HashMap<>();
+        for (Object[] fila : productoRepository.getCategoriaCountActivos()) {
+            if (fila[0] != null) {
+                conteos.put(fila[0].toString().trim(), ((Number) fila[1]).longValue());
+            }
+        }
+        return conteos;
+    }
     
     // ==========================================
     // MÉTODOS DE ACTUALIZACIÓN ESPECÍFICA
@@ -309,9 +560,8 @@ public class ProductoServiceImpl implements ProductoService {
             throw new IllegalArgumentException("La categoría es requerida");
         }
         
-        String[] categoriasPermitidas = {"hamburguesa", "acompañamiento", "bebida", "postre", "perro caliente"};
         boolean categoriaValida = false;
-        for (String cat : categoriasPermitidas) {
+        for (String cat : CATEGORIAS_PERMITIDAS) {
             if (cat.equalsIgnoreCase(producto.getCategoria().trim())) {
                 categoriaValida = true;
                 break;
@@ -0,0 +1,16 @@
+package restaurante.example.burgur.Service;
+
+// No hay unidades libres suficientes para reservar un producto
+public class StockInsuficienteException extends IllegalStateException {
+
+    private final Long productoId;
+
+    public StockInsuficienteException(Long productoId, String message) {
+        super(message);
+        this.productoId = productoId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+}
@@ -0,0 +1,41 @@
+package restaurante.example.burgur.Service;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface StockReservaService {
+    // ==========================================
+    // RESERVAS
+    // ==========================================
+
+    // Apartar unidades (productoId -> cantidad); todo o nada. Devuelve el id de la reserva
+    String reservar(Map<Long, Integer> cantidades) throws StockInsuficienteException;
+
+    // Reservar y atar la reserva a la transacción actual: se confirma si hace commit y se libera si no
+    String reservarEnTransaccion(Map<Long, Integer> cantidades) throws StockInsuficienteException;
+
+    // Convertir la reserva en venta (el descuento en BD se hace en el siguiente lote)
+    void confirmar(String reservaId) throws IllegalStateException;
+
+    // Devolver las unidades de una reserva no confirmada
+    void liberar(String reservaId);
+
+    // Devolver unidades ya vendidas (pedido cancelado) cuando la transacción actual haga commit;
+    // llegan a la BD en el siguiente lote, igual que las ventas
+    void devolverEnTransaccion(Map<Long, Integer> cantidades);
+
+    // Unidades que todavía se pueden reservar
+    int disponible(Long productoId);
+
+    // ==========================================
+    // MANTENIMIENTO
+    // ==========================================
+
+    // Escribir en BD las ventas (y devoluciones) pendientes; devuelve los productos actualizados
+    int descargarPendientes();
+
+    // Liberar las reservas cuyo tiempo expiró; devuelve cuántas se liberaron
+    int liberarVencidas();
+}
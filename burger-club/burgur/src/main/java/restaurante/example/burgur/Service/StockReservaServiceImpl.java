@@ -0,0 +1,384 @@
+package restaurante.example.burgur.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Repository.ProductoRepository;
+
+// Reservas de stock en memoria.
+// Cada producto tiene su propio contador atómico (sin locks compartidos entre productos):
+// reservar/liberar/confirmar son CAS sobre ese contador y nunca dejan vender más de lo que hay.
+// Las ventas confirmadas se descuentan en BD por lotes, con la versión optimista de Producto.
+@Service
+public class StockReservaServiceImpl implements StockReservaService {
+
+    private static final int LOTE_DESCARGA = 50;
+    private static final int REINTENTOS_DESCARGA = 3;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Value("${burgur.stock.reserva-ttl-ms:120000}")
+    private long reservaTtlMs;
+
+    private final ConcurrentHashMap<Long, Contador> contadores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Reserva> reservas = new ConcurrentHashMap<>();
+
+    // ==========================================
+    // CONTADOR POR PRODUCTO
+    // ==========================================
+
+    // base = stock en BD; consumido = reservado + vendido que aún no se descuenta en BD.
+    // Los dos van empaquetados en un long para comprobar y apartar unidades con un único CAS.
+    private static final class Contador {
+        private final AtomicLong estado;
+        private final AtomicInteger pendiente = new AtomicInteger(); // vendido sin descargar (negativo: devuelto)
+        private long versionBase; // versión de Producto de la que sale "base" (protegida por this)
+
+        Contador(int base, long version) {
+            this.estado = new AtomicLong(empaquetar(base, 0));
+            this.versionBase = version;
+        }
+
+        int disponible() {
+            long e = estado.get();
+            return base(e) - consumido(e);
+        }
+
+        boolean tomar(int unidades) {
+            while (true) {
+                long e = estado.get();
+                if (base(e) - consumido(e) < unidades) return false;
+                if (estado.compareAndSet(e, empaquetar(base(e), consumido(e) + unidades))) return true;
+            }
+        }
+
+        void devolver(int unidades) {
+            estado.getAndUpdate(e -> empaquetar(base(e), consumido(e) - unidades));
+        }
+
+        // Stock leído de BD (p. ej. editado por el admin); se ignora si es más viejo que el actual
+        synchronized void resincronizar(int stock, long version) {
+            if (version > versionBase) {
+                versionBase = version;
+                estado.getAndUpdate(e -> empaquetar(stock, consumido(e)));
+            }
+        }
+
+        // Lote escrito en BD: esas unidades ya están descontadas del stock, dejan de contar como consumidas
+        synchronized void descargado(int unidades, int stock, long version) {
+            boolean masNuevo = version > versionBase;
+            if (masNuevo) versionBase = version;
+            estado.getAndUpdate(e -> empaquetar(masNuevo ? stock : base(e), consumido(e) - unidades));
+        }
+
+        private static long empaquetar(int base, int consumido) {
+            return ((long) base << 32) | (consumido & 0xFFFFFFFFL);
+        }
+
+        private static int base(long estado) {
+            return (int) (estado >> 32);
+        }
+
+        private static int consumido(long estado) {
+            return (int) estado;
+        }
+    }
+
+    private enum EstadoReserva { ACTIVA, CONFIRMANDO, CERRADA }
+
+    private static final class Reserva {
+        private final String id;
+        private final Map<Long, Integer> cantidades;
+        private final long venceEn;
+        private final AtomicReference<EstadoReserva> estado = new AtomicReference<>(EstadoReserva.ACTIVA);
+
+        Reserva(String id, Map<Long, Integer> cantidades, long venceEn) {
+            this.id = id;
+            this.cantidades = cantidades;
+            this.venceEn = venceEn;
+        }
+
+        // Solo un hilo gana el cierre (confirmación, liberación o vencimiento)
+        boolean cerrar() {
+            return estado.compareAndSet(EstadoReserva.ACTIVA, EstadoReserva.CERRADA)
+                || estado.compareAndSet(EstadoReserva.CONFIRMANDO, EstadoReserva.CERRADA);
+        }
+    }
+
+    // ==========================================
+    // RESERVAS
+    // ==========================================
+
+    @Override
+    public String reservar(Map<Long, Integer> cantidades) throws StockInsuficienteException {
+        if (cantidades == null || cantidades.isEmpty()) {
+            throw new IllegalArgumentException("No hay productos para reservar");
+        }
+        cantidades.forEach((productoId, cantidad) -> {
+            if (productoId == null || cantidad == null || cantidad <= 0) {
+                throw new IllegalArgumentException("Cantidad inválida para el producto " + productoId);
+            }
+        });
+        asegurarContadores(cantidades.keySet());
+
+        Map<Contador, Integer> tomadas = new HashMap<>();
+        for (Map.Entry<Long, Integer> item : cantidades.entrySet()) {
+            Contador contador = contadores.get(item.getKey());
+            if (contador == null || !contador.tomar(item.getValue())) {
+                // Todo o nada: se devuelve lo apartado hasta ahora
+                tomadas.forEach(Contador::devolver);
+                if (contador == null) {
+                    throw new IllegalArgumentException("Producto no encontrado con ID: " + item.getKey());
+                }
+                throw new StockInsuficienteException(item.getKey(),
+                    "Stock insuficiente para el producto " + item.getKey());
+            }
+            tomadas.put(contador, item.getValue());
+        }
+
+        Reserva reserva = new Reserva(UUID.randomUUID().toString(), Map.copyOf(cantidades),
+            System.currentTimeMillis() + reservaTtlMs);
+        reservas.put(reserva.id, reserva);
+        return reserva.id;
+    }
+
+    @Override
+    public String reservarEnTransaccion(Map<Long, Integer> cantidades) throws StockInsuficienteException {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("La reserva de stock requiere una transacción activa");
+        }
+        String reservaId = reservar(cantidades);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Desde aquí el vencimiento ya no puede liberar la reserva; si ya venció, se hace rollback
+                Reserva reserva = reservas.get(reservaId);
+                if (reserva == null || !reserva.estado.compareAndSet(EstadoReserva.ACTIVA, EstadoReserva.CONFIRMANDO)) {
+                    throw new StockInsuficienteException(null, "La reserva de stock venció antes de confirmar el pedido");
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    confirmar(reservaId);
+                } else {
+                    liberar(reservaId);
+                }
+            }
+        });
+        return reservaId;
+    }
+
+    @Override
+    public void confirmar(String reservaId) throws IllegalStateException {
+        Reserva reserva = reservaId != null ? reservas.get(reservaId) : null;
+        if (reserva == null || !reserva.cerrar()) {
+            throw new IllegalStateException("La reserva no existe o ya fue cerrada");
+        }
+        reservas.remove(reservaId);
+        // Las unidades siguen consumidas hasta que el lote las descuente en BD
+        reserva.cantidades.forEach((productoId, cantidad) -> {
+            Contador contador = contadores.get(productoId);
+            if (contador != null) contador.pendiente.addAndGet(cantidad);
+        });
+    }
+
+    @Override
+    public void liberar(String reservaId) {
+        Reserva reserva = reservaId != null ? reservas.get(reservaId) : null;
+        if (reserva != null && reserva.cerrar()) {
+            devolver(reserva);
+        }
+    }
+
+    @Override
+    public void devolverEnTransaccion(Map<Long, Integer> cantidades) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("La devolución de stock requiere una transacción activa");
+        }
+        if (cantidades == null || cantidades.isEmpty()) return;
+        Map<Long, Integer> copia = Map.copyOf(cantidades);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                devolverVendidas(copia);
+            }
+        });
+    }
+
+    @Override
+    public int disponible(Long productoId) {
+        if (productoId == null) return 0;
+        asegurarContadores(List.of(productoId));
+        Contador contador = contadores.get(productoId);
+        return contador != null ? Math.max(0, contador.disponible()) : 0;
+    }
+
+    private void devolver(Reserva reserva) {
+        reservas.remove(reserva.id);
+        reserva.cantidades.forEach((productoId, cantidad) -> {
+            Contador contador = contadores.get(productoId);
+            if (contador != null) contador.devolver(cantidad);
+        });
+    }
+
+    // Deshace ventas: las unidades dejan de contar como consumidas y el pendiente baja;
+    // si queda negativo, el siguiente lote las suma al stock en BD
+    private void devolverVendidas(Map<Long, Integer> cantidades) {
+        asegurarContadores(cantidades.keySet());
+        cantidades.forEach((productoId, cantidad) -> {
+            Contador contador = contadores.get(productoId);
+            if (contador == null) return; // producto eliminado: no hay stock que devolver
+            contador.pendiente.addAndGet(-cantidad);
+            contador.devolver(cantidad);
+        });
+    }
+
+    // Crea los contadores que falten con una sola consulta
+    private void asegurarContadores(Collection<Long> productoIds) {
+        List<Long> faltantes = productoIds.stream().filter(id -> !contadores.containsKey(id)).toList();
+        if (faltantes.isEmpty()) return;
+
+        for (Object[] fila : productoRepository.findStockYVersionByIdIn(faltantes)) {
+            contadores.putIfAbsent((Long) fila[0], new Contador(entero(fila[1]), version(fila[2])));
+        }
+    }
+
+    // ==========================================
+    // MANTENIMIENTO
+    // ==========================================
+
+    @Override
+    @Scheduled(fixedDelayString = "${burgur.stock.descarga-ms:1000}")
+    public int descargarPendientes() {
+        List<Long> conPendientes = contadores.entrySet().stream()
+            .filter(e -> e.getValue().pendiente.get() != 0)
+            .map(Map.Entry::getKey)
+            .toList();
+
+        int actualizados = 0;
+        for (int i = 0; i < conPendientes.size(); i += LOTE_DESCARGA) {
+            actualizados += descargarLote(conPendientes.subList(i, Math.min(i + LOTE_DESCARGA, conPendientes.size())));
+        }
+        return actualizados;
+    }
+
+    // Un UPDATE por producto en un mismo lote JDBC; si otro escritor cambió la fila (versión), se reintenta
+    private int descargarLote(List<Long> productoIds) {
+        Map<Long, Integer> unidades = new HashMap<>();
+        for (Long id : productoIds) {
+            int n = contadores.get(id).pendiente.getAndSet(0);
+            if (n != 0) unidades.put(id, n);
+        }
+        if (unidades.isEmpty()) return 0;
+
+        for (int intento = 1; ; intento++) {
+            try {
+                List<Producto> guardados = transactionTemplate.execute(status -> {
+                    List<Producto> productos = productoRepository.findAllById(unidades.keySet());
+                    for (Producto p : productos) {
+                        int stock = p.getStock() != null ? p.getStock() : 0;
+                        p.setStock(Math.max(0, stock - unidades.get(p.getId())));
+                    }
+                    return productoRepository.saveAll(productos);
+                });
+
+                Set<Long> descargados = new HashSet<>();
+                for (Producto p : guardados) {
+                    contadores.get(p.getId()).descargado(unidades.get(p.getId()), p.getStock(), version(p.getVersion()));
+                    descargados.add(p.getId());
+                }
+                // Productos eliminados mientras tanto: ya no hay stock que descontar
+                unidades.keySet().stream().filter(id -> !descargados.contains(id)).forEach(contadores::remove);
+                // El catálogo en memoria toma el stock nuevo sin cambiar de versión: el menú y su ETag no dependen del stock
+                Map<Long, Integer> stockDescargado = new HashMap<>();
+                guardados.forEach(p -> stockDescargado.put(p.getId(), p.getStock()));
+                catalogoCache.actualizarStock(stockDescargado);
+                return guardados.size();
+            } catch (OptimisticLockingFailureException e) {
+                if (intento < REINTENTOS_DESCARGA) continue;
+                System.err.println("⚠️ Conflicto de versión al descargar stock, se reintenta en el próximo ciclo: " + e.getMessage());
+            } catch (Exception e) {
+                System.err.println("❌ Error al descargar stock: " + e.getMessage());
+            }
+            // No se pudo escribir: las unidades vuelven a quedar pendientes
+            unidades.forEach((id, n) -> contadores.get(id).pendiente.addAndGet(n));
+            return 0;
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${burgur.stock.limpieza-ms:5000}")
+    public int liberarVencidas() {
+        long ahora = System.currentTimeMillis();
+        int liberadas = 0;
+        for (Reserva reserva : reservas.values()) {
+            // Las reservas en confirmación no vencen: su transacción decide
+            if (reserva.venceEn < ahora && reserva.estado.compareAndSet(EstadoReserva.ACTIVA, EstadoReserva.CERRADA)) {
+                devolver(reserva);
+                liberadas++;
+            }
+        }
+        return liberadas;
+    }
+
+    // Cambios de productos hechos fuera de las reservas (admin): se toma el stock nuevo como base
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCatalogoCambiado(CatalogoCambiadoEvent evento) {
+        if (evento.productoId() == null && !evento.esCompleto()) return;
+
+        List<Long> ids = evento.esCompleto()
+            ? new ArrayList<>(contadores.keySet())
+            : contadores.containsKey(evento.productoId()) ? List.of(evento.productoId()) : List.of();
+        if (ids.isEmpty()) return;
+
+        Set<Long> encontrados = new HashSet<>();
+        for (Object[] fila : productoRepository.findStockYVersionByIdIn(ids)) {
+            Long id = (Long) fila[0];
+            Contador contador = contadores.get(id);
+            if (contador != null) contador.resincronizar(entero(fila[1]), version(fila[2]));
+            encontrados.add(id);
+        }
+        ids.stream().filter(id -> !encontrados.contains(id)).forEach(contadores::remove);
+    }
+
+    private static int entero(Object valor) {
+        return valor != null ? ((Number) valor).intValue() : 0;
+    }
+
+    private static long version(Object valor) {
+        return valor != null ? ((Number) valor).longValue() : 0L;
+    }
+}
@@ -13,6 +13,7 @@ export class CartManager {
         this.isOpen = false;
         this.storageKey = CART_CONFIG.storageKey;
         this.cartButtonsInitialized = false; // Evitar duplicados
+        this.serverSyncTimer = null;
         
         this.init();
     }
@@ -22,6 +23,7 @@ export class CartManager {
         this.initializeElements();
         this.bindEvents();
         this.updateDisplay();
+        this.loadFromServer();
         
         console.log('🛒 Cart Manager initialized');
     }
@@ -95,6 +97,7 @@ initializeCartButtonsDelegation() {
         
         // Crear objeto producto básico desde los data attributes del botón
         const product = {
+            productoId: parseInt(addButton.dataset.productId) || null,
             name: addButton.dataset.product || 'Producto',
             price: parseInt(addButton.dataset.price) || 0,
             image: addButton.dataset.image || 'Images/default-burger.png',
@@ -127,6 +130,7 @@ initializeCartButtonsDelegation() {
         // Normalizar el objeto producto para manejar diferentes estructuras
         const normalizedProduct = {
             id: product.id || Date.now(),
+            productoId: product.productoId || product.id || null,
             name: product.name || product.nombre || 'Producto sin nombre',
             price: product.price || product.precio || 0,
             image: product.image || product.imagen || product.imgURL || 'Images/default-burger.png',
@@ -148,6 +152,7 @@ initializeCartButtonsDelegation() {
         } else {
             this.items.push({
                 id: Date.now(),
+                productoId: normalizedProduct.productoId,
                 name: normalizedProduct.name,
                 price: normalizedProduct.price,
                 image: normalizedProduct.image,
@@ -531,20 +536,42 @@ initializeCartButtonsDelegation() {
         }, 10);
     }
     
-    processOrder(modal) {
+    async processOrder(modal) {
         const submitBtn = modal.querySelector('.btn-confirm');
+        const originalText = submitBtn.innerHTML;
         
         // Show loading state
         submitBtn.innerHTML = '<i class="fas fa-spinner fa-spin"></i> Procesando...';
         submitBtn.disabled = true;
         
-        // Simulate order processing
-        setTimeout(() => {
-            const orderNumber = Math.random().toString(36).substr(2, 9).toUpperCase();
+        // Solo se envían IDs y cantidades: el servidor calcula los precios
+        const payload = {
+            direccion: modal.querySelector('.checkout-form textarea')?.value || '',
+            items: this.items.map(item => ({
+                productoId: item.productoId,
+                cantidad: item.quantity,
+                adicionales: (item.adicionales || []).map(a => a.id)
+            }))
+        };
+        
+        try {
+            const response = await fetch('/api/pedidos/checkout', {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify(payload)
+            });
+            const result = await response.json().catch(() => ({}));
+            
+            if (!response.ok || !result.success) {
+                const message = response.status === 401
+                    ? 'Inicia sesión para confirmar tu pedido'
+                    : (result.message || 'No se pudo procesar el pedido');
+                throw new Error(message);
+            }
             
             if (window.BurgerClub?.showNotification) {
                 window.BurgerClub.showNotification(
-                    `¡Pedido confirmado! #${orderNumber}. Tiempo estimado: 25-35 min`,
+                    `¡Pedido confirmado! #${result.pedidoId}. Tiempo estimado: 25-35 min`,
                     'success'
                 );
             }
@@ -552,7 +579,15 @@ initializeCartButtonsDelegation() {
             this.clearCart();
             this.closeCheckoutModal(modal);
             this.closeCart();
-        }, 2000);
+            this.trackOrder(result.pedidoId);
+        } catch (error) {
+            console.error('❌ Checkout error:', error);
+            if (window.BurgerClub?.showNotification) {
+                window.BurgerClub.showNotification(error.message, 'error');
+            }
+            submitBtn.innerHTML = originalText;
+            submitBtn.disabled = false;
+        }
     }
     
     closeCheckoutModal(modal) {
@@ -564,8 +599,106 @@ initializeCartButtonsDelegation() {
         }, 300);
     }
     
+    // ========== ORDER TRACKING ==========
+    // Avisos en vivo del estado del pedido (SSE); EventSource reconecta solo si se corta la conexión
+    trackOrder(pedidoId) {
+        if (!window.EventSource || !pedidoId) return;
+
+        const mensajes = {
+            ASIGNADO: `Tu pedido #${pedidoId} ya tiene domiciliario`,
+            EN_CAMINO: `¡Tu pedido #${pedidoId} va en camino!`,
+            ENTREGADO: `Pedido #${pedidoId} entregado. ¡Buen provecho!`,
+            CANCELADO: `Tu pedido #${pedidoId} fue cancelado`
+        };
+        const source = new EventSource(`/api/pedidos/${pedidoId}/eventos`);
+        let lastId = 0;
+        let lastEstado = null;
+
+        source.addEventListener('estado', (event) => {
+            // Un estado con id menor al último ya visto es más viejo: se ignora
+            const id = Number(event.lastEventId);
+            if (id < lastId) return;
+            lastId = id;
+
+            const { estado } = JSON.parse(event.data);
+            if (lastEstado !== null && estado !== lastEstado && mensajes[estado] && window.BurgerClub?.showNotification) {
+                window.BurgerClub.showNotification(mensajes[estado], estado === 'CANCELADO' ? 'error' : 'success');
+            }
+            lastEstado = estado;
+            if (estado === 'ENTREGADO' || estado === 'CANCELADO') {
+                source.close();
+            }
+        });
+    }
+    
+    // ========== SERVER SYNC ==========
+    // El servidor guarda el carrito (por sesión o por cliente) y lo valida contra el catálogo.
+    // localStorage queda como copia local para pintar rápido al cargar la página
+    async loadFromServer() {
+        try {
+            const response = await fetch(CART_CONFIG.serverUrl);
+            if (!response.ok) return;
+            const { carrito } = await response.json();
+
+            if (carrito?.items?.length > 0) {
+                this.items = carrito.items
+                    .filter(item => item.disponible)
+                    .map((item, index) => this.fromServerItem(item, index));
+                this.calculateTotal();
+                this.updateDisplay();
+                this.saveToStorage(false);
+            } else if (this.items.length > 0) {
+                // Primer uso del servidor (o carrito vacío allá): se sube el local
+                this.syncToServer();
+            }
+        } catch (error) {
+            console.warn('Could not load cart from server:', error);
+        }
+    }
+
+    scheduleServerSync() {
+        clearTimeout(this.serverSyncTimer);
+        this.serverSyncTimer = setTimeout(() => this.syncToServer(), CART_CONFIG.serverSyncDelay);
+    }
+
+    async syncToServer() {
+        const items = this.items
+            .filter(item => item.productoId)
+            .map(item => ({
+                productoId: item.productoId,
+                cantidad: item.quantity,
+                adicionales: (item.adicionales || []).map(a => a.id).filter(id => id != null)
+            }));
+        try {
+            await fetch(CART_CONFIG.serverUrl, {
+                method: 'PUT',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ items })
+            });
+        } catch (error) {
+            console.warn('Could not sync cart to server:', error);
+        }
+    }
+
+    fromServerItem(item, index) {
+        return {
+            id: Date.now() + index,
+            productoId: item.productoId,
+            name: item.nombre || 'Producto',
+            price: item.precioBase,
+            image: item.imagen || 'Images/default-burger.png',
+            quantity: item.cantidad,
+            adicionales: (item.adicionales || []).map(a => ({ id: a.id, nombre: a.nombre, precio: a.precio })),
+            precioBase: item.precioBase,
+            precioTotal: item.precioUnitario
+        };
+    }
+    
     // ========== STORAGE ==========
-    saveToStorage() {
+    saveToStorage(syncServer = true) {
+        if (syncServer) {
+            this.scheduleServerSync();
+        }
         try {
             const cartData = {
                 items: this.items,
@@ -230,12 +230,44 @@ class MenuFiltersManager {
         this.suggestionsList = container.querySelector('.suggestions-list');
     }
     
-    showSuggestions(query) {
+    async fetchSuggestions(query) {
+        // Sugerencias rankeadas del índice de búsqueda del servidor
+        try {
+            const response = await fetch(`/api/menu/autocomplete?q=${encodeURIComponent(query)}&limit=6`);
+            if (!response.ok) throw new Error(`HTTP ${response.status}`);
+            
+            const productos = await response.json();
+            return productos.map(producto => ({
+                text: producto.nombre,
+                icon: this.getCategoryIcon(producto.categoria),
+                category: producto.categoria
+            }));
+        } catch (error) {
+            console.warn('Autocomplete unavailable, using local suggestions:', error);
+            return this.suggestions.filter(suggestion =>
+                suggestion.text.toLowerCase().includes(query.toLowerCase())
+            ).slice(0, 6);
+        }
+    }
+    
+    getCategoryIcon(category) {
+        const icons = {
+            'hamburguesa': 'fas fa-hamburger',
+            'acompañamiento': 'fas fa-utensils',
+            'perro caliente': 'fas fa-hotdog',
+            'bebida': 'fas fa-glass-whiskey',
+            'postre': 'fas fa-ice-cream'
+        };
+        return icons[category] || 'fas fa-search';
+    }
+    
+    async showSuggestions(query) {
         if (!this.suggestionsContainer || !this.suggestionsList) return;
         
-        const filteredSuggestions = this.suggestions.filter(suggestion =>
-            suggestion.text.toLowerCase().includes(query.toLowerCase())
-        ).slice(0, 6);
+        const filteredSuggestions = await this.fetchSuggestions(query);
+        
+        // Ignore stale responses if the user kept typing
+        if (!this.searchInput || this.searchInput.value.trim() !== query) return;
         
         if (filteredSuggestions.length === 0) {
             this.hideSuggestions();
@@ -62,7 +62,9 @@ export const NOTIFICATION_TYPES = {
 export const CART_CONFIG = {
     storageKey: 'burgerclub_cart',
     maxItems: 10,
-    autoCloseTimeout: 4000
+    autoCloseTimeout: 4000,
+    serverUrl: '/api/carrito',
+    serverSyncDelay: 400
 };
 
 export const MENU_CONFIG = {
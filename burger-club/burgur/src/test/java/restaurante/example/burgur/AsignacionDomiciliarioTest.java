@@ -0,0 +1,97 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import restaurante.example.burgur.Model.Domiciliario;
+import restaurante.example.burgur.Model.Pedido;
+import restaurante.example.burgur.Repository.DomiciliarioRepository;
+import restaurante.example.burgur.Repository.PedidoRepository;
+import restaurante.example.burgur.Service.DisponibilidadDomiciliarios;
+import restaurante.example.burgur.Service.DomiciliarioService;
+import restaurante.example.burgur.Service.PedidoService;
+
+// Muchos operadores asignando a la vez: ningún domiciliario queda en dos pedidos
+// y se asignan exactamente tantos pedidos como domiciliarios libres había.
+@SpringBootTest
+class AsignacionDomiciliarioTest {
+
+    private static final int PEDIDOS_DE_MAS = 5;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private DomiciliarioService domiciliarioService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private DomiciliarioRepository domiciliarioRepository;
+
+    @Autowired
+    private DisponibilidadDomiciliarios disponibilidad;
+
+    private final List<Pedido> pedidos = new ArrayList<>();
+    private final Set<Long> asignados = ConcurrentHashMap.newKeySet();
+
+    @AfterEach
+    void limpiar() {
+        asignados.forEach(domiciliarioService::liberarDomiciliario);
+        pedidoRepository.deleteAll(pedidos);
+    }
+
+    @Test
+    void asignacionesConcurrentesNoRepitenDomiciliario() throws Exception {
+        disponibilidad.resincronizar();
+        int libres = domiciliarioRepository.findByDisponibleTrue().size();
+        assertEquals(libres, disponibilidad.cantidadDisponibles());
+
+        for (int i = 0; i < libres + PEDIDOS_DE_MAS; i++) {
+            pedidos.add(new Pedido(new Date(), null, "PENDIENTE", 0f));
+        }
+        pedidoRepository.saveAll(pedidos);
+
+        AtomicInteger sinDomiciliario = new AtomicInteger();
+        AtomicInteger repetidos = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        try (ExecutorService operadores = Executors.newFixedThreadPool(8)) {
+            for (Pedido pedido : pedidos) {
+                operadores.submit(() -> {
+                    largada.await();
+                    try {
+                        Domiciliario domiciliario = pedidoService.asignarDomiciliario(pedido.getId());
+                        if (!asignados.add(domiciliario.getId())) {
+                            repetidos.incrementAndGet();
+                        }
+                    } catch (IllegalStateException e) {
+                        sinDomiciliario.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            largada.countDown();
+        }
+
+        assertEquals(0, repetidos.get(), "Un domiciliario quedó asignado a dos pedidos");
+        assertEquals(libres, asignados.size());
+        assertEquals(PEDIDOS_DE_MAS, sinDomiciliario.get());
+        assertEquals(0, disponibilidad.cantidadDisponibles());
+        assertEquals(0, domiciliarioRepository.countByDisponibleTrue());
+    }
+}
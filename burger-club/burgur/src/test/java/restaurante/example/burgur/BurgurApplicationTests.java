@@ -1,13 +1,177 @@
 package restaurante.example.burgur;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import restaurante.example.burgur.Config.ContadorConsultas;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Service.CatalogoCache;
+import restaurante.example.burgur.Service.StockReservaService;
 
 @SpringBootTest
+@AutoConfigureMockMvc
 class BurgurApplicationTests {
 
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CatalogoCache catalogoCache;
+
+	@Autowired
+	private StockReservaService stockReservaService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	@Test
 	void contextLoads() {
 	}
 
+	// ==========================================
+	// PRESUPUESTO DE CONSULTAS POR ENDPOINT
+	// ==========================================
+	// Con los datos de prueba (~20 productos) un N+1 (ej: ingredientes por producto) pasa de sobra cualquiera de estos topes
+
+	@Test
+	void menuDentroDelPresupuesto() throws Exception {
+		assertConsultasMaximas("/menu", 3);
+		assertConsultasMaximas("/menu/category?categoria=hamburguesa", 3);
+	}
+
+	@Test
+	void catalogoJsonDentroDelPresupuesto() throws Exception {
+		assertConsultasMaximas("/menu/productos?tamano=50", 3);
+		assertConsultasMaximas("/menu/productos/1", 2);
+	}
+
+	@Test
+	void listadosAdminDentroDelPresupuesto() throws Exception {
+		assertConsultasMaximas("/menu/admin", 3);
+		assertConsultasMaximas("/admin/adicionales", 4);
+		assertConsultasMaximas("/admin/clientes", 3);
+	}
+
+	@Test
+	void respuestasLlevanElConteoDeConsultas() throws Exception {
+		MvcResult resultado = mockMvc.perform(get("/admin/adicionales"))
+			.andExpect(status().isOk())
+			.andExpect(header().exists("Server-Timing"))
+			.andReturn();
+		int enCabecera = Integer.parseInt(resultado.getResponse().getHeader("X-Query-Count"));
+		assertTrue(enCabecera > 0, "La vista consulta la BD y la cabecera marca 0");
+	}
+
+	@Test
+	void medicionesAnidadasSumanALaContenedora() throws Exception {
+		ContadorConsultas.Medicion externa = ContadorConsultas.iniciar();
+		int interna;
+		try {
+			interna = consultasAlPedir("/admin/adicionales");
+		} finally {
+			ContadorConsultas.terminar(externa);
+		}
+		assertEquals(interna, externa.getConsultas());
+	}
+
+	// ==========================================
+	// ETAG DEL CATÁLOGO
+	// ==========================================
+
+	@Test
+	void etagVigenteDevuelve304() throws Exception {
+		Long id = catalogoCache.snapshot().getActivos().get(0).getId();
+		for (String url : new String[] { "/menu", "/menu/productos/" + id }) {
+			String etag = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+			assertEquals(catalogoCache.etag(), etag, url);
+			mockMvc.perform(get(url).header("If-None-Match", etag))
+				.andExpect(status().isNotModified());
+		}
+	}
+
+	@Test
+	void guardarProductoDesdeAdminCambiaElEtag() throws Exception {
+		Producto producto = catalogoCache.snapshot().getActivos().get(0);
+		String etag = mockMvc.perform(get("/menu")).andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+
+		guardarDesdeAdmin(producto, "Descripción editada por el admin");
+		try {
+			String nuevo = mockMvc.perform(get("/menu").header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+			assertNotEquals(etag, nuevo);
+			mockMvc.perform(get("/menu/productos/" + producto.getId()).header("If-None-Match", etag))
+				.andExpect(status().isOk());
+		} finally {
+			guardarDesdeAdmin(producto, producto.getDescripcion());
+		}
+	}
+
+	@Test
+	void descargaDeStockNoCambiaElEtagDelMenu() throws Exception {
+		String etag = mockMvc.perform(get("/menu")).andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+		Producto producto = catalogoCache.snapshot().getActivos().stream().filter(p -> p.getStock() > 0).findFirst().orElseThrow();
+		int stockInicial = producto.getStock();
+
+		stockReservaService.confirmar(stockReservaService.reservar(Map.of(producto.getId(), 1)));
+		stockReservaService.descargarPendientes(); // la tarea programada pudo haberse adelantado
+
+		assertEquals(stockInicial - 1, catalogoCache.snapshot().getProducto(producto.getId()).getStock());
+		mockMvc.perform(get("/menu").header("If-None-Match", etag))
+			.andExpect(status().isNotModified());
+	}
+
+	// ==========================================
+	// API DE PRUEBA
+	// ==========================================
+
+	// PUT del formulario de productos del admin con los datos actuales y otra descripción
+	void guardarDesdeAdmin(Producto producto, String descripcion) throws Exception {
+		Map<String, Object> cuerpo = new HashMap<>();
+		cuerpo.put("nombre", producto.getNombre());
+		cuerpo.put("categoria", producto.getCategoria());
+		cuerpo.put("precio", producto.getPrecio());
+		cuerpo.put("stock", producto.getStock());
+		cuerpo.put("descripcion", descripcion);
+		cuerpo.put("imgURL", producto.getImgURL());
+		cuerpo.put("ingredientes", producto.getIngredientes());
+		cuerpo.put("nuevo", producto.isNuevo());
+		cuerpo.put("popular", producto.isPopular());
+		cuerpo.put("activo", producto.isActivo());
+		mockMvc.perform(put("/menu/productos/" + producto.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(cuerpo)))
+			.andExpect(status().isOk());
+	}
+
+	// Consultas SQL de una petición GET, contadas en el mismo hilo que la atiende (MockMvc)
+	int consultasAlPedir(String url) throws Exception {
+		return ContadorConsultas.medir(() -> mockMvc.perform(get(url)).andExpect(status().isOk())).getConsultas();
+	}
+
+	// Se pide dos veces y se mide la segunda: la primera puede cargar cachés (catálogo, tarjetas, stock)
+	void assertConsultasMaximas(String url, int maximo) throws Exception {
+		consultasAlPedir(url);
+		int consultas = consultasAlPedir(url);
+		assertTrue(consultas <= maximo, url + " hizo " + consultas + " consultas; el presupuesto es " + maximo);
+	}
+
 }
@@ -0,0 +1,69 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Repository.ProductoRepository;
+import restaurante.example.burgur.Service.ProductoService;
+
+// La búsqueda del menú refleja los productos guardados, editados y eliminados en cuanto hacen commit
+@SpringBootTest
+class BusquedaCatalogoTest {
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    private final List<Long> creados = new ArrayList<>();
+
+    @AfterEach
+    void limpiar() {
+        creados.stream().filter(productoRepository::existsById).forEach(productoService::deleteById);
+    }
+
+    @Test
+    void guardarEditarYEliminarActualizanElIndice() {
+        Producto producto = new Producto();
+        producto.setNombre("Arepa Zuliana");
+        producto.setDescripcion("Rellena de queso");
+        producto.setCategoria("acompañamiento");
+        producto.setPrecio(9_000);
+        producto.setStock(10);
+        producto.setActivo(true);
+        producto.setIngredientes(new ArrayList<>(List.of("maíz", "queso")));
+        Long id = productoService.save(producto).getId();
+        creados.add(id);
+
+        assertEquals(List.of(id), ids(productoService.autocompletar("zuli", 5)));
+        assertEquals(List.of(id), ids(productoService.findByNombre("arepa zuliana")));
+
+        Producto editado = productoRepository.findById(id).orElseThrow();
+        editado.setNombre("Cachapa Llanera");
+        productoService.save(editado);
+        assertEquals(List.of(), productoService.autocompletar("zuli", 5));
+        assertEquals(List.of(id), ids(productoService.autocompletar("llaner", 5)));
+
+        // Desactivado: sale del índice aunque siga en la BD
+        editado = productoRepository.findById(id).orElseThrow();
+        editado.setActivo(false);
+        productoService.save(editado);
+        assertEquals(List.of(), productoService.autocompletar("llaner", 5));
+
+        productoService.deleteById(id);
+        assertEquals(List.of(), productoService.findByNombre("cachapa"));
+    }
+
+    private static List<Long> ids(List<Producto> productos) {
+        return productos.stream().map(Producto::getId).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import restaurante.example.burgur.Config.ContadorConsultas;
+import restaurante.example.burgur.Model.Carrito;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Repository.CarritoRepository;
+import restaurante.example.burgur.Repository.ClienteRepository;
+import restaurante.example.burgur.Service.CarritoService;
+import restaurante.example.burgur.Service.CarritoVista;
+import restaurante.example.burgur.Service.CatalogoCache;
+import restaurante.example.burgur.Service.DuenoCarrito;
+import restaurante.example.burgur.Service.LineaCheckout;
+
+// El carrito se arma en memoria sin tocar la BD, se fusiona al iniciar sesión
+// y llega a la tabla Carrito recién con el guardado diferido.
+@SpringBootTest
+class CarritoServidorTest {
+
+    private static final DuenoCarrito ANONIMO = new DuenoCarrito(null, "sesion-de-prueba");
+
+    @Autowired
+    private CarritoService carritoService;
+
+    @Autowired
+    private CarritoRepository carritoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    private Long clienteId;
+    private Producto producto;
+
+    @BeforeEach
+    void preparar() {
+        clienteId = clienteRepository.findAll().get(0).getId();
+        producto = catalogoCache.snapshot().getActivos().get(0);
+        carritoService.eliminarDeCliente(clienteId);
+        carritoService.vaciar(ANONIMO);
+    }
+
+    @AfterEach
+    void limpiar() {
+        carritoService.eliminarDeCliente(clienteId);
+        carritoService.vaciar(ANONIMO);
+    }
+
+    @Test
+    void cambiosDelCarritoNoConsultanLaBd() throws Exception {
+        DuenoCarrito cliente = DuenoCarrito.cliente(clienteId);
+        carritoService.obtener(cliente); // primera vez: se carga de BD
+
+        int consultas = ContadorConsultas.medir(() -> {
+            carritoService.agregar(cliente, new LineaCheckout(producto.getId(), 2, List.of()));
+            carritoService.agregar(cliente, new LineaCheckout(producto.getId(), 1, List.of()));
+            return carritoService.obtener(cliente);
+        }).getConsultas();
+
+        assertEquals(0, consultas);
+        CarritoVista carrito = carritoService.obtener(cliente);
+        assertEquals(1, carrito.items().size());
+        assertEquals(3, carrito.unidades());
+        assertEquals(producto.getPrecio() * 3, carrito.total(), 0.001);
+    }
+
+    @Test
+    void alIniciarSesionSeSumaElCarritoAnonimo() {
+        carritoService.agregar(ANONIMO, new LineaCheckout(producto.getId(), 2, List.of()));
+        carritoService.agregar(DuenoCarrito.cliente(clienteId), new LineaCheckout(producto.getId(), 1, List.of()));
+
+        CarritoVista fusionado = carritoService.fusionarAlIniciarSesion(ANONIMO.sesionId(), clienteId);
+
+        assertEquals(3, fusionado.unidades());
+        assertEquals(0, carritoService.obtener(ANONIMO).unidades());
+    }
+
+    @Test
+    void guardadoDiferidoEscribeElCarritoDelCliente() {
+        carritoService.agregar(DuenoCarrito.cliente(clienteId), new LineaCheckout(producto.getId(), 4, List.of()));
+
+        carritoService.guardarPendientes();
+
+        Carrito guardado = carritoRepository.findByClienteId(clienteId).orElseThrow();
+        assertTrue(guardado.getLineas().contains("\"productoId\":" + producto.getId()), guardado.getLineas());
+        assertTrue(guardado.getLineas().contains("\"cantidad\":4"), guardado.getLineas());
+    }
+
+    @Test
+    void productoInexistenteSeRechaza() {
+        assertThrows(IllegalArgumentException.class,
+            () -> carritoService.agregar(ANONIMO, new LineaCheckout(-1L, 1, List.of())));
+    }
+}
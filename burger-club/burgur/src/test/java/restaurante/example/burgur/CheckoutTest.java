@@ -0,0 +1,168 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jayway.jsonpath.JsonPath;
+
+import jakarta.servlet.http.Cookie;
+
+import restaurante.example.burgur.Model.AdiXProdPedido;
+import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.AdicionalResumen;
+import restaurante.example.burgur.Model.Pedido;
+import restaurante.example.burgur.Model.ProdYAdiPedido;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Model.SesionCliente;
+import restaurante.example.burgur.Repository.AdicionalRepository;
+import restaurante.example.burgur.Repository.ClienteRepository;
+import restaurante.example.burgur.Repository.PedidoRepository;
+import restaurante.example.burgur.Service.CatalogoCache;
+import restaurante.example.burgur.Service.PedidoService;
+import restaurante.example.burgur.Service.StockReservaService;
+
+// El checkout arma el pedido con precios del catálogo: del navegador solo se toman IDs y cantidades,
+// y los adicionales tienen que estar permitidos para el producto de su línea.
+@SpringBootTest
+@AutoConfigureMockMvc
+class CheckoutTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private StockReservaService stockReservaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SessionRepository<? extends Session> sessionRepository;
+
+    private Cookie sesion;
+    private String sesionId;
+    private Producto producto;
+    private AdicionalResumen permitido;
+    private final List<Long> pedidos = new ArrayList<>();
+    private final List<Adicional> adicionales = new ArrayList<>();
+
+    @BeforeEach
+    void preparar() {
+        sesion = iniciarSesion(sessionRepository, SesionCliente.de(clienteRepository.findAll().get(0)));
+        // Un producto con stock y al menos un adicional permitido
+        for (Producto p : catalogoCache.snapshot().getActivos()) {
+            List<AdicionalResumen> delProducto = catalogoCache.snapshot().getAdicionalesPermitidos(p.getId());
+            if (p.getStock() >= 2 && delProducto.stream().anyMatch(AdicionalResumen::activo)) {
+                producto = p;
+                permitido = delProducto.stream().filter(AdicionalResumen::activo).findFirst().orElseThrow();
+                break;
+            }
+        }
+    }
+
+    @AfterEach
+    void limpiar() {
+        // Cancelar devuelve el stock antes de borrar
+        pedidos.forEach(id -> {
+            pedidoService.cambiarEstado(id, "CANCELADO");
+            pedidoRepository.deleteById(id);
+        });
+        adicionalRepository.deleteAll(adicionales);
+        sessionRepository.deleteById(sesionId);
+    }
+
+    @Test
+    void preciosSalenDelCatalogoYNoDelNavegador() throws Exception {
+        String cuerpo = """
+            {"total": 1, "items": [{"productoId": %d, "cantidad": 2, "adicionales": [%d],
+                                    "precio": 1, "precioUnitario": 1, "subtotal": 1}]}
+            """.formatted(producto.getId(), permitido.id());
+        String respuesta = mockMvc.perform(post("/api/pedidos/checkout").cookie(sesion)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(cuerpo))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.total").value(Matchers.closeTo((producto.getPrecio() + permitido.precio()) * 2, 0.01)))
+            .andReturn().getResponse().getContentAsString();
+        Long pedidoId = JsonPath.<Number>read(respuesta, "$.pedidoId").longValue();
+        pedidos.add(pedidoId);
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            Pedido pedido = pedidoRepository.findById(pedidoId).orElseThrow();
+            assertEquals((producto.getPrecio() + permitido.precio()) * 2, pedido.getPrecioTotal(), 0.01);
+            ProdYAdiPedido linea = pedido.getProductosYAdicionales().get(0);
+            assertEquals(2, linea.getCantidad());
+            assertEquals(producto.getPrecio(), linea.getPrecioUnitario(), 0.01);
+
+            // Un adicional por unidad del producto: la cantidad de la línea pasa al adicional
+            AdiXProdPedido extra = linea.getAdicionalesPorProducto().get(0);
+            assertEquals(permitido.id(), extra.getAdicional().getId());
+            assertEquals(2, extra.getCantidad());
+            assertEquals(permitido.precio(), extra.getPrecioUnitario(), 0.01);
+        });
+    }
+
+    @Test
+    void adicionalNoPermitidoSeRechaza() throws Exception {
+        // Adicional activo sin vínculo con ningún producto
+        adicionales.add(adicionalRepository.save(new Adicional("Adicional no permitido", 500, List.of("postre"))));
+        Long noPermitido = adicionales.get(0).getId();
+        long pedidosAntes = pedidoRepository.count();
+        int stockAntes = stockReservaService.disponible(producto.getId());
+
+        mockMvc.perform(post("/api/pedidos/checkout").cookie(sesion)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\": [{\"productoId\": %d, \"cantidad\": 1, \"adicionales\": [%d, %d]}]}"
+                    .formatted(producto.getId(), permitido.id(), noPermitido)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.success").value(false))
+            .andExpect(jsonPath("$.message").value(Matchers.containsString("no está permitido")));
+
+        assertEquals(pedidosAntes, pedidoRepository.count());
+        assertEquals(stockAntes, stockReservaService.disponible(producto.getId()));
+    }
+
+    // El filtro de spring-session no usa la MockHttpSession: la sesión se guarda en el almacén JDBC
+    // y se envía su cookie como lo haría el navegador (el ID va en Base64)
+    private <S extends Session> Cookie iniciarSesion(SessionRepository<S> repositorio, SesionCliente usuario) {
+        S nueva = repositorio.createSession();
+        nueva.setAttribute(SesionCliente.ATRIBUTO, usuario);
+        repositorio.save(nueva);
+        sesionId = nueva.getId();
+        return new Cookie("SESSION", Base64.getEncoder().encodeToString(sesionId.getBytes(StandardCharsets.UTF_8)));
+    }
+}
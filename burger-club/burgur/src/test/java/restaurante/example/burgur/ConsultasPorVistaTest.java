@@ -0,0 +1,113 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import restaurante.example.burgur.Config.ContadorConsultas;
+import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Repository.AdicionalRepository;
+import restaurante.example.burgur.Repository.ProductoRepository;
+import restaurante.example.burgur.Service.CatalogoCache;
+
+// Las vistas del catálogo deben hacer el mismo número de consultas con 10 o con 1.000 filas:
+// se renderiza cada vista, se agregan filas y se comprueba que el conteo no cambia (sin N+1).
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConsultasPorVistaTest {
+
+    private static final int FILAS_EXTRA = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    private final List<Producto> productosExtra = new ArrayList<>();
+    private final List<Adicional> adicionalesExtra = new ArrayList<>();
+
+    @AfterEach
+    void limpiar() {
+        productoRepository.deleteAll(productosExtra);
+        adicionalRepository.deleteAll(adicionalesExtra);
+        catalogoCache.recargar();
+    }
+
+    @Test
+    void menuNoDependeDelTamanoDelCatalogo() throws Exception {
+        int base = consultasMenuConCatalogoRecargado();
+        agregarProductos();
+        assertEquals(base, consultasMenuConCatalogoRecargado(), "El menú hace una consulta más por producto");
+    }
+
+    @Test
+    void adminProductosNoDependeDelTamanoDelCatalogo() throws Exception {
+        int base = consultasAlPedir("/menu/admin");
+        agregarProductos();
+        assertEquals(base, consultasAlPedir("/menu/admin"), "El listado de productos hace una consulta más por fila");
+    }
+
+    @Test
+    void adminAdicionalesNoDependeDeLaCantidadDeAdicionales() throws Exception {
+        int base = consultasAlPedir("/admin/adicionales");
+        agregarAdicionales();
+        assertEquals(base, consultasAlPedir("/admin/adicionales"), "El listado de adicionales hace una consulta más por fila");
+    }
+
+    // ==========================================
+    // APOYO
+    // ==========================================
+
+    // Recarga completa del catálogo + render de /menu (sin la caché de tarjetas de la versión anterior)
+    private int consultasMenuConCatalogoRecargado() throws Exception {
+        return ContadorConsultas.medir(() -> {
+            catalogoCache.recargar();
+            return mockMvc.perform(get("/menu")).andExpect(status().isOk());
+        }).getConsultas();
+    }
+
+    // Solo las consultas de este hilo: las tareas programadas (stock, carritos) no cuentan
+    private int consultasAlPedir(String url) throws Exception {
+        return ContadorConsultas.medir(() -> mockMvc.perform(get(url)).andExpect(status().isOk())).getConsultas();
+    }
+
+    private void agregarProductos() {
+        for (int i = 0; i < FILAS_EXTRA; i++) {
+            Producto p = new Producto();
+            p.setNombre("Consulta test " + i);
+            p.setDescripcion("Producto de prueba");
+            p.setCategoria("hamburguesa");
+            p.setPrecio(10_000 + i);
+            p.setStock(20);
+            p.setActivo(true);
+            p.setIngredientes(new ArrayList<>(List.of("pan", "carne", "queso", "tomate")));
+            productosExtra.add(p);
+        }
+        productoRepository.saveAll(productosExtra);
+    }
+
+    private void agregarAdicionales() {
+        for (int i = 0; i < FILAS_EXTRA; i++) {
+            adicionalesExtra.add(new Adicional("Consulta test " + i, 1_000 + i, List.of("hamburguesa", "perro caliente")));
+        }
+        adicionalRepository.saveAll(adicionalesExtra);
+    }
+}
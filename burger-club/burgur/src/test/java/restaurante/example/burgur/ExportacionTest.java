@@ -0,0 +1,121 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import restaurante.example.burgur.Model.Cliente;
+import restaurante.example.burgur.Repository.ClienteRepository;
+
+// Las exportaciones se escriben en un hilo asíncrono: el cuerpo se lee después del asyncDispatch.
+// Los textos con comas, comillas y saltos de línea tienen que sobrevivir al CSV y al NDJSON.
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportacionTest {
+
+    private static final String NOMBRE = "Ana, \"la del 5\"";
+    private static final String DIRECCION = "Calle 10 # 5-20\nApto 301";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Cliente cliente;
+
+    @BeforeEach
+    void preparar() {
+        Cliente nuevo = new Cliente();
+        nuevo.setNombre(NOMBRE);
+        nuevo.setApellido("Pérez");
+        nuevo.setCorreo("exportacion-test@burgur.co");
+        nuevo.setContrasena("clave-de-prueba");
+        nuevo.setTelefono("3001234567");
+        nuevo.setDireccion(DIRECCION);
+        nuevo.setActivo(true);
+        cliente = clienteRepository.save(nuevo);
+    }
+
+    @AfterEach
+    void limpiar() {
+        clienteRepository.delete(cliente);
+    }
+
+    @Test
+    void csvEscapaComasComillasYSaltosDeLinea() throws Exception {
+        String cuerpo = exportarClientes("csv");
+
+        assertTrue(cuerpo.startsWith("id,nombre,apellido,correo,telefono,direccion,activo\r\n"), cuerpo);
+        // Campo entre comillas, comillas internas duplicadas y el salto de línea dentro del campo
+        String fila = cliente.getId() + ",\"Ana, \"\"la del 5\"\"\",Pérez,exportacion-test@burgur.co,3001234567,"
+            + "\"Calle 10 # 5-20\nApto 301\",true\r\n";
+        assertTrue(cuerpo.contains(fila), cuerpo);
+    }
+
+    @Test
+    void ndjsonEsUnObjetoJsonPorLinea() throws Exception {
+        String cuerpo = exportarClientes("ndjson");
+
+        assertTrue(cuerpo.endsWith("\n"));
+        List<JsonNode> filas = new ArrayList<>();
+        for (String linea : cuerpo.split("\n")) {
+            JsonNode fila = objectMapper.readTree(linea);
+            assertTrue(fila.isObject(), linea);
+            filas.add(fila);
+        }
+        assertEquals(clienteRepository.count(), filas.size());
+
+        JsonNode exportado = filas.stream()
+            .filter(f -> f.get("id").asLong() == cliente.getId())
+            .findFirst().orElseThrow();
+        assertEquals(NOMBRE, exportado.get("nombre").asText());
+        assertEquals(DIRECCION, exportado.get("direccion").asText());
+        assertTrue(exportado.get("activo").asBoolean());
+    }
+
+    @Test
+    void formatoDesconocidoEs400() throws Exception {
+        mockMvc.perform(get("/admin/exportar/clientes").param("formato", "xml"))
+            .andExpect(status().isBadRequest())
+            .andExpect(request().asyncNotStarted());
+    }
+
+    // ==========================================
+    // API DE PRUEBA
+    // ==========================================
+
+    // La petición deja el StreamingResponseBody pendiente; el asyncDispatch lo ejecuta y devuelve el cuerpo
+    private String exportarClientes(String formato) throws Exception {
+        MvcResult inicio = mockMvc.perform(get("/admin/exportar/clientes").param("formato", formato))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(inicio))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(formato.equals("csv") ? "text/csv" : "application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
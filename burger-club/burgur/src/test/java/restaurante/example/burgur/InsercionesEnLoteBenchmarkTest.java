@@ -0,0 +1,111 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManagerFactory;
+import restaurante.example.burgur.Model.Domiciliario;
+import restaurante.example.burgur.Repository.DomiciliarioRepository;
+import restaurante.example.burgur.Service.ProductoService;
+
+// Compara INSERT fila por fila contra saveAll en lote (IDs de secuencia + hibernate.jdbc.batch_size).
+// No corre con el build normal: mvn test -Pbenchmark
+@SpringBootTest
+@Tag("benchmark")
+class InsercionesEnLoteBenchmarkTest {
+
+    private static final int FILAS = 2_000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DomiciliarioRepository domiciliarioRepository;
+
+    @Autowired
+    private ProductoService productoService;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void activarEstadisticas() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void saveAllAgrupaLosInsertEnLotes() {
+        // 1) Fila por fila: una transacción y un INSERT por registro (como los antiguos bucles de carga)
+        List<Domiciliario> unoPorUno = nuevosDomiciliarios("uno");
+        estadisticas.clear();
+        long inicio = System.nanoTime();
+        for (Domiciliario d : unoPorUno) {
+            domiciliarioRepository.save(d);
+        }
+        Medicion filaPorFila = new Medicion(System.nanoTime() - inicio, estadisticas.getPrepareStatementCount());
+
+        // 2) Lote: un saveAll en una transacción
+        List<Domiciliario> enLote = nuevosDomiciliarios("lote");
+        estadisticas.clear();
+        inicio = System.nanoTime();
+        domiciliarioRepository.saveAll(enLote);
+        Medicion lote = new Medicion(System.nanoTime() - inicio, estadisticas.getPrepareStatementCount());
+
+        imprimir("Fila por fila", filaPorFila);
+        imprimir("saveAll en lote", lote);
+
+        limpiar(unoPorUno, enLote);
+
+        // Con lotes de 50 y secuencias pooled se preparan ~FILAS/50 sentencias en vez de ~FILAS
+        assertTrue(lote.sentencias() * 10 < filaPorFila.sentencias(),
+            "saveAll debería preparar muchas menos sentencias: " + lote.sentencias() + " vs " + filaPorFila.sentencias());
+    }
+
+    @Test
+    void rebuildDeVinculosUsaPocasSentencias() {
+        estadisticas.clear();
+        long inicio = System.nanoTime();
+        int vinculos = productoService.rebuildAdicionalesDeTodosLosProductos();
+        Medicion rebuild = new Medicion(System.nanoTime() - inicio, estadisticas.getPrepareStatementCount());
+
+        imprimir("Rebuild de " + vinculos + " vínculos", rebuild);
+        assertTrue(rebuild.sentencias() < vinculos,
+            "El rebuild debería insertar en lotes: " + rebuild.sentencias() + " sentencias para " + vinculos + " vínculos");
+    }
+
+    // ==========================================
+    // APOYO
+    // ==========================================
+
+    private record Medicion(long nanos, long sentencias) {
+    }
+
+    private static List<Domiciliario> nuevosDomiciliarios(String prefijo) {
+        List<Domiciliario> lista = new ArrayList<>(FILAS);
+        for (int i = 0; i < FILAS; i++) {
+            lista.add(new Domiciliario("Bench " + prefijo + " " + i, "9" + i, true));
+        }
+        return lista;
+    }
+
+    private void limpiar(List<Domiciliario> primera, List<Domiciliario> segunda) {
+        List<Long> ids = new ArrayList<>();
+        primera.forEach(d -> ids.add(d.getId()));
+        segunda.forEach(d -> ids.add(d.getId()));
+        domiciliarioRepository.deleteAllByIdInBatch(ids);
+    }
+
+    private static void imprimir(String escenario, Medicion m) {
+        System.out.printf("📊 %-28s %8.1f ms  %6d sentencias preparadas%n", escenario, m.nanos() / 1_000_000.0, m.sentencias());
+    }
+}
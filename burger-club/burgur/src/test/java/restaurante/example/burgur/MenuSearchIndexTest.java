@@ -0,0 +1,167 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Service.MenuSearchIndex;
+
+// Ranking, normalización y actualización incremental del índice de búsqueda del menú (sin BD)
+class MenuSearchIndexTest {
+
+    private static final List<Producto> MENU = List.of(
+        producto(1L, "Hamburguesa Clásica", "La de siempre", false, "pan", "carne", "queso cheddar", "lechuga"),
+        producto(2L, "Doble Queso", "Con extra de queso", false, "pan", "carne", "queso"),
+        producto(3L, "Papas Fritas", "Acompañamiento crujiente", false, "papa", "sal"),
+        producto(4L, "Perro Caliente", "Con salsas de la casa", true, "pan", "salchicha", "queso"),
+        producto(5L, "Malteada de Fresa", "Bebida fría", false, "leche", "fresa", "helado"));
+
+    private final MenuSearchIndex indice = MenuSearchIndex.de(MENU);
+
+    // ==========================================
+    // RANKING
+    // ==========================================
+
+    @Test
+    void nombrePesaMasQueIngredientesYDescripcion() {
+        // "Doble Queso" lo tiene en el nombre; los otros dos solo en ingredientes
+        List<Long> resultado = ids(indice.buscar("queso", 10));
+        assertEquals(2L, resultado.get(0));
+        assertEquals(List.of(1L, 2L, 4L), resultado.stream().sorted().toList());
+    }
+
+    @Test
+    void aIgualCoincidenciaGanaElPopular() {
+        // pan: ingrediente de 1, 2 y 4; solo el 4 es popular
+        assertEquals(4L, ids(indice.buscar("pan", 10)).get(0));
+    }
+
+    @Test
+    void respetaElLimite() {
+        assertEquals(2, indice.buscar("pan", 2).size());
+        assertEquals(List.of(), indice.buscar("pan", 0));
+    }
+
+    // ==========================================
+    // NORMALIZACIÓN
+    // ==========================================
+
+    @Test
+    void ignoraTildesYMayusculas() {
+        assertEquals(List.of(1L), ids(indice.buscar("CLASICA", 10)));
+        assertEquals(List.of(1L), ids(indice.buscar("clásica", 10)));
+        assertEquals(List.of(5L), ids(indice.buscar("Fría", 10)));
+        assertEquals(List.of(3L), ids(indice.buscar("ACOMPANAMIENTO", 10)));
+    }
+
+    @Test
+    void consultaVaciaOSoloSignosNoDevuelveNada() {
+        assertEquals(List.of(), indice.buscar("", 10));
+        assertEquals(List.of(), indice.buscar("  ¿?! ", 10));
+        assertEquals(List.of(), indice.buscar(null, 10));
+    }
+
+    // ==========================================
+    // VARIOS TÉRMINOS
+    // ==========================================
+
+    @Test
+    void todosLosTerminosDebenAparecer() {
+        assertEquals(List.of(1L, 2L, 4L), ids(indice.buscar("pan queso", 10)).stream().sorted().toList());
+        assertEquals(List.of(1L), ids(indice.buscar("carne cheddar", 10)));
+        assertEquals(List.of(), ids(indice.buscar("queso fresa", 10)));
+    }
+
+    @Test
+    void terminosSonSubcadenasDePalabras() {
+        assertEquals(List.of(4L), ids(indice.buscar("salchi", 10)));
+        assertEquals(List.of(3L), ids(indice.buscar("crujient", 10)));
+    }
+
+    // ==========================================
+    // AUTOCOMPLETADO
+    // ==========================================
+
+    @Test
+    void prefijosCortosUsanElDiccionario() {
+        // 1-2 letras: palabras que empiezan así, no subcadenas
+        assertEquals(4L, ids(indice.autocompletar("pe", 5)).get(0));
+        assertEquals(List.of(5L), ids(indice.autocompletar("m", 5)));
+        assertEquals(List.of(), ids(indice.autocompletar("zz", 5)));
+        assertTrue(ids(indice.autocompletar("p", 10)).containsAll(List.of(1L, 2L, 3L, 4L)));
+    }
+
+    @Test
+    void prefijoDelNombreVaPrimero() {
+        assertEquals(3L, ids(indice.autocompletar("pap", 5)).get(0));
+        assertEquals(1L, ids(indice.autocompletar("ham", 5)).get(0));
+    }
+
+    // ==========================================
+    // CAMBIOS INCREMENTALES
+    // ==========================================
+
+    @Test
+    void cambiosDeProductoSeReflejanSinReconstruir() {
+        MenuSearchIndex cambiado = indice
+            .conProducto(producto(3L, "Papas Criollas", "Acompañamiento", false, "papa criolla"))
+            .sinProducto(2L)
+            .conProducto(producto(6L, "Arepa Zuliana", "Con queso", false, "maíz", "queso"));
+
+        assertEquals(List.of(), cambiado.buscar("fritas", 10));
+        assertEquals(List.of(3L), ids(cambiado.buscar("criollas", 10)));
+        assertEquals(List.of(), cambiado.buscar("doble", 10));
+        assertEquals(List.of(6L), ids(cambiado.autocompletar("zu", 10)));
+        assertEquals(List.of(6L), ids(cambiado.buscar("maiz", 10)));
+        // El índice original no cambia
+        assertEquals(List.of(3L), ids(indice.buscar("fritas", 10)));
+    }
+
+    @Test
+    void incrementalDaLoMismoQueReconstruir() {
+        // Más de 64 productos y más de la mitad quitados: pasa también por la compactación
+        List<Producto> productos = new ArrayList<>();
+        for (long id = 1; id <= 80; id++) {
+            productos.add(producto(id, "Combo " + id + (id % 2 == 0 ? " doble" : " sencillo"), "Menú número " + id,
+                id % 7 == 0, "pan", id % 3 == 0 ? "tocineta" : "lechuga"));
+        }
+        MenuSearchIndex incremental = MenuSearchIndex.de(productos);
+        List<Producto> restantes = new ArrayList<>(productos);
+        for (long id = 1; id <= 50; id++) {
+            incremental = incremental.sinProducto(id);
+            restantes.remove(productos.get((int) id - 1));
+        }
+        Producto renombrado = producto(60L, "Combo 60 triple", "Menú número 60", false, "pan", "tocineta");
+        incremental = incremental.conProducto(renombrado);
+        restantes.set(restantes.indexOf(productos.get(59)), renombrado);
+
+        MenuSearchIndex reconstruido = MenuSearchIndex.de(restantes);
+        for (String consulta : List.of("combo", "doble", "sencillo", "tocineta", "triple", "co", "menu 6", "lechuga pan")) {
+            assertEquals(ids(reconstruido.buscar(consulta, 100)), ids(incremental.buscar(consulta, 100)), consulta);
+        }
+    }
+
+    // ==========================================
+    // API DE PRUEBA
+    // ==========================================
+
+    private static Producto producto(Long id, String nombre, String descripcion, boolean popular, String... ingredientes) {
+        Producto p = new Producto();
+        p.setId(id);
+        p.setNombre(nombre);
+        p.setDescripcion(descripcion);
+        p.setPopular(popular);
+        p.setActivo(true);
+        p.setIngredientes(List.of(ingredientes));
+        return p;
+    }
+
+    private static List<Long> ids(List<Producto> productos) {
+        return productos.stream().map(Producto::getId).toList();
+    }
+}
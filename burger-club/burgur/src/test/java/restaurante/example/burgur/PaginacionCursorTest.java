@@ -0,0 +1,98 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import restaurante.example.burgur.Model.Adicional;
+import restaurante.example.burgur.Repository.AdicionalRepository;
+import restaurante.example.burgur.Service.AdicionalService;
+import restaurante.example.burgur.Service.Pagina;
+
+// Recorrer un listado siguiendo los cursores devuelve cada fila una sola vez y en orden,
+// también cuando el campo de orden es null en algunas filas (esas van al final, por id).
+@SpringBootTest
+class PaginacionCursorTest {
+
+    private static final String CATEGORIA = "paginacion-test";
+
+    @Autowired
+    private AdicionalService adicionalService;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    private final List<Adicional> adicionales = new ArrayList<>();
+
+    @BeforeEach
+    void preparar() {
+        for (String nombre : new String[] { "b", null, "a", null, "c" }) {
+            adicionales.add(new Adicional(nombre, 1_000, List.of(CATEGORIA)));
+        }
+        adicionalRepository.saveAll(adicionales);
+    }
+
+    @AfterEach
+    void limpiar() {
+        adicionalRepository.deleteAll(adicionales);
+    }
+
+    @Test
+    void nulosAlFinalEnOrdenAscendente() {
+        List<Long> esperado = List.of(idDe("a"), idDe("b"), idDe("c"), adicionales.get(1).getId(), adicionales.get(3).getId());
+        // 2: el tramo de nulos empieza a mitad de una página; 3: empieza justo en una página nueva
+        assertEquals(esperado, recorrer("nombre", 2));
+        assertEquals(esperado, recorrer("nombre", 3));
+    }
+
+    @Test
+    void nulosAlFinalEnOrdenDescendente() {
+        List<Long> esperado = List.of(idDe("c"), idDe("b"), idDe("a"), adicionales.get(3).getId(), adicionales.get(1).getId());
+        assertEquals(esperado, recorrer("-nombre", 2));
+        assertEquals(esperado, recorrer("-nombre", 1));
+    }
+
+    @Test
+    void cursorDeOtroOrdenOMalFormadoSeRechaza() {
+        Pagina<Adicional> primera = adicionalService.paginar(CATEGORIA, null, "nombre", null, 2);
+        assertTrue(primera.hayMas());
+        assertThrows(IllegalArgumentException.class,
+            () -> adicionalService.paginar(CATEGORIA, null, "precio", primera.siguienteCursor(), 2));
+        assertThrows(IllegalArgumentException.class,
+            () -> adicionalService.paginar(CATEGORIA, null, "nombre", "no-es-un-cursor", 2));
+    }
+
+    // ==========================================
+    // API DE PRUEBA
+    // ==========================================
+
+    // Sigue los cursores hasta el final y devuelve los ids en el orden recibido
+    private List<Long> recorrer(String orden, int tamano) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        for (int paginas = 0; paginas <= adicionales.size(); paginas++) {
+            Pagina<Adicional> pagina = adicionalService.paginar(CATEGORIA, null, orden, cursor, tamano);
+            pagina.items().forEach(a -> ids.add(a.getId()));
+            if (!pagina.hayMas()) {
+                assertFalse(pagina.items().isEmpty() && paginas > 0, "Página vacía al final del recorrido");
+                return ids;
+            }
+            cursor = pagina.siguienteCursor();
+        }
+        throw new AssertionError("El recorrido no termina: " + ids);
+    }
+
+    private Long idDe(String nombre) {
+        return adicionales.stream().filter(a -> nombre.equals(a.getNombre())).findFirst().orElseThrow().getId();
+    }
+}
@@ -0,0 +1,191 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import jakarta.servlet.http.Cookie;
+
+import restaurante.example.burgur.Model.Cliente;
+import restaurante.example.burgur.Model.Pedido;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Model.SesionCliente;
+import restaurante.example.burgur.Repository.ClienteRepository;
+import restaurante.example.burgur.Repository.PedidoRepository;
+import restaurante.example.burgur.Repository.ProductoRepository;
+import restaurante.example.burgur.Service.CatalogoCache;
+import restaurante.example.burgur.Service.LineaCheckout;
+import restaurante.example.burgur.Service.PedidoService;
+import restaurante.example.burgur.Service.StockReservaService;
+
+// Los cambios de estado llegan por SSE a quien sigue el pedido y a la consola de operadores
+@SpringBootTest
+@AutoConfigureMockMvc
+class SeguimientoPedidosTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private SessionRepository<? extends Session> sessionRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private StockReservaService stockReservaService;
+
+    private final List<Pedido> pedidos = new ArrayList<>();
+    private final List<String> sesiones = new ArrayList<>();
+
+    @AfterEach
+    void limpiar() {
+        pedidoRepository.deleteAll(pedidos);
+        sesiones.forEach(sessionRepository::deleteById);
+    }
+
+    @Test
+    void clienteRecibeEstadoInicialYCambios() throws Exception {
+        Cliente cliente = clienteRepository.findAll().get(0);
+        Pedido pedido = nuevoPedido(cliente);
+        Cookie sesion = iniciarSesion(sessionRepository, SesionCliente.de(cliente));
+
+        MvcResult seguimiento = mockMvc.perform(get("/api/pedidos/" + pedido.getId() + "/eventos").cookie(sesion))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        esperarEvento(seguimiento, "PENDIENTE");
+
+        pedidoService.cambiarEstado(pedido.getId(), "CANCELADO");
+        esperarEvento(seguimiento, "CANCELADO");
+    }
+
+    @Test
+    void pedidoAjenoOSinSesionNoSePuedeSeguir() throws Exception {
+        Pedido pedido = nuevoPedido(clienteRepository.findAll().get(0));
+        mockMvc.perform(get("/api/pedidos/" + pedido.getId() + "/eventos"))
+            .andExpect(status().isUnauthorized());
+
+        Cookie otro = iniciarSesion(sessionRepository, new SesionCliente(-1L, "Otro", SesionCliente.ROL_CLIENTE));
+        mockMvc.perform(get("/api/pedidos/" + pedido.getId() + "/eventos").cookie(otro))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void consolaRecibeLosCambiosDeTodosLosPedidos() throws Exception {
+        Pedido pedido = nuevoPedido(null);
+        MvcResult consola = mockMvc.perform(get("/api/pedidos/eventos"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        pedidoService.cambiarEstado(pedido.getId(), "CANCELADO");
+        esperarEvento(consola, "\"pedidoId\":" + pedido.getId());
+    }
+
+    @Test
+    void transicionInvalidaDevuelveConflicto() throws Exception {
+        Pedido pedido = nuevoPedido(null);
+        mockMvc.perform(put("/api/pedidos/" + pedido.getId() + "/estado")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"estado\":\"ENTREGADO\"}"))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void cancelarDevuelveElStockDelCheckout() throws Exception {
+        Long clienteId = clienteRepository.findAll().get(0).getId();
+        Producto producto = catalogoCache.snapshot().getActivos().stream()
+            .filter(p -> p.getStock() >= 2).findFirst().orElseThrow();
+        int inicial = stockReservaService.disponible(producto.getId());
+
+        Pedido pedido = pedidoService.checkout(clienteId, List.of(new LineaCheckout(producto.getId(), 2, List.of())), null);
+        pedidos.add(pedido);
+        assertEquals(inicial - 2, stockReservaService.disponible(producto.getId()));
+
+        pedidoService.cambiarEstado(pedido.getId(), "CANCELADO");
+        assertEquals(inicial, stockReservaService.disponible(producto.getId()));
+
+        // Tras la descarga en BD (la de la prueba o la programada) la fila queda igual que antes del pedido
+        stockReservaService.descargarPendientes();
+        esperarStockEnBd(producto.getId(), inicial);
+    }
+
+    // ==========================================
+    // API DE PRUEBA
+    // ==========================================
+
+    private Pedido nuevoPedido(Cliente cliente) {
+        Pedido pedido = new Pedido(new Date(), null, "PENDIENTE", 0f);
+        pedido.setCliente(cliente);
+        pedidos.add(pedidoRepository.save(pedido));
+        return pedido;
+    }
+
+    // El filtro de spring-session no usa la MockHttpSession: la sesión se guarda en el almacén JDBC
+    // y se envía su cookie como lo haría el navegador (el ID va en Base64)
+    private <S extends Session> Cookie iniciarSesion(SessionRepository<S> repositorio, SesionCliente usuario) {
+        S sesion = repositorio.createSession();
+        sesion.setAttribute(SesionCliente.ATRIBUTO, usuario);
+        repositorio.save(sesion);
+        sesiones.add(sesion.getId());
+        return new Cookie("SESSION", Base64.getEncoder().encodeToString(sesion.getId().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void esperarStockEnBd(Long productoId, int esperado) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        int stock = -1;
+        while (System.currentTimeMillis() < limite) {
+            stock = productoRepository.findById(productoId).orElseThrow().getStock();
+            if (stock == esperado) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("El stock en BD es " + stock + "; se esperaba " + esperado);
+    }
+
+    // Los eventos se escriben desde otro hilo: se espera a que aparezcan en la respuesta
+    private void esperarEvento(MvcResult resultado, String contenido) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        String cuerpo = "";
+        while (System.currentTimeMillis() < limite) {
+            cuerpo = resultado.getResponse().getContentAsString();
+            if (cuerpo.contains("event:estado") && cuerpo.contains(contenido)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("No llegó el evento con " + contenido + "; recibido: " + cuerpo);
+    }
+}
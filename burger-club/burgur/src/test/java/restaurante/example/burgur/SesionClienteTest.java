@@ -0,0 +1,158 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.servlet.http.Cookie;
+
+import restaurante.example.burgur.Model.Cliente;
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Model.SesionCliente;
+import restaurante.example.burgur.Repository.ClienteRepository;
+import restaurante.example.burgur.Service.CarritoService;
+import restaurante.example.burgur.Service.CarritoVista;
+import restaurante.example.burgur.Service.CatalogoCache;
+import restaurante.example.burgur.Service.DuenoCarrito;
+
+// La sesión (en el almacén JDBC) solo guarda el SesionCliente; consultar quién está conectado
+// no abre sesiones y al iniciar sesión el carrito anónimo pasa al cliente.
+@SpringBootTest
+@AutoConfigureMockMvc
+class SesionClienteTest {
+
+    private static final String CORREO = "sesion-test@burgur.co";
+    private static final String CLAVE = "clave-de-prueba";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CarritoService carritoService;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private SessionRepository<? extends Session> sessionRepository;
+
+    private Cliente cliente;
+    private final List<String> sesiones = new ArrayList<>();
+
+    @BeforeEach
+    void preparar() {
+        Cliente nuevo = new Cliente();
+        nuevo.setNombre("Sesión");
+        nuevo.setApellido("De Prueba");
+        nuevo.setCorreo(CORREO);
+        nuevo.setContrasena(CLAVE);
+        nuevo.setActivo(true);
+        cliente = clienteRepository.save(nuevo);
+    }
+
+    @AfterEach
+    void limpiar() {
+        carritoService.eliminarDeCliente(cliente.getId());
+        clienteRepository.delete(cliente);
+        sesiones.forEach(sessionRepository::deleteById);
+    }
+
+    @Test
+    void currentSinSesionNoCreaUna() throws Exception {
+        mockMvc.perform(get("/auth/current"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.authenticated").value(false))
+            .andExpect(header().doesNotExist("Set-Cookie"));
+    }
+
+    @Test
+    void loginGuardaSoloElUsuarioEnLaSesion() throws Exception {
+        Cookie sesion = iniciarSesion(null);
+
+        Session guardada = sessionRepository.findById(idDe(sesion));
+        assertEquals(Set.of(SesionCliente.ATRIBUTO), guardada.getAttributeNames());
+        SesionCliente usuario = guardada.getAttribute(SesionCliente.ATRIBUTO);
+        assertEquals(new SesionCliente(cliente.getId(), "Sesión", SesionCliente.ROL_CLIENTE), usuario);
+
+        mockMvc.perform(get("/auth/current").cookie(sesion))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.authenticated").value(true))
+            .andExpect(jsonPath("$.cliente.id").value(cliente.getId()))
+            .andExpect(jsonPath("$.cliente.rol").value(SesionCliente.ROL_CLIENTE))
+            .andExpect(header().doesNotExist("Set-Cookie"));
+    }
+
+    @Test
+    void loginFusionaElCarritoAnonimo() throws Exception {
+        Producto producto = catalogoCache.snapshot().getActivos().get(0);
+        Cookie anonima = mockMvc.perform(post("/api/carrito/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productoId\":" + producto.getId() + ",\"cantidad\":2}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getCookie("SESSION");
+        assertNotNull(anonima, "Agregar al carrito debe abrir la sesión");
+        sesiones.add(idDe(anonima));
+
+        Cookie sesion = iniciarSesion(anonima);
+
+        mockMvc.perform(get("/api/carrito").cookie(sesion))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.carrito.items[0].productoId").value(producto.getId()))
+            .andExpect(jsonPath("$.carrito.unidades").value(2));
+        CarritoVista delCliente = carritoService.obtener(DuenoCarrito.cliente(cliente.getId()));
+        assertEquals(2, delCliente.unidades());
+        // El carrito vive en el servidor, no en la sesión
+        assertEquals(Set.of(SesionCliente.ATRIBUTO), sessionRepository.findById(idDe(sesion)).getAttributeNames());
+    }
+
+    // ==========================================
+    // API DE PRUEBA
+    // ==========================================
+
+    // POST /auth/login con la sesión dada (o sin ninguna); devuelve la cookie de la sesión resultante
+    private Cookie iniciarSesion(Cookie sesion) throws Exception {
+        var login = post("/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"" + CORREO + "\",\"password\":\"" + CLAVE + "\"}");
+        if (sesion != null) {
+            login.cookie(sesion);
+        }
+        Cookie nueva = mockMvc.perform(login)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.success").value(true))
+            .andReturn().getResponse().getCookie("SESSION");
+        Cookie resultado = nueva != null ? nueva : sesion;
+        assertNotNull(resultado, "El login debe dejar una sesión");
+        sesiones.add(idDe(resultado));
+        return resultado;
+    }
+
+    // La cookie SESSION lleva el ID en Base64
+    private static String idDe(Cookie cookie) {
+        return new String(Base64.getDecoder().decode(cookie.getValue()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,180 @@
+package restaurante.example.burgur;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import restaurante.example.burgur.Model.Producto;
+import restaurante.example.burgur.Repository.ProductoRepository;
+import restaurante.example.burgur.Service.StockInsuficienteException;
+import restaurante.example.burgur.Service.StockReservaService;
+
+// Las reservas nunca venden más unidades que el stock, ni con muchos pedidos a la vez
+// ni cuando la descarga en BD choca con otra escritura del mismo producto; las vencidas se devuelven.
+@SpringBootTest
+class StockReservaTest {
+
+    private static final int STOCK = 5;
+    private static final int COMPRADORES = 20;
+
+    @Autowired
+    private StockReservaService stockReservaService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Producto producto;
+
+    @BeforeEach
+    void preparar() {
+        Producto p = new Producto();
+        p.setNombre("Reserva test");
+        p.setDescripcion("Producto de prueba");
+        p.setCategoria("hamburguesa");
+        p.setPrecio(10_000);
+        p.setStock(STOCK);
+        p.setActivo(true);
+        producto = productoRepository.save(p);
+    }
+
+    @AfterEach
+    void limpiar() {
+        productoRepository.deleteById(producto.getId());
+    }
+
+    @Test
+    void comprasConcurrentesNoSuperanElStock() throws Exception {
+        AtomicInteger vendidas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(COMPRADORES);
+        try {
+            List<Future<?>> compras = new ArrayList<>();
+            for (int i = 0; i < COMPRADORES; i++) {
+                compras.add(hilos.submit(() -> {
+                    largada.await();
+                    try {
+                        stockReservaService.confirmar(stockReservaService.reservar(Map.of(producto.getId(), 1)));
+                        vendidas.incrementAndGet();
+                    } catch (StockInsuficienteException e) {
+                        rechazadas.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> compra : compras) {
+                compra.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        assertEquals(STOCK, vendidas.get());
+        assertEquals(COMPRADORES - STOCK, rechazadas.get());
+        assertEquals(0, stockReservaService.disponible(producto.getId()));
+
+        // Otro escritor (admin) tiene la fila tomada mientras se descarga: el UPDATE de la descarga
+        // encuentra otra versión, se reintenta sobre la fila nueva y no pisa el cambio del admin
+        CountDownLatch filaTomada = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        ExecutorService escritores = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> admin = escritores.submit(() -> transactionTemplate.executeWithoutResult(estado -> {
+                Producto editado = productoRepository.findById(producto.getId()).orElseThrow();
+                editado.setDescripcion("Editado por el admin");
+                productoRepository.saveAndFlush(editado);
+                filaTomada.countDown();
+                try {
+                    soltar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            filaTomada.await(5, TimeUnit.SECONDS);
+            Future<?> descarga = escritores.submit(stockReservaService::descargarPendientes);
+            Thread.sleep(300);
+            soltar.countDown();
+            admin.get(10, TimeUnit.SECONDS);
+            descarga.get(10, TimeUnit.SECONDS);
+        } finally {
+            escritores.shutdownNow();
+        }
+
+        esperarStockEnBd(0);
+        assertEquals("Editado por el admin", productoRepository.findById(producto.getId()).orElseThrow().getDescripcion());
+        assertEquals(0, stockReservaService.disponible(producto.getId()));
+        assertThrows(StockInsuficienteException.class, () -> stockReservaService.reservar(Map.of(producto.getId(), 1)));
+    }
+
+    @Test
+    void reservasVencidasDevuelvenElStock() throws Exception {
+        Object servicio = AopTestUtils.getUltimateTargetObject(stockReservaService);
+        Object ttlOriginal = ReflectionTestUtils.getField(servicio, "reservaTtlMs");
+        ReflectionTestUtils.setField(servicio, "reservaTtlMs", 1L);
+        try {
+            String reserva = stockReservaService.reservar(Map.of(producto.getId(), 3));
+            assertEquals(STOCK - 3, stockReservaService.disponible(producto.getId()));
+
+            Thread.sleep(20);
+            stockReservaService.liberarVencidas();
+
+            assertEquals(STOCK, stockReservaService.disponible(producto.getId()));
+            assertThrows(IllegalStateException.class, () -> stockReservaService.confirmar(reserva));
+
+            // Un pedido cuya reserva venció antes del commit no se confirma y no descuenta nada
+            assertThrows(StockInsuficienteException.class, () -> transactionTemplate.executeWithoutResult(estado -> {
+                stockReservaService.reservarEnTransaccion(Map.of(producto.getId(), 2));
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                stockReservaService.liberarVencidas();
+            }));
+            assertEquals(STOCK, stockReservaService.disponible(producto.getId()));
+        } finally {
+            ReflectionTestUtils.setField(servicio, "reservaTtlMs", ttlOriginal);
+        }
+    }
+
+    // ==========================================
+    // API DE PRUEBA
+    // ==========================================
+
+    // La descarga programada pudo adelantarse a la de la prueba: se espera a que la fila quede al día
+    private void esperarStockEnBd(int esperado) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        int stock = -1;
+        while (System.currentTimeMillis() < limite) {
+            stock = productoRepository.findById(producto.getId()).orElseThrow().getStock();
+            if (stock == esperado) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("El stock en BD es " + stock + "; se esperaba " + esperado);
+    }
+}